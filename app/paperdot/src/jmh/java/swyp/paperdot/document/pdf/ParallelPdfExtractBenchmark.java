@@ -0,0 +1,98 @@
+package swyp.paperdot.document.pdf;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 페이지 범위 병렬 추출의 코어 수별 wall-clock 스케일링을 측정합니다.
+ * 실행: ./gradlew jmh -Pjmh.includes=ParallelPdfExtractBenchmark
+ *
+ * threads=1 이 기존 단일 스레드 추출과 같은 경로이며, 나머지 값과의 비율이 스케일링 배수입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParallelPdfExtractBenchmark {
+
+    private static final String LINE =
+            "The proposed method improves accuracy on all benchmarks while reducing latency by a large margin.";
+
+    @Param({"300", "500"})
+    public int pages;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"16"})
+    public int chunkPages;
+
+    private byte[] pdfBytes;
+    private ThreadPoolTaskExecutor executor;
+    private ParallelPdfTextExtractor extractor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        pdfBytes = createPdf(pages);
+
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("bench-pdf-extract-");
+        executor.initialize();
+        extractor = new ParallelPdfTextExtractor(executor, threads, chunkPages);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public int extractAllPages(Blackhole blackhole) throws IOException {
+        return extractor.extractPages(() -> Loader.loadPDF(pdfBytes), blackhole::consume);
+    }
+
+    private static byte[] createPdf(int pageCount) throws IOException {
+        try (PDDocument document = new PDDocument();
+             ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            for (int p = 0; p < pageCount; p++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(font, 9);
+                    content.setLeading(12);
+                    content.newLineAtOffset(40, 750);
+                    for (int line = 0; line < 55; line++) {
+                        content.showText(LINE);
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+}
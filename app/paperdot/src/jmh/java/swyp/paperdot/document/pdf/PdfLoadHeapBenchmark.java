@@ -0,0 +1,168 @@
+package swyp.paperdot.document.pdf;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * byte[] 기반 로딩(기존 방식)과 스크래치 파일 기반 로딩의 피크 힙 사용량을 비교합니다.
+ * 실행: ./gradlew jmh -Pjmh.includes=PdfLoadHeapBenchmark
+ *
+ * 보조 카운터(호출 수만큼 합산되어 보고됩니다):
+ * - retainedHeapBytes: 문서를 열고 텍스트를 추출한 뒤, 문서를 닫기 전에 GC하고 잰 힙 증가분.
+ *   처리 중인 문서 하나가 힙에 붙잡아 두는 양이며, 동시에 처리할 수 있는 문서 수를 정합니다.
+ * - peakHeapBytes: 호출 전에 힙 풀의 peak 값을 리셋하고 잰 호출 중 peak 증가분. Eden의 가비지가 섞이므로 참고용입니다.
+ * 실제 논문처럼 파일 크기의 대부분이 이미지가 되도록 페이지마다 압축되지 않는 이미지를 넣습니다.
+ * (gc 프로파일러의 gc.alloc.rate.norm 값도 함께 비교하면 호출당 할당량 차이를 볼 수 있습니다.)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PdfLoadHeapBenchmark {
+
+    private static final String LINE =
+            "Figure 3 shows the ablation results for each component of the model on the validation split.";
+
+    private static final int IMAGE_SIZE = 256;
+
+    @Param({"200"})
+    public int pages;
+
+    @Param({"BYTE_ARRAY", "SCRATCH_FILE"})
+    public String mode;
+
+    private Path sourceFile;
+    private PdfDocumentLoader loader;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class HeapCounters {
+        public long retainedHeapBytes;
+        public long peakHeapBytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        sourceFile = Files.createTempFile("paperdot-bench-", ".pdf");
+        writePdf(sourceFile, pages);
+        loader = new PdfDocumentLoader("", 16L * 1024 * 1024, false, false);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(sourceFile);
+    }
+
+    @Benchmark
+    public long loadAndExtract(HeapCounters counters) throws IOException {
+        System.gc();
+        long baseline = usedHeap();
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        long length;
+        if ("BYTE_ARRAY".equals(mode)) {
+            try (InputStream in = Files.newInputStream(sourceFile);
+                 PDDocument document = Loader.loadPDF(in.readAllBytes())) {
+                length = extract(document, counters, baseline);
+            }
+        } else {
+            Path spooled;
+            try (InputStream in = Files.newInputStream(sourceFile)) {
+                spooled = loader.spool(in);
+            }
+            try (PDDocument document = loader.load(spooled)) {
+                length = extract(document, counters, baseline);
+            } finally {
+                loader.deleteQuietly(spooled);
+            }
+        }
+
+        counters.peakHeapBytes += Math.max(0, peakHeap() - baseline);
+        return length;
+    }
+
+    private static long extract(PDDocument document, HeapCounters counters, long baseline) throws IOException {
+        long length = new PDFTextStripper().getText(document).length();
+        System.gc();
+        counters.retainedHeapBytes += Math.max(0, usedHeap() - baseline);
+        return length;
+    }
+
+    private static long usedHeap() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .mapToLong(pool -> pool.getUsage().getUsed())
+                .sum();
+    }
+
+    private static long peakHeap() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+    }
+
+    private static void writePdf(Path target, int pageCount) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.TIMES_ROMAN);
+            Random random = new Random(42);
+            for (int p = 0; p < pageCount; p++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                PDImageXObject figure = LosslessFactory.createFromImage(document, noiseImage(random));
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.drawImage(figure, 40, 40, 200, 200);
+                    content.beginText();
+                    content.setFont(font, 9);
+                    content.setLeading(12);
+                    content.newLineAtOffset(40, 750);
+                    for (int line = 0; line < 55; line++) {
+                        content.showText(LINE);
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            document.save(target.toFile());
+        }
+    }
+
+    // 압축되지 않는 그림 (256x256 RGB, 약 192KB)
+    private static BufferedImage noiseImage(Random random) {
+        BufferedImage image = new BufferedImage(IMAGE_SIZE, IMAGE_SIZE, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < IMAGE_SIZE; y++) {
+            for (int x = 0; x < IMAGE_SIZE; x++) {
+                image.setRGB(x, y, random.nextInt(0x1000000));
+            }
+        }
+        return image;
+    }
+}
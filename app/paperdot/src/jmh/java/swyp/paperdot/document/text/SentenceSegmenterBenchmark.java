@@ -0,0 +1,149 @@
+package swyp.paperdot.document.text;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 단일 패스 SentenceSegmenter와 기존 정규식 기반 splitToSentences의 처리량을 논문 크기 입력에서 비교합니다.
+ * 실행: ./gradlew jmh -Pjmh.includes=SentenceSegmenterBenchmark
+ *
+ * 할당량 비교는 -prof gc 옵션(gc.alloc.rate.norm)으로 확인합니다.
+ * Setup 단계에서 두 구현의 분할 결과가 같은지 먼저 검증합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SentenceSegmenterBenchmark {
+
+    private static final String[] WORDS = {
+            "the", "model", "attention", "layer", "improves", "accuracy", "across", "all", "benchmarks",
+            "we", "propose", "a", "novel", "transformer-based", "architecture", "for", "long", "documents",
+            "results", "show", "significant", "gains", "over", "strong", "baselines", "e.g.", "Fig.", "3",
+            "representation", "learning", "convergence", "experiments", "dataset", "evaluation"
+    };
+
+    // 한 페이지 ≈ 55줄 × 90자
+    @Param({"10", "40", "200"})
+    public int pages;
+
+    private String text;
+    private SentenceSegmenter segmenter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        text = createPaperText(pages);
+        segmenter = new SentenceSegmenter();
+
+        List<String> expected = legacySplitToSentences(text);
+        List<String> actual = new ArrayList<>();
+        segmenter.segment(text, (start, end, sentence, paragraph) -> actual.add(sentence.toString()));
+        if (!expected.equals(actual)) {
+            throw new IllegalStateException("Segmenter output differs from legacy implementation");
+        }
+    }
+
+    @Benchmark
+    public void legacyRegex(Blackhole blackhole) {
+        for (String sentence : legacySplitToSentences(text)) {
+            blackhole.consume(sentence);
+        }
+    }
+
+    @Benchmark
+    public void singlePassOffsets(Blackhole blackhole) {
+        segmenter.segment(text, (start, end, sentence, paragraph) -> {
+            blackhole.consume(start);
+            blackhole.consume(end);
+        });
+    }
+
+    @Benchmark
+    public void singlePassStrings(Blackhole blackhole) {
+        segmenter.segment(text, (start, end, sentence, paragraph) -> blackhole.consume(sentence.toString()));
+    }
+
+    private static String createPaperText(int pageCount) {
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder(pageCount * 55 * 92);
+        for (int p = 0; p < pageCount; p++) {
+            for (int line = 0; line < 55; line++) {
+                int lineLength = 0;
+                while (lineLength < 85) {
+                    String word = WORDS[random.nextInt(WORDS.length)];
+                    sb.append(word);
+                    lineLength += word.length();
+                    if (random.nextInt(12) == 0) {
+                        sb.append('.');
+                    }
+                    sb.append(' ');
+                    lineLength++;
+                }
+                // 일부 줄은 하이픈 줄바꿈으로 끝납니다.
+                if (random.nextInt(8) == 0) {
+                    sb.append("hyphen-");
+                }
+                sb.append(random.nextInt(20) == 0 ? "\r\n" : "\n");
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    // DocumentPipelineService.splitToSentences (SentenceSegmenter 도입 이전 구현)
+    private static List<String> legacySplitToSentences(String rawText) {
+        if (rawText == null || rawText.isBlank()) {
+            return Collections.emptyList();
+        }
+
+        String normalized = rawText.replace("\r\n", "\n").replace("\r", "\n");
+
+        StringBuilder merged = new StringBuilder(normalized.length());
+        String[] lines = normalized.split("\n");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+
+            if (line.endsWith("-") && i + 1 < lines.length) {
+                String next = lines[i + 1].trim();
+                if (!next.isEmpty()) {
+                    merged.append(line, 0, line.length() - 1);
+                    continue;
+                }
+            }
+
+            merged.append(line);
+            merged.append(' ');
+        }
+
+        String mergedText = merged.toString().replaceAll("\\s+", " ").trim();
+        if (mergedText.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<String> sentences = new ArrayList<>();
+        String[] parts = mergedText.split("(?<=[.!?])\\s+");
+        for (String part : parts) {
+            String s = part.trim();
+            if (!s.isEmpty()) {
+                sentences.add(s);
+            }
+        }
+        return sentences;
+    }
+}
@@ -1,6 +1,5 @@
 package swyp.paperdot.api.callLLM;
 
-import org.apache.pdfbox.Loader;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,8 +10,11 @@ import org.springframework.web.multipart.MultipartFile;
 import swyp.paperdot.api.callLLM.dto.ChatRequest;
 import swyp.paperdot.api.callLLM.dto.ChatResponse;
 import swyp.paperdot.api.callLLM.dto.Message;
+import swyp.paperdot.document.pdf.PdfDocumentLoader;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.List;
 
 /**
@@ -23,6 +25,7 @@ import java.util.List;
 public class CallLLMService {
 
     private final RestTemplate restTemplate; // HTTP 요청을 만들기 위해 주입된 RestTemplate
+    private final PdfDocumentLoader pdfDocumentLoader; // 힙 사용량을 제한한 PDF 로더
 
     // application.yml에서 LLM 모델 이름을 주입합니다.
     @Value("${openai.api.model:}")
@@ -39,10 +42,12 @@ public class CallLLMService {
     /**
      * CallLLMService의 생성자로, 구성된 RestTemplate을 주입합니다.
      * @param restTemplate API 키 인터셉터로 구성된 RestTemplate 인스턴스.
+     * @param pdfDocumentLoader 업로드된 PDF를 스크래치 파일 기반으로 여는 로더.
      */
     @Autowired
-    public CallLLMService(RestTemplate restTemplate) {
+    public CallLLMService(RestTemplate restTemplate, PdfDocumentLoader pdfDocumentLoader) {
         this.restTemplate = restTemplate;
+        this.pdfDocumentLoader = pdfDocumentLoader;
     }
 
     /**
@@ -85,8 +90,14 @@ public class CallLLMService {
             throw new IllegalArgumentException("파일 크기는 30MB를 초과할 수 없습니다.");
         }
 
+        // file.getBytes()로 전체를 힙에 올리지 않고 스크래치 파일로 받아 파일 기반으로 엽니다.
+        Path pdfFile;
+        try (InputStream inputStream = file.getInputStream()) {
+            pdfFile = pdfDocumentLoader.spool(inputStream);
+        }
+
         // try-with-resources를 사용하여 PDDocument가 자동으로 닫히도록 합니다.
-        try (PDDocument document = Loader.loadPDF(file.getBytes())) {
+        try (PDDocument document = pdfDocumentLoader.load(pdfFile)) {
             PDFTextStripper pdfStripper = new PDFTextStripper();
             String text = pdfStripper.getText(document);
             
@@ -95,6 +106,8 @@ public class CallLLMService {
             
             // 추출된 텍스트를 기존 getChatResponse 메서드에 전달하여 LLM 응답을 받습니다.
             return getChatResponse(text);
+        } finally {
+            pdfDocumentLoader.deleteQuietly(pdfFile);
         }
     }
 }
\ No newline at end of file
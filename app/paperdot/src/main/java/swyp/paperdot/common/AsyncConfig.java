@@ -7,6 +7,7 @@ import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 public class AsyncConfig implements AsyncConfigurer {
@@ -20,6 +21,21 @@ public class AsyncConfig implements AsyncConfigurer {
     @Value("${translation.executor.queue-capacity:200}")
     private int queueCapacity;
 
+    @Value("${pdf.extract.parallelism:0}")
+    private int pdfExtractParallelism;
+
+    @Value("${pdf.metadata.pool-size:2}")
+    private int pdfMetadataPoolSize;
+
+    @Value("${pdf.metadata.queue-capacity:8}")
+    private int pdfMetadataQueueCapacity;
+
+    @Value("${translation.dispatch.pool-size:16}")
+    private int translationBatchPoolSize;
+
+    @Value("${openai.http.max-connections:64}")
+    private int openAiMaxConnections;
+
     @Bean(name = "documentPipelineExecutor")
     public Executor documentPipelineExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
@@ -31,6 +47,81 @@ public class AsyncConfig implements AsyncConfigurer {
         return executor;
     }
 
+    /**
+     * 문서를 읽어 문장으로 분할하는 생산자 작업용 풀입니다.
+     * 파이프라인 작업 하나가 리더 작업 하나를 띄우고 기다리므로, 파이프라인 풀과 같은 크기로 둡니다.
+     */
+    @Bean(name = "documentReaderExecutor")
+    public ThreadPoolTaskExecutor documentReaderExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("doc-reader-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * PDF 페이지 범위 청크를 병렬로 추출하는 워커 풀입니다.
+     * CPU 바운드 작업이므로 기본 스레드 수는 코어 수와 같습니다.
+     */
+    @Bean(name = "pdfExtractExecutor")
+    public ThreadPoolTaskExecutor pdfExtractExecutor() {
+        int threads = pdfExtractParallelism > 0 ? pdfExtractParallelism : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("pdf-extract-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 업로드 시점의 PDF 메타데이터 검사(페이지 수, 텍스트 레이어) 전용 풀입니다.
+     * 문서 전체 추출과 같은 풀을 쓰면 업로드 요청이 대기 중인 파이프라인 작업 뒤에서 기다리므로 따로 둡니다.
+     * 대기열이 차면 요청 스레드에서 바로 검사합니다(CallerRunsPolicy). 업로드 응답이 다른 작업 뒤에 밀리지 않습니다.
+     */
+    @Bean(name = "pdfMetadataExecutor")
+    public ThreadPoolTaskExecutor pdfMetadataExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(pdfMetadataPoolSize);
+        executor.setMaxPoolSize(pdfMetadataPoolSize);
+        executor.setQueueCapacity(pdfMetadataQueueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("pdf-metadata-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 번역 배치(OpenAI 호출 + 결과 저장)를 병렬로 실행하는 풀입니다.
+     * 대부분 응답을 기다리는 I/O 바운드 작업이므로 코어 수보다 크게 둡니다. 문서별 동시 실행 수는 TranslationBatchDispatcher가 제한합니다.
+     */
+    @Bean(name = "translationBatchExecutor")
+    public ThreadPoolTaskExecutor translationBatchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(translationBatchPoolSize);
+        executor.setMaxPoolSize(translationBatchPoolSize);
+        executor.setThreadNamePrefix("translate-batch-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * OpenAI 요청(RestTemplate 호출)을 실행하는 풀입니다. 배치 작업은 요청을 맡기고 결과 future만 이어 받으므로
+     * 응답을 기다리는 동안 배치 풀 스레드를 붙잡지 않습니다. 커넥션 풀보다 많은 스레드는 쓸모가 없으므로 같은 크기로 둡니다.
+     */
+    @Bean(name = "openAiRequestExecutor")
+    public ThreadPoolTaskExecutor openAiRequestExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(openAiMaxConnections);
+        executor.setMaxPoolSize(openAiMaxConnections);
+        executor.setThreadNamePrefix("openai-request-");
+        executor.initialize();
+        return executor;
+    }
+
     @Override
     public Executor getAsyncExecutor() {
         return documentPipelineExecutor();
@@ -0,0 +1,134 @@
+package swyp.paperdot.common;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * OpenAI로 나가는 모든 요청을 OpenAiRateLimiter에 통과시키는 인터셉터입니다.
+ * 번역 파이프라인과 CallLLMService가 같은 RestTemplate을 쓰므로 한 곳에서 함께 제한됩니다.
+ *
+ * 요청 토큰 수는 본문 크기로 추정하고(4바이트당 1토큰), 응답도 비슷한 크기라고 보고 두 배를 TPM에서 꺼냅니다.
+ * 동시 요청 자리는 응답 헤더가 왔을 때가 아니라 응답 본문을 닫을 때 반납합니다. 스트리밍 응답은 본문을 다 읽을 때까지
+ * 커넥션을 쓰므로, 그동안도 동시 요청 한도 안에 들어가야 합니다.
+ */
+public class OpenAiRateLimitInterceptor implements ClientHttpRequestInterceptor {
+
+    private final OpenAiRateLimiter rateLimiter;
+
+    public OpenAiRateLimitInterceptor(OpenAiRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        long inputTokens = (body.length + 3L) / 4;
+        rateLimiter.acquire(inputTokens * 2);
+
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException e) {
+            rateLimiter.onError();
+            throw e;
+        }
+
+        HttpHeaders headers;
+        HttpStatusCode status;
+        try {
+            headers = response.getHeaders();
+            status = response.getStatusCode();
+        } catch (IOException | RuntimeException e) {
+            response.close();
+            rateLimiter.onError();
+            throw e;
+        }
+
+        Runnable release;
+        if (status.value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            long retryAfterNanos = retryAfterNanos(headers);
+            release = () -> rateLimiter.onThrottled(retryAfterNanos);
+        } else {
+            boolean success = status.is2xxSuccessful();
+            long remainingRequests = longHeader(headers, "x-ratelimit-remaining-requests");
+            long remainingTokens = longHeader(headers, "x-ratelimit-remaining-tokens");
+            release = () -> rateLimiter.onResponse(success, remainingRequests, remainingTokens);
+        }
+        return new SlotReleasingResponse(response, release);
+    }
+
+    // close()할 때 한 번만 동시 요청 자리를 반납하는 응답 래퍼. RestTemplate은 응답 처리(본문 읽기)가 끝나면 항상 close()합니다.
+    private static final class SlotReleasingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final AtomicReference<Runnable> release;
+
+        private SlotReleasingResponse(ClientHttpResponse delegate, Runnable release) {
+            this.delegate = delegate;
+            this.release = new AtomicReference<>(release);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                Runnable pending = release.getAndSet(null);
+                if (pending != null) {
+                    pending.run();
+                }
+            }
+        }
+    }
+
+    // retry-after-ms(밀리초)를 우선 사용하고, 없으면 Retry-After(초)를 사용합니다. 둘 다 없으면 -1입니다.
+    private long retryAfterNanos(HttpHeaders headers) {
+        long millis = longHeader(headers, "retry-after-ms");
+        if (millis >= 0) {
+            return TimeUnit.MILLISECONDS.toNanos(millis);
+        }
+        long seconds = longHeader(headers, HttpHeaders.RETRY_AFTER);
+        return seconds >= 0 ? TimeUnit.SECONDS.toNanos(seconds) : -1L;
+    }
+
+    private long longHeader(HttpHeaders headers, String name) {
+        String value = headers.getFirst(name);
+        if (value == null || value.isBlank()) {
+            return -1L;
+        }
+        try {
+            return (long) Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package swyp.paperdot.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 애플리케이션 전체에서 OpenAI 호출을 함께 제한하는 리미터입니다.
+ *
+ * 요청 하나를 보내기 전에 세 가지를 모두 확보해야 합니다.
+ * - 분당 요청 수(RPM) 버킷에서 1
+ * - 분당 토큰 수(TPM) 버킷에서 요청의 예상 토큰 수
+ * - 동시 요청 한도 안의 자리
+ *
+ * 동시 요청 한도는 AIMD로 조정합니다. 성공할 때마다 조금씩 늘리고, 429를 받으면 절반으로 줄이며
+ * Retry-After 동안은 모든 호출을 멈춥니다. 응답의 x-ratelimit-remaining-* 헤더가 있으면 버킷을 서버 기준에 맞춥니다.
+ */
+@Slf4j
+@Component
+public class OpenAiRateLimiter {
+
+    private final boolean enabled;
+    private final double minConcurrency;
+    private final double maxConcurrency;
+    private final long defaultRetryAfterNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final TokenBucket requestBucket;
+    private final TokenBucket tokenBucket;
+    private double concurrencyLimit;
+    private int inFlight;
+    private long pausedUntilNanos;
+
+    private final Timer waitTimer;
+    private final Counter throttledCounter;
+
+    public OpenAiRateLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${openai.rate-limit.enabled:true}") boolean enabled,
+            @Value("${openai.rate-limit.requests-per-minute:500}") long requestsPerMinute,
+            @Value("${openai.rate-limit.tokens-per-minute:200000}") long tokensPerMinute,
+            @Value("${openai.rate-limit.initial-concurrency:8}") int initialConcurrency,
+            @Value("${openai.rate-limit.min-concurrency:1}") int minConcurrency,
+            @Value("${openai.rate-limit.max-concurrency:32}") int maxConcurrency,
+            @Value("${openai.rate-limit.default-retry-after-ms:1000}") long defaultRetryAfterMillis
+    ) {
+        this.enabled = enabled;
+        this.minConcurrency = Math.max(1, minConcurrency);
+        this.maxConcurrency = Math.max(this.minConcurrency, maxConcurrency);
+        this.defaultRetryAfterNanos = TimeUnit.MILLISECONDS.toNanos(defaultRetryAfterMillis);
+        this.requestBucket = new TokenBucket(requestsPerMinute);
+        this.tokenBucket = new TokenBucket(tokensPerMinute);
+        this.concurrencyLimit = Math.max(this.minConcurrency, Math.min(this.maxConcurrency, initialConcurrency));
+
+        this.waitTimer = meterRegistry.timer("paperdot.openai.limiter.wait");
+        this.throttledCounter = meterRegistry.counter("paperdot.openai.limiter.throttled");
+        meterRegistry.gauge("paperdot.openai.limiter.concurrency.limit", this, OpenAiRateLimiter::concurrencyLimit);
+        meterRegistry.gauge("paperdot.openai.limiter.in.flight", this, OpenAiRateLimiter::inFlight);
+        meterRegistry.gauge("paperdot.openai.limiter.requests.available", this, limiter -> limiter.available(limiter.requestBucket));
+        meterRegistry.gauge("paperdot.openai.limiter.tokens.available", this, limiter -> limiter.available(limiter.tokenBucket));
+    }
+
+    /**
+     * 요청을 보낼 수 있을 때까지 기다린 뒤 자리를 확보합니다. 호출이 끝나면 반드시 on* 메서드 중 하나로 반납해야 합니다.
+     *
+     * @param estimatedTokens 요청의 예상 토큰 수 (입력 + 출력)
+     */
+    public void acquire(long estimatedTokens) {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        lock.lock();
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                long waitNanos = pausedUntilNanos - now;
+                if (waitNanos <= 0 && inFlight >= (int) concurrencyLimit) {
+                    // 자리가 날 때 깨어나므로 시간 제한 없이 기다립니다.
+                    changed.await();
+                    continue;
+                }
+                if (waitNanos <= 0) {
+                    waitNanos = Math.max(requestBucket.waitNanos(1, now), tokenBucket.waitNanos(estimatedTokens, now));
+                }
+                if (waitNanos <= 0) {
+                    requestBucket.take(1);
+                    tokenBucket.take(estimatedTokens);
+                    inFlight++;
+                    return;
+                }
+                changed.awaitNanos(waitNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for OpenAI rate limit", e);
+        } finally {
+            lock.unlock();
+            waitTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 요청이 429 외의 결과로 끝났을 때 호출합니다. 성공한 요청마다 동시 요청 한도를 1/한도 만큼 늘립니다.
+     *
+     * @param remainingRequests 응답 헤더의 남은 요청 수 (없으면 음수)
+     * @param remainingTokens   응답 헤더의 남은 토큰 수 (없으면 음수)
+     */
+    public void onResponse(boolean success, long remainingRequests, long remainingTokens) {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            inFlight--;
+            long now = System.nanoTime();
+            if (remainingRequests >= 0) {
+                requestBucket.limitTo(remainingRequests, now);
+            }
+            if (remainingTokens >= 0) {
+                tokenBucket.limitTo(remainingTokens, now);
+            }
+            if (success) {
+                concurrencyLimit = Math.min(maxConcurrency, concurrencyLimit + 1.0 / concurrencyLimit);
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 429를 받았을 때 호출합니다. 동시 요청 한도를 절반으로 줄이고 Retry-After 동안 모든 호출을 멈춥니다.
+     *
+     * @param retryAfterNanos 응답이 알려 준 대기 시간 (없으면 음수)
+     */
+    public void onThrottled(long retryAfterNanos) {
+        if (!enabled) {
+            return;
+        }
+        throttledCounter.increment();
+        lock.lock();
+        try {
+            inFlight--;
+            long pause = retryAfterNanos >= 0 ? retryAfterNanos : defaultRetryAfterNanos;
+            pausedUntilNanos = Math.max(pausedUntilNanos, System.nanoTime() + pause);
+            double before = concurrencyLimit;
+            concurrencyLimit = Math.max(minConcurrency, concurrencyLimit / 2);
+            log.warn("OpenAI rate limited (429). concurrency {} -> {}, pause {} ms",
+                    (int) before, (int) concurrencyLimit, TimeUnit.NANOSECONDS.toMillis(pause));
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 응답을 받지 못하고 끝난 요청(연결 오류 등)의 자리를 반납합니다. 한도는 바꾸지 않습니다.
+     */
+    public void onError() {
+        onResponse(false, -1, -1);
+    }
+
+    private double concurrencyLimit() {
+        lock.lock();
+        try {
+            return concurrencyLimit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double available(TokenBucket bucket) {
+        lock.lock();
+        try {
+            return bucket.available(System.nanoTime());
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -1,13 +1,27 @@
 package swyp.paperdot.common;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 /**
  * 나가는 요청에 OpenAI API 키를 추가하기 위해 인터셉터를 사용하여
  * RestTemplate을 설정하는 구성 클래스입니다.
+ * 요청은 커넥션 풀을 쓰는 전용 HTTP 클라이언트(Apache HttpClient 5)로 나가며, 모든 단계에 타임아웃이 걸려 있습니다.
  */
 @Configuration
 public class RestTemplateConfig {
@@ -16,20 +30,95 @@ public class RestTemplateConfig {
     @Value("${openai.api.key:}")
     private String openaiApiKey;
 
+    @Value("${openai.http.max-connections:64}")
+    private int maxConnections;
+
+    @Value("${openai.http.max-connections-per-route:32}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${openai.http.connect-timeout-ms:5000}")
+    private long connectTimeoutMillis;
+
+    @Value("${openai.http.read-timeout-ms:120000}")
+    private long readTimeoutMillis;
+
+    @Value("${openai.http.response-timeout-ms:180000}")
+    private long responseTimeoutMillis;
+
+    @Value("${openai.http.connection-request-timeout-ms:30000}")
+    private long connectionRequestTimeoutMillis;
+
+    @Value("${openai.http.idle-evict-ms:30000}")
+    private long idleEvictMillis;
+
+    @Value("${openai.http.connection-ttl-ms:300000}")
+    private long connectionTtlMillis;
+
+    /**
+     * OpenAI 호출용 커넥션 풀입니다. 풀 사용량은 httpcomponents.httpclient.pool.* 메트릭(httpclient=openai 태그)으로 노출됩니다.
+     */
+    @Bean
+    public PoolingHttpClientConnectionManager openAiConnectionManager(MeterRegistry meterRegistry) {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMillis))
+                .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMillis))
+                .setTimeToLive(TimeValue.ofMilliseconds(connectionTtlMillis))
+                // 오래 쉬던 커넥션은 재사용 전에 끊겼는지 확인합니다.
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build();
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(connectionConfig)
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "openai").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    /**
+     * 커넥션 풀을 쓰는 HTTP 클라이언트입니다. keep-alive 커넥션을 재사용해 배치마다 TLS 핸드셰이크를 다시 하지 않으며,
+     * idle-evict-ms 동안 쓰이지 않은 커넥션과 만료된 커넥션은 백그라운드에서 정리합니다.
+     */
+    @Bean
+    public CloseableHttpClient openAiHttpClient(PoolingHttpClientConnectionManager openAiConnectionManager) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                // 풀에서 커넥션을 빌려 오기까지 기다리는 시간
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeoutMillis))
+                // 요청을 보낸 뒤 응답 데이터를 기다리는 최대 시간 (요청 중에는 커넥션의 소켓 타임아웃 대신 적용)
+                .setResponseTimeout(Timeout.ofMilliseconds(responseTimeoutMillis))
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(openAiConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEvictMillis))
+                .evictExpiredConnections()
+                .build();
+    }
+
     /**
      * RestTemplate 빈을 구성하고 제공합니다.
      * 이 RestTemplate을 사용하여 생성된 모든 요청에 대해 OpenAI API 키와 함께
      * Authorization 헤더를 자동으로 포함하도록 인터셉터가 추가됩니다.
+     * 모든 요청은 공유 OpenAiRateLimiter를 거쳐 RPM/TPM 한도와 동시 요청 한도 안에서만 나갑니다.
+     * 요청 지연 시간은 http.client.requests 메트릭으로 노출됩니다.
+     * @param openAiRateLimiter 애플리케이션 전체에서 공유하는 OpenAI 호출 리미터.
+     * @param openAiHttpClient 커넥션 풀을 쓰는 HTTP 클라이언트.
      * @return 구성된 RestTemplate 인스턴스.
      */
     @Bean
-    public RestTemplate restTemplate() {
-        RestTemplate restTemplate = new RestTemplate();
+    public RestTemplate restTemplate(
+            OpenAiRateLimiter openAiRateLimiter,
+            CloseableHttpClient openAiHttpClient,
+            ObjectProvider<ObservationRegistry> observationRegistry
+    ) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(openAiHttpClient));
+        observationRegistry.ifAvailable(restTemplate::setObservationRegistry);
         // API 키와 함께 Authorization 헤더를 포함하도록 인터셉터를 추가합니다.
         restTemplate.getInterceptors().add((request, body, execution) -> {
             request.getHeaders().add("Authorization", "Bearer " + openaiApiKey);
             return execution.execute(request, body);
         });
+        restTemplate.getInterceptors().add(new OpenAiRateLimitInterceptor(openAiRateLimiter));
         return restTemplate;
     }
 }
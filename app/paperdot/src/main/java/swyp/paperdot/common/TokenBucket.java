@@ -0,0 +1,65 @@
+package swyp.paperdot.common;
+
+/**
+ * 분당 한도를 초 단위로 고르게 나눠 채우는 토큰 버킷입니다.
+ * 버킷 크기는 분당 한도와 같아 한도까지는 몰아서 쓸 수 있고, 이후에는 채워지는 속도만큼만 꺼낼 수 있습니다.
+ *
+ * 스레드 안전하지 않으며, 호출하는 쪽(OpenAiRateLimiter)이 잠금 안에서만 사용합니다.
+ */
+class TokenBucket {
+
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+
+    private final double capacity;
+    private final double refillPerNano;
+    private double available;
+    private long lastRefillNanos;
+
+    TokenBucket(long perMinute) {
+        this.capacity = Math.max(1, perMinute);
+        this.refillPerNano = capacity / NANOS_PER_MINUTE;
+        this.available = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * amount만큼 꺼낼 수 있을 때까지 남은 시간을 반환합니다. 지금 꺼낼 수 있으면 0입니다.
+     * 버킷 크기보다 큰 요청은 버킷이 가득 찼을 때 꺼낼 수 있는 것으로 봅니다.
+     */
+    long waitNanos(long amount, long now) {
+        refill(now);
+        double needed = Math.min(amount, capacity);
+        if (available >= needed) {
+            return 0L;
+        }
+        return Math.max(1L, (long) Math.ceil((needed - available) / refillPerNano));
+    }
+
+    /**
+     * amount만큼 꺼냅니다. waitNanos가 0일 때만 호출하며, 버킷 크기보다 큰 요청은 모자란 만큼 이후 채워지는 양에서 갚습니다.
+     */
+    void take(long amount) {
+        available -= amount;
+    }
+
+    /**
+     * 서버가 알려 준 남은 한도(x-ratelimit-remaining-*)가 더 작으면 그 값에 맞춥니다.
+     */
+    void limitTo(long remaining, long now) {
+        refill(now);
+        available = Math.min(available, remaining);
+    }
+
+    long available(long now) {
+        refill(now);
+        return (long) available;
+    }
+
+    private void refill(long now) {
+        long elapsed = now - lastRefillNanos;
+        if (elapsed > 0) {
+            available = Math.min(capacity, available + elapsed * refillPerNano);
+            lastRefillNanos = now;
+        }
+    }
+}
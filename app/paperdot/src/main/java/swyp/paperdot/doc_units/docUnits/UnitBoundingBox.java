@@ -0,0 +1,14 @@
+package swyp.paperdot.doc_units.docUnits;
+
+/**
+ * DocUnit(문장)이 PDF 페이지에서 차지하는 영역 중 한 줄 분량의 사각형입니다.
+ * 좌표는 PDF 페이지 좌상단을 원점으로 하는 포인트 단위이며, 한 문장은 여러 줄/페이지에 걸칠 수 있으므로 여러 개의 박스를 가집니다.
+ *
+ * @param page 1부터 시작하는 페이지 번호
+ * @param x0   왼쪽
+ * @param y0   위쪽
+ * @param x1   오른쪽
+ * @param y1   아래쪽(baseline)
+ */
+public record UnitBoundingBox(int page, float x0, float y0, float x1, float y1) {
+}
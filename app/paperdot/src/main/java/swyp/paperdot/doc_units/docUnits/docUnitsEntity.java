@@ -14,7 +14,12 @@ import java.time.Instant;
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Entity
-@Table(name = "doc_units")
+@Table(
+        name = "doc_units",
+        indexes = {
+                @Index(name = "idx_doc_units_document_page", columnList = "document_id, page_number, order_in_doc")
+        }
+)
 public class docUnitsEntity {
 
     @Id
@@ -49,18 +54,32 @@ public class docUnitsEntity {
     @Column(nullable = false)
     private UnitStatus status;
 
+    // 문장이 시작하는 PDF 페이지 번호 (1부터). 페이지 단위 조회/이동에 사용합니다.
+    private Integer pageNumber;
+
+    // 문장이 속한 문단 번호 (문서 안에서 0부터). 문단 단위 번역 시 같은 문단의 문장을 한 요청 단위로 묶습니다.
+    private Integer paragraphIndex;
+
+    // 문장이 차지하는 줄 단위 영역 목록(JSON 배열, UnitBoundingBox). PDF 뷰어 하이라이트에 사용합니다.
+    @Column(columnDefinition = "TEXT")
+    private String bboxes;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
 
 
     @Builder
-    public docUnitsEntity(Long documentId, UnitType unitType, Integer orderInDoc, String sourceText, UnitStatus status) {
+    public docUnitsEntity(Long documentId, UnitType unitType, Integer orderInDoc, String sourceText, UnitStatus status,
+                          Integer pageNumber, Integer paragraphIndex, String bboxes) {
         this.documentId = documentId;
         this.unitType = unitType;
         this.orderInDoc = orderInDoc;
         this.sourceText = sourceText;
         this.status = status;
+        this.pageNumber = pageNumber;
+        this.paragraphIndex = paragraphIndex;
+        this.bboxes = bboxes;
     }
 
     public void updateStatus(UnitStatus status) {
@@ -45,6 +45,16 @@ public interface docUnitsRepository extends JpaRepository<docUnitsEntity, Long>
      */
     List<docUnitsEntity> findByDocumentIdAndStatusOrderByOrderInDocAsc(Long documentId, swyp.paperdot.doc_units.enums.UnitStatus status);
 
+    /**
+     * 특정 문서의 한 페이지에서 시작하는 DocUnit을 orderInDoc 순서로 조회합니다.
+     * (document_id, page_number, order_in_doc) 인덱스를 사용하므로 PDF를 다시 파싱하지 않고 페이지 단위로 조회할 수 있습니다.
+     *
+     * @param documentId 문서 ID
+     * @param pageNumber 1부터 시작하는 페이지 번호
+     * @return 조회된 DocUnit 리스트
+     */
+    List<docUnitsEntity> findByDocumentIdAndPageNumberOrderByOrderInDocAsc(Long documentId, Integer pageNumber);
+
     long countByDocumentId(Long documentId);
 
     long countByDocumentIdAndStatus(Long documentId, swyp.paperdot.doc_units.enums.UnitStatus status);
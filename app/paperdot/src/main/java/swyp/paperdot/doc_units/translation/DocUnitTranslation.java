@@ -16,7 +16,11 @@ import java.time.Instant;
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Entity
-@Table(name = "doc_unit_translations")
+@Table(
+        name = "doc_unit_translations",
+        // 페이지 단위 조회는 doc_units의 (document_id, page_number)로 좁힌 뒤 이 인덱스로 번역을 찾아 조인합니다.
+        indexes = @Index(name = "idx_doc_unit_translations_doc_unit", columnList = "doc_unit_id")
+)
 public class DocUnitTranslation {
 
     @Id
@@ -44,4 +48,10 @@ public class DocUnitTranslation {
         this.targetLang = targetLang;
         this.translatedText = translatedText;
     }
+
+    /* ===== 상태 변경 메서드 ===== */
+    // 스트리밍 중 먼저 저장한 번역이 재시도·분할 후 다른 결과로 확정된 경우 덮어씁니다.
+    public void updateTranslatedText(String translatedText) {
+        this.translatedText = translatedText;
+    }
 }
@@ -24,4 +24,13 @@ public interface DocUnitTranslationRepository extends JpaRepository<DocUnitTrans
      * @return 해당 documentId에 연결된 DocUnitTranslation 엔티티 리스트
      */
     List<DocUnitTranslation> findByDocUnitDocumentId(Long documentId);
+
+    /**
+     * 특정 문서의 한 페이지에서 시작하는 DocUnit에 연결된 DocUnitTranslation 엔티티만 조회합니다.
+     * doc_units의 (document_id, page_number) 인덱스로 조인하므로 문서 전체 번역을 읽지 않습니다.
+     * @param documentId 조회할 DocUnit의 documentId
+     * @param pageNumber 조회할 DocUnit의 시작 페이지 번호 (1부터 시작)
+     * @return 해당 페이지의 DocUnit에 연결된 DocUnitTranslation 엔티티 리스트
+     */
+    List<DocUnitTranslation> findByDocUnitDocumentIdAndDocUnitPageNumber(Long documentId, Integer pageNumber);
 }
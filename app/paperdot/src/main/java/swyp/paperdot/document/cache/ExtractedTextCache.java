@@ -0,0 +1,278 @@
+package swyp.paperdot.document.cache;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import swyp.paperdot.document.pdf.PdfPageText;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 원본 PDF의 SHA-256 체크섬을 키로 페이지별 추출 텍스트를 캐싱합니다.
+ * 같은 파일을 재처리하거나 다른 사용자가 같은 논문을 다시 업로드한 경우,
+ * 오브젝트 스토리지 다운로드와 PDFBox 파싱을 모두 건너뛸 수 있습니다.
+ *
+ * <ul>
+ *     <li>디스크 계층: 로컬 파일, 전체 바이트 수 기준 LRU 삭제</li>
+ *     <li>DB 계층(선택): extracted_text_cache 테이블. 디스크 미스 시 조회하고, 적중하면 디스크에 다시 채웁니다.</li>
+ * </ul>
+ * 쓰기와 읽기 모두 gzip JSON을 페이지 단위로 흘려 보내므로, 디스크 계층을 거치는 동안 힙에는 한 페이지 분량만 남습니다.
+ * 적중/미스 횟수는 paperdot.extract.cache.requests 메트릭(tier, result 태그)으로 노출됩니다.
+ */
+@Slf4j
+@Component
+public class ExtractedTextCache {
+
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+
+    private final ExtractedTextCacheRepository repository;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final boolean dbEnabled;
+    private final ExtractedTextDiskStore diskStore;
+
+    private final Counter diskHits;
+    private final Counter dbHits;
+    private final Counter misses;
+
+    public ExtractedTextCache(
+            ExtractedTextCacheRepository repository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${pdf.cache.enabled:true}") boolean enabled,
+            @Value("${pdf.cache.dir:}") String directory,
+            @Value("${pdf.cache.disk-max-bytes:536870912}") long diskMaxBytes,
+            @Value("${pdf.cache.db-enabled:false}") boolean dbEnabled
+    ) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.dbEnabled = dbEnabled;
+        this.diskStore = new ExtractedTextDiskStore(
+                directory == null || directory.isBlank()
+                        ? Path.of(System.getProperty("java.io.tmpdir"), "paperdot-text-cache")
+                        : Path.of(directory),
+                diskMaxBytes
+        );
+
+        this.diskHits = meterRegistry.counter("paperdot.extract.cache.requests", "tier", "disk", "result", "hit");
+        this.dbHits = meterRegistry.counter("paperdot.extract.cache.requests", "tier", "db", "result", "hit");
+        this.misses = meterRegistry.counter("paperdot.extract.cache.requests", "tier", "all", "result", "miss");
+        Gauge.builder("paperdot.extract.cache.disk.bytes", diskStore, ExtractedTextDiskStore::totalBytes)
+                .description("Total size of the extracted text disk cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("paperdot.extract.cache.disk.entries", diskStore, ExtractedTextDiskStore::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 체크섬에 해당하는 캐시 항목이 있으면 페이지를 하나씩 읽어 페이지 순서대로 pageConsumer에 전달합니다.
+     * 디스크 → DB 순서로 조회합니다. 첫 페이지를 전달하기 전의 읽기 실패는 미스로 처리하지만,
+     * 페이지를 전달하기 시작한 뒤의 실패는 이미 전달한 페이지를 되돌릴 수 없으므로 예외로 알립니다.
+     *
+     * @param checksumSha256 원본 PDF의 SHA-256 (소문자 hex)
+     * @return 캐시에 있으면 전달한 페이지 수, 없으면 empty
+     * @throws IOException 페이지를 전달하던 중에 캐시 항목을 더 읽지 못한 경우
+     */
+    public OptionalInt read(String checksumSha256, Consumer<PdfPageText> pageConsumer) throws IOException {
+        if (!isCacheable(checksumSha256)) {
+            return OptionalInt.empty();
+        }
+
+        AtomicInteger delivered = new AtomicInteger();
+        AtomicBoolean usable = new AtomicBoolean();
+        try {
+            if (diskStore.read(checksumSha256, in -> usable.set(readPages(
+                    objectMapper.getFactory().createParser(new GZIPInputStream(in)), pageConsumer, delivered)))
+                    && usable.get()) {
+                diskHits.increment();
+                return OptionalInt.of(delivered.get());
+            }
+        } catch (IOException e) {
+            if (delivered.get() > 0) {
+                throw e;
+            }
+            log.warn("Failed to read extracted text disk cache. checksum={}", checksumSha256, e);
+        }
+
+        if (dbEnabled) {
+            Optional<ExtractedTextCacheEntity> entity = repository.findById(checksumSha256);
+            if (entity.isPresent()) {
+                // DB 계층은 한 행에 JSON 하나로 저장하므로 이미 문서 하나 분량이 메모리에 있습니다. 디스크에는 그대로 옮겨 씁니다.
+                String pagesJson = entity.get().getPagesJson();
+                try {
+                    usable.set(readPages(objectMapper.getFactory().createParser(pagesJson), pageConsumer, delivered));
+                } catch (IOException e) {
+                    if (delivered.get() > 0) {
+                        throw e;
+                    }
+                    throw new IllegalStateException("Corrupted extracted text cache entry. checksum=" + checksumSha256, e);
+                }
+                if (usable.get()) {
+                    writeToDisk(checksumSha256, pagesJson);
+                    dbHits.increment();
+                    return OptionalInt.of(delivered.get());
+                }
+            }
+        }
+
+        misses.increment();
+        return OptionalInt.empty();
+    }
+
+    /**
+     * 추출되는 페이지를 하나씩 받아 캐시에 쓰는 writer를 엽니다. 페이지는 받는 즉시 임시 파일에 gzip JSON으로 이어 쓰므로
+     * 문서 전체 페이지를 힙에 모아 두지 않습니다. commit()을 부르지 않고 close()하면(추출 실패 등) 아무것도 저장하지 않습니다.
+     * 캐시할 수 없는 체크섬이면 아무 일도 하지 않는 writer를 돌려줍니다.
+     */
+    public PageWriter openWriter(String checksumSha256) {
+        return new PageWriter(isCacheable(checksumSha256) ? checksumSha256 : null);
+    }
+
+    /**
+     * 페이지 단위 캐시 writer입니다. 쓰기 실패는 파이프라인을 중단시키지 않도록 로그만 남기고 이후 페이지를 버립니다.
+     */
+    public final class PageWriter implements AutoCloseable {
+
+        private final String checksumSha256;
+        private Path scratch;
+        private JsonGenerator generator;
+        private int pageCount;
+        private boolean failed;
+
+        private PageWriter(String checksumSha256) {
+            this.checksumSha256 = checksumSha256;
+            this.failed = checksumSha256 == null;
+        }
+
+        public void add(PdfPageText page) {
+            if (failed) {
+                return;
+            }
+            try {
+                if (generator == null) {
+                    scratch = Files.createTempFile("paperdot-text-cache-", ".json.gz");
+                    generator = objectMapper.getFactory().createGenerator(new GZIPOutputStream(Files.newOutputStream(scratch)));
+                    generator.writeStartArray();
+                }
+                objectMapper.writeValue(generator, page);
+                pageCount++;
+            } catch (IOException e) {
+                log.warn("Failed to spool extracted text for cache. checksum={}", checksumSha256, e);
+                failed = true;
+            }
+        }
+
+        /**
+         * 받은 페이지를 캐시에 저장합니다. 디스크 계층에는 임시 파일을 그대로 복사합니다.
+         * DB 계층(선택)은 한 행에 JSON 하나로 저장하므로 이 시점에 문서 하나 분량의 JSON을 메모리에 올립니다.
+         */
+        public void commit() {
+            if (failed || generator == null || pageCount == 0) {
+                return;
+            }
+            try {
+                generator.writeEndArray();
+                generator.close();
+                generator = null;
+                Path spooled = scratch;
+                diskStore.write(checksumSha256, out -> Files.copy(spooled, out));
+                if (dbEnabled) {
+                    String pagesJson;
+                    try (GZIPInputStream in = new GZIPInputStream(Files.newInputStream(spooled))) {
+                        pagesJson = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                    }
+                    repository.save(ExtractedTextCacheEntity.builder()
+                            .checksumSha256(checksumSha256)
+                            .pageCount(pageCount)
+                            .pagesJson(pagesJson)
+                            .build());
+                }
+            } catch (Exception e) {
+                log.warn("Failed to store extracted text in cache. checksum={}", checksumSha256, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (generator != null) {
+                    generator.close();
+                }
+            } catch (IOException ignored) {
+                // 버릴 임시 파일이므로 닫기 실패는 무시합니다.
+            }
+            try {
+                if (scratch != null) {
+                    Files.deleteIfExists(scratch);
+                }
+            } catch (IOException e) {
+                log.warn("Failed to delete extracted text cache scratch file: {}", scratch, e);
+            }
+        }
+    }
+
+    // 페이지 배열을 한 페이지씩 읽어 전달합니다. 전달한 페이지 수는 delivered에 셉니다.
+    // 글리프 좌표 저장 이전에 캐시된 항목은 문장 위치를 복원할 수 없으므로, 첫 페이지를 전달하기 전에 false를 돌려 미스로 처리하고 다시 추출해 덮어씁니다.
+    private boolean readPages(JsonParser parser, Consumer<PdfPageText> pageConsumer, AtomicInteger delivered) throws IOException {
+        try (parser) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Expected an array of pages");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                PdfPageText page = objectMapper.readValue(parser, PdfPageText.class);
+                if (!page.hasGlyphBoxes()) {
+                    if (delivered.get() == 0) {
+                        return false;
+                    }
+                    throw new JsonParseException(parser, "Page without glyph boxes in the middle of an entry");
+                }
+                pageConsumer.accept(page);
+                delivered.incrementAndGet();
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new JsonParseException(parser, "Truncated array of pages");
+            }
+            return true;
+        }
+    }
+
+    private void writeToDisk(String checksumSha256, String pagesJson) {
+        try {
+            diskStore.write(checksumSha256, out -> {
+                try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(out), StandardCharsets.UTF_8)) {
+                    writer.write(pagesJson);
+                }
+            });
+        } catch (IOException e) {
+            log.warn("Failed to write extracted text disk cache. checksum={}", checksumSha256, e);
+        }
+    }
+
+    private boolean isCacheable(String checksumSha256) {
+        // 체크섬이 파일명이 되므로 형식을 엄격히 확인합니다.
+        return enabled && checksumSha256 != null && SHA256_HEX.matcher(checksumSha256).matches();
+    }
+}
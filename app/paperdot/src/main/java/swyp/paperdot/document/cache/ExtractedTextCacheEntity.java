@@ -0,0 +1,42 @@
+package swyp.paperdot.document.cache;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+/**
+ * 추출 텍스트 캐시의 DB 계층 엔티티입니다.
+ * 원본 PDF의 SHA-256 체크섬을 키로, 페이지별 추출 텍스트를 JSON 배열로 저장합니다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "extracted_text_cache")
+public class ExtractedTextCacheEntity {
+
+    @Id
+    @Column(length = 64)
+    private String checksumSha256;
+
+    @Column(nullable = false)
+    private Integer pageCount;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String pagesJson;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Builder
+    public ExtractedTextCacheEntity(String checksumSha256, Integer pageCount, String pagesJson) {
+        this.checksumSha256 = checksumSha256;
+        this.pageCount = pageCount;
+        this.pagesJson = pagesJson;
+    }
+}
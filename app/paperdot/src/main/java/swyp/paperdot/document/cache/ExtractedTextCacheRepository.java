@@ -0,0 +1,6 @@
+package swyp.paperdot.document.cache;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ExtractedTextCacheRepository extends JpaRepository<ExtractedTextCacheEntity, String> {
+}
@@ -0,0 +1,169 @@
+package swyp.paperdot.document.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 추출 텍스트 캐시의 로컬 디스크 계층입니다.
+ * 체크섬마다 파일 하나를 두고, 전체 파일 크기 합계가 maxBytes를 넘으면 가장 오래 사용되지 않은 파일부터 삭제합니다(LRU).
+ * 재시작 시에는 파일의 수정 시각 순서로 LRU 순서를 복원합니다.
+ */
+@Slf4j
+class ExtractedTextDiskStore {
+
+    private static final String SUFFIX = ".json.gz";
+
+    private final Path directory;
+    private final long maxBytes;
+
+    // access-order LinkedHashMap: 가장 앞이 가장 오래 사용되지 않은 항목입니다.
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    ExtractedTextDiskStore(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        loadExistingEntries();
+    }
+
+    /**
+     * 캐시 파일을 열어 reader에게 넘깁니다. 항목이 없으면 false를 반환합니다.
+     */
+    boolean read(String checksum, EntryReader reader) throws IOException {
+        synchronized (this) {
+            if (entries.get(checksum) == null) {
+                return false;
+            }
+        }
+        Path file = fileOf(checksum);
+        try (InputStream in = Files.newInputStream(file)) {
+            reader.read(in);
+        } catch (NoSuchFileException e) {
+            // 다른 스레드가 방금 evict한 경우
+            synchronized (this) {
+                remove(checksum);
+            }
+            return false;
+        }
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException ignored) {
+            // LRU 복원용 힌트일 뿐이므로 실패해도 무시합니다.
+        }
+        return true;
+    }
+
+    /**
+     * writer가 임시 파일에 내용을 쓰고 나면 원자적으로 캐시 파일로 교체한 뒤 LRU 한도를 적용합니다.
+     */
+    void write(String checksum, EntryWriter writer) throws IOException {
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, checksum, ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                writer.write(out);
+            }
+            long size = Files.size(temp);
+            if (size > maxBytes) {
+                log.debug("Extracted text for {} ({} bytes) exceeds disk cache limit. skipping.", checksum, size);
+                return;
+            }
+            Files.move(temp, fileOf(checksum), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            synchronized (this) {
+                Long previous = entries.put(checksum, size);
+                totalBytes += size - (previous == null ? 0 : previous);
+                evictIfNeeded();
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            iterator.remove();
+            totalBytes -= eldest.getValue();
+            try {
+                Files.deleteIfExists(fileOf(eldest.getKey()));
+            } catch (IOException e) {
+                log.warn("Failed to evict extracted text cache file for {}", eldest.getKey(), e);
+            }
+        }
+    }
+
+    private void remove(String checksum) {
+        Long size = entries.remove(checksum);
+        if (size != null) {
+            totalBytes -= size;
+        }
+    }
+
+    private void loadExistingEntries() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> cacheFiles = files
+                    .filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .sorted(Comparator.comparing(ExtractedTextDiskStore::lastModified))
+                    .toList();
+            for (Path file : cacheFiles) {
+                String name = file.getFileName().toString();
+                long size = Files.size(file);
+                entries.put(name.substring(0, name.length() - SUFFIX.length()), size);
+                totalBytes += size;
+            }
+            evictIfNeeded();
+            log.info("Extracted text disk cache loaded. entries={}, bytes={}", entries.size(), totalBytes);
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Failed to scan extracted text cache directory: {}", directory, e);
+        }
+    }
+
+    private Path fileOf(String checksum) {
+        return directory.resolve(checksum + SUFFIX);
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    interface EntryReader {
+        void read(InputStream in) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface EntryWriter {
+        void write(OutputStream out) throws IOException;
+    }
+}
@@ -7,10 +7,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import swyp.paperdot.document.service.DocumentHistoryService;
+import swyp.paperdot.document.service.DocumentPipelineReportService;
 import swyp.paperdot.document.service.DocumentPipelineService;
+import swyp.paperdot.document.service.TranslationBatchDispatcher;
 
 import java.util.Map;
 
@@ -23,6 +26,7 @@ public class DocumentPipelineController {
 
     private final DocumentPipelineService documentPipelineService;
     private final DocumentHistoryService documentHistoryService;
+    private final DocumentPipelineReportService documentPipelineReportService;
 
     @Operation(summary = "문서 처리 파이프라인 실행", description = "특정 문서 ID에 대해 텍스트 추출, 번역, 저장 파이프라인을 비동기로 실행합니다.")
     @ApiResponses(value = {
@@ -41,18 +45,20 @@ public class DocumentPipelineController {
         return ResponseEntity.accepted().body(Map.of("message", "Document processing initiated for documentId: " + documentId));
     }
 
-    @Operation(summary = "문서 번역 쌍 조회", description = "특정 문서의 원문-번역 문장 쌍을 1:1로 조회합니다.")
+    @Operation(summary = "문서 번역 쌍 조회", description = "특정 문서의 원문-번역 문장 쌍을 1:1로 조회합니다. page를 지정하면 해당 페이지의 문장만 조회합니다.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "번역 쌍 조회 성공"),
             @ApiResponse(responseCode = "404", description = "문서 ID가 없거나 번역 데이터가 없음")
     })
     @GetMapping("/{documentId}/translation-pairs")
     public ResponseEntity<java.util.List<swyp.paperdot.document.dto.DocumentTranslationPairResponse>> getTranslationPairs(
-            @Parameter(description = "번역 쌍을 조회할 문서 ID", required = true) @PathVariable Long documentId
+            @Parameter(description = "번역 쌍을 조회할 문서 ID", required = true) @PathVariable Long documentId,
+            @Parameter(description = "조회할 페이지 번호(1부터). 생략하면 전체 문장을 조회합니다.")
+            @RequestParam(required = false) Integer page
     ) {
-        log.info("API 요청: documentId {} 번역 쌍 조회 요청 받음.", documentId);
+        log.info("API 요청: documentId {} 번역 쌍 조회 요청 받음. page: {}", documentId, page);
         java.util.List<swyp.paperdot.document.dto.DocumentTranslationPairResponse> translationPairs =
-                documentPipelineService.getTranslationPairsForDocument(documentId);
+                documentPipelineService.getTranslationPairsForDocument(documentId, page);
 
         if (translationPairs.isEmpty()) {
             return ResponseEntity.notFound().build();
@@ -68,6 +74,60 @@ public class DocumentPipelineController {
         return ResponseEntity.ok(documentPipelineService.getTranslationProgress(documentId));
     }
 
+    @Operation(summary = "번역 우선 범위 지정", description = "번역 중인 문서에서 페이지 범위(pageFrom~pageTo) 또는 문장 순서 범위(orderFrom~orderTo)를 먼저 번역하도록 요청합니다. 범위의 배치가 모두 시작되면 다시 문서 순서대로 번역합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "우선 범위 지정됨"),
+            @ApiResponse(responseCode = "400", description = "범위가 없거나 잘못됨 (페이지 범위와 문장 범위 중 하나만 지정, 페이지는 1부터, 끝은 시작 이상)"),
+            @ApiResponse(responseCode = "409", description = "문서가 번역 중이 아님")
+    })
+    @PostMapping("/{documentId}/translation-priority")
+    public ResponseEntity<Map<String, String>> prioritizeTranslation(
+            @Parameter(description = "번역 중인 문서 ID", required = true) @PathVariable Long documentId,
+            @Parameter(description = "먼저 번역할 첫 페이지(1부터)") @RequestParam(required = false) Integer pageFrom,
+            @Parameter(description = "먼저 번역할 마지막 페이지. 생략하면 pageFrom 한 페이지") @RequestParam(required = false) Integer pageTo,
+            @Parameter(description = "먼저 번역할 첫 문장 순서(orderInDoc, 0부터)") @RequestParam(required = false) Integer orderFrom,
+            @Parameter(description = "먼저 번역할 마지막 문장 순서. 생략하면 orderFrom 한 문장") @RequestParam(required = false) Integer orderTo
+    ) {
+        log.info("API 요청: documentId {} 번역 우선 범위 요청 받음. pages: {}~{}, orders: {}~{}", documentId, pageFrom, pageTo, orderFrom, orderTo);
+        TranslationBatchDispatcher.PriorityWindow window;
+        if (pageFrom != null && orderFrom == null && orderTo == null) {
+            window = new TranslationBatchDispatcher.PriorityWindow(
+                    TranslationBatchDispatcher.PriorityWindow.WindowType.PAGE, pageFrom, pageTo != null ? pageTo : pageFrom);
+        } else if (orderFrom != null && pageFrom == null && pageTo == null) {
+            window = new TranslationBatchDispatcher.PriorityWindow(
+                    TranslationBatchDispatcher.PriorityWindow.WindowType.ORDER, orderFrom, orderTo != null ? orderTo : orderFrom);
+        } else {
+            return ResponseEntity.badRequest().body(Map.of("message", "Specify either pageFrom[/pageTo] or orderFrom[/orderTo]."));
+        }
+        // 페이지는 1부터, 문장 순서(orderInDoc)는 0부터 시작합니다.
+        int minimum = window.type() == TranslationBatchDispatcher.PriorityWindow.WindowType.PAGE ? 1 : 0;
+        if (window.from() < minimum || window.to() < window.from()) {
+            return ResponseEntity.badRequest().body(Map.of("message",
+                    "Invalid " + window.type().name().toLowerCase() + " range: " + window.from() + ".." + window.to()
+                            + " (from must be >= " + minimum + " and to >= from)"));
+        }
+
+        if (!documentPipelineService.prioritizeTranslation(documentId, window)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("message", "Document is not being translated: " + documentId));
+        }
+        return ResponseEntity.accepted().body(Map.of("message", "Translation priority set for documentId: " + documentId));
+    }
+
+    @Operation(summary = "파이프라인 처리 리포트 조회", description = "문서 처리 파이프라인의 단계별 집계(반복 헤더/푸터 제거량 등)를 조회합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "리포트 조회 성공"),
+            @ApiResponse(responseCode = "404", description = "아직 파이프라인이 실행되지 않은 문서")
+    })
+    @GetMapping("/{documentId}/pipeline-report")
+    public ResponseEntity<swyp.paperdot.document.dto.DocumentPipelineReportResponse> getPipelineReport(
+            @Parameter(description = "리포트를 조회할 문서 ID", required = true) @PathVariable Long documentId
+    ) {
+        return documentPipelineReportService.getReport(documentId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @Operation(summary = "번역 기록 목록 조회", description = "특정 사용자(ownerId)의 번역 완료 문서 목록을 조회합니다.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "번역 기록 목록 조회 성공"),
@@ -35,12 +35,24 @@ public class Document {
     // PDF 페이지 수
     private Integer totalPages;
 
+    // 업로드 시 메타데이터 패스 결과: 텍스트 레이어 존재 여부, 추정 문장 수 (스케줄링/작업량 산정용)
+    private Boolean hasTextLayer;
+
+    private Integer estimatedSentenceCount;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private DocumentStatus status;
 
     private Instant lastOpenedAt;
 
+    // 상태가 FAILED일 때의 실패 사유
+    @Column(length = 500)
+    private String failureReason;
+
+    // 페이지별 텍스트(doc_pages) 저장이 끝난 시각. null이면 아직 추출이 완료되지 않은 문서입니다.
+    private Instant extractionCompletedAt;
+
     // 문서에 딸린 파일들
     @OneToMany(
             mappedBy = "document",
@@ -65,6 +77,40 @@ public class Document {
         this.status = DocumentStatus.UPLOADED;
     }
 
+    /* ===== 상태 변경 메서드 ===== */
+    public void recordMetadata(int totalPages, boolean hasTextLayer, int estimatedSentenceCount) {
+        this.totalPages = totalPages;
+        this.hasTextLayer = hasTextLayer;
+        this.estimatedSentenceCount = estimatedSentenceCount;
+    }
+
+    public void markTranslating() {
+        this.status = DocumentStatus.TRANSLATING;
+        this.failureReason = null;
+    }
+
+    public void markTranslated() {
+        this.status = DocumentStatus.TRANSLATED;
+    }
+
+    public void markFailed(String reason) {
+        this.status = DocumentStatus.FAILED;
+        this.failureReason = reason != null && reason.length() > 500 ? reason.substring(0, 500) : reason;
+    }
+
+    public void markExtracted(int totalPages) {
+        this.totalPages = totalPages;
+        this.extractionCompletedAt = Instant.now();
+    }
+
+    public void clearExtraction() {
+        this.extractionCompletedAt = null;
+    }
+
+    public boolean isExtractionCompleted() {
+        return extractionCompletedAt != null;
+    }
+
     /* ===== 연관관계 편의 메서드 ===== */
     public void addFile(DocumentFile file) {
         files.add(file);
@@ -0,0 +1,75 @@
+package swyp.paperdot.document.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import swyp.paperdot.document.pdf.PdfPageText;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Instant;
+
+/**
+ * 문서의 페이지별 추출 텍스트를 저장하는 엔티티입니다.
+ * 추출이 끝난 문서는 재처리(재시도, 문장 분리 변경, 재번역) 시 원본 다운로드와 PDF 파싱 없이 이 테이블에서 다시 시작합니다.
+ */
+@Entity
+@Table(
+        name = "doc_pages",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"document_id", "page_number"})
+        }
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class DocumentPage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long documentId;
+
+    @Column(nullable = false)
+    private Integer pageNumber;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String text;
+
+    // 문자별 글리프 영역(float 4개씩)을 little-endian으로 직렬화한 값
+    @Column(columnDefinition = "bytea")
+    private byte[] glyphBoxes;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    /* ===== 생성 메서드 ===== */
+    public static DocumentPage of(Long documentId, PdfPageText page) {
+        DocumentPage documentPage = new DocumentPage();
+        documentPage.documentId = documentId;
+        documentPage.pageNumber = page.pageNumber();
+        documentPage.text = page.text();
+        documentPage.glyphBoxes = page.hasGlyphBoxes() ? encode(page.glyphBoxes()) : null;
+        return documentPage;
+    }
+
+    public PdfPageText toPageText() {
+        return new PdfPageText(pageNumber, text, glyphBoxes == null ? null : decode(glyphBoxes));
+    }
+
+    private static byte[] encode(float[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(values);
+        return buffer.array();
+    }
+
+    private static float[] decode(byte[] bytes) {
+        float[] values = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(values);
+        return values;
+    }
+}
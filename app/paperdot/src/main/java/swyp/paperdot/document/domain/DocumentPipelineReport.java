@@ -0,0 +1,93 @@
+package swyp.paperdot.document.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+
+/**
+ * 문서 처리 파이프라인의 단계별 집계를 문서당 한 행으로 저장하는 엔티티입니다.
+ * 파이프라인을 다시 실행하면 마지막 실행 결과로 덮어씁니다.
+ */
+@Entity
+@Table(
+        name = "doc_pipeline_reports",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"document_id"})
+        }
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class DocumentPipelineReport {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long documentId;
+
+    // 반복 헤더/푸터/페이지 번호 제거 단계에서 제거된 줄 수와 추정 토큰 수
+    @Column(nullable = false)
+    private int boilerplateRemovedLines;
+
+    @Column(nullable = false)
+    private long boilerplateRemovedTokens;
+
+    // 번역 단계에서 일시적 오류로 재시도한 횟수, 배치를 반으로 나눠 다시 보낸 횟수,
+    // 응답에서 빠진 문장만 다시 보낸 문장 수, 끝내 번역하지 못한 문장 수
+    // 기존 행이 있는 테이블에 컬럼이 추가되므로 기본값을 둡니다.
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private int translationRetries;
+
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private int translationBisections;
+
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private int translationRequeuedUnits;
+
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private int translationFailedUnits;
+
+    // 번역 메모리 조회 문장 수, 적중 문장 수, 적중으로 보내지 않은 추정 토큰 수
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private int translationMemoryLookups;
+
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private int translationMemoryHits;
+
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long translationMemoryTokensSaved;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    public static DocumentPipelineReport create(Long documentId) {
+        DocumentPipelineReport report = new DocumentPipelineReport();
+        report.documentId = documentId;
+        return report;
+    }
+
+    /* ===== 상태 변경 메서드 ===== */
+    public void recordBoilerplate(int removedLines, long removedTokens) {
+        this.boilerplateRemovedLines = removedLines;
+        this.boilerplateRemovedTokens = removedTokens;
+    }
+
+    public void recordTranslationRecovery(int retries, int bisections, int requeuedUnits, int failedUnits) {
+        this.translationRetries = retries;
+        this.translationBisections = bisections;
+        this.translationRequeuedUnits = requeuedUnits;
+        this.translationFailedUnits = failedUnits;
+    }
+
+    public void recordTranslationMemory(int lookups, int hits, long tokensSaved) {
+        this.translationMemoryLookups = lookups;
+        this.translationMemoryHits = hits;
+        this.translationMemoryTokensSaved = tokensSaved;
+    }
+}
@@ -0,0 +1,22 @@
+package swyp.paperdot.document.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@Builder
+public class DocumentPipelineReportResponse {
+    private Long documentId;
+    private int boilerplateRemovedLines;
+    private long boilerplateRemovedTokens;
+    private int translationRetries;
+    private int translationBisections;
+    private int translationRequeuedUnits;
+    private int translationFailedUnits;
+    private int translationMemoryLookups;
+    private int translationMemoryHits;
+    private long translationMemoryTokensSaved;
+    private Instant updatedAt;
+}
@@ -13,6 +13,8 @@ public class DocumentResponse {
     private final String originalFilename;
     private final String mimeType;
     private final Long fileSizeBytes;
+    private final Integer totalPages;
+    private final Integer estimatedSentenceCount;
 
     public DocumentResponse(
             Long documentId,
@@ -22,7 +24,9 @@ public class DocumentResponse {
             DocumentStatus status,
             String originalFilename,
             String mimeType,
-            Long fileSizeBytes
+            Long fileSizeBytes,
+            Integer totalPages,
+            Integer estimatedSentenceCount
     ) {
         this.documentId = documentId;
         this.fileId = fileId;
@@ -32,6 +36,8 @@ public class DocumentResponse {
         this.originalFilename = originalFilename;
         this.mimeType = mimeType;
         this.fileSizeBytes = fileSizeBytes;
+        this.totalPages = totalPages;
+        this.estimatedSentenceCount = estimatedSentenceCount;
     }
 
     public Long getDocumentId() {
@@ -65,4 +71,12 @@ public class DocumentResponse {
     public Long getFileSizeBytes() {
         return fileSizeBytes;
     }
+
+    public Integer getTotalPages() {
+        return totalPages;
+    }
+
+    public Integer getEstimatedSentenceCount() {
+        return estimatedSentenceCount;
+    }
 }
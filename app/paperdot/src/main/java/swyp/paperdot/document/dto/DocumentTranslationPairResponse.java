@@ -4,6 +4,9 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import swyp.paperdot.doc_units.docUnits.UnitBoundingBox;
+
+import java.util.List;
 
 @Getter
 @Builder
@@ -13,4 +16,6 @@ public class DocumentTranslationPairResponse {
     private Long docUnitId;
     private String sourceText;
     private String translatedText;
+    private Integer pageNumber;
+    private List<UnitBoundingBox> boxes;
 }
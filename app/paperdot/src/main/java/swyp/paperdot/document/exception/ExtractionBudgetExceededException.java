@@ -0,0 +1,25 @@
+package swyp.paperdot.document.exception;
+
+/**
+ * 문서 하나의 텍스트 추출이 설정된 자원 예산(실행 시간, 페이지 수, 추출 글자 수)을 넘었을 때 발생하는 예외입니다.
+ * 비정상적으로 크거나 손상된 PDF가 파이프라인 스레드를 오래 붙잡지 않도록 페이지 사이에서 검사합니다.
+ */
+public class ExtractionBudgetExceededException extends RuntimeException {
+
+    public enum Limit {
+        WALL_TIME,
+        PAGES,
+        CHARS
+    }
+
+    private final Limit limit;
+
+    public ExtractionBudgetExceededException(Limit limit, String message) {
+        super(message);
+        this.limit = limit;
+    }
+
+    public Limit getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,205 @@
+package swyp.paperdot.document.pdf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import java.util.regex.Pattern;
+
+/**
+ * 추출과 문장 분리 사이에서 러닝 헤더/푸터, 저널명, 페이지 번호처럼 페이지마다 반복되는 줄을 제거하는 단계입니다.
+ *
+ * 각 페이지의 위/아래 가장자리 몇 줄을 (위치 슬롯, 숫자를 정규화한 내용) 키로 세어,
+ * min-repeats 개 이상의 페이지에서 같은 키로 나타난 줄을 반복 문구로 판단해 제거합니다.
+ * 가장자리에 있는 페이지 번호 형태의 줄("12", "Page 3 of 40", "- 7 -", "xiv")은 내용이 페이지마다 달라도,
+ * 같은 위치 슬롯에서 두 페이지 이상 페이지 번호 형태로 나타나면 제거합니다. 본문 첫 줄이 우연히 "I"나 "12"인 경우는 남습니다.
+ * 처음 learn-pages 페이지는 반복 패턴을 학습하기 위해 모아 두었다가 한꺼번에 내보내고, 그 이후 페이지는 바로 걸러서 내보냅니다.
+ * 제거된 줄에 해당하는 글리프 좌표도 함께 잘라 내므로 텍스트와 좌표의 정렬이 유지됩니다.
+ *
+ * 한 문서 처리 동안에만 사용하는 상태 객체입니다(스레드 안전하지 않음).
+ */
+public class BoilerplateFilter implements Consumer<PdfPageText> {
+
+    // 반복 문구 후보로 보기에는 너무 긴 줄(본문 문단)은 제외합니다.
+    private static final int MAX_CANDIDATE_LENGTH = 200;
+    private static final Pattern DIGITS = Pattern.compile("\\d+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+    // 로마 숫자는 앞부분(서문 등)에 쓰이는 1~39의 올바른 표기만 인정합니다. "civil", "mix" 같은 단어 조각은 맞지 않습니다.
+    private static final Pattern PAGE_NUMBER = Pattern.compile(
+            "^(?:page\\s*|p\\.\\s*)?[-–—]?\\s*(?:#|(?=[ivx])x{0,3}(?:ix|iv|v?i{0,3}))\\s*[-–—]?(?:\\s*(?:of|/)\\s*#)?$");
+    private static final int PAGE_NUMBER_MIN_REPEATS = 2;
+
+    private final int learnPages;
+    private final int minRepeats;
+    private final int edgeLines;
+    private final ToIntFunction<CharSequence> tokenEstimator;
+    private final Consumer<PdfPageText> downstream;
+
+    private final Map<String, Integer> keyPageCounts = new HashMap<>();
+    private final Map<String, Integer> pageNumberSlotCounts = new HashMap<>();
+    private final List<PdfPageText> learning = new ArrayList<>();
+    private boolean learned;
+
+    private int removedLines;
+    private long removedTokens;
+
+    /**
+     * @param tokenEstimator 제거한 줄의 토큰 수 추정에 쓰는 함수 (번역 배치와 같은 TokenEstimator)
+     */
+    public BoilerplateFilter(int learnPages, int minRepeats, int edgeLines,
+                             ToIntFunction<CharSequence> tokenEstimator, Consumer<PdfPageText> downstream) {
+        this.learnPages = Math.max(1, learnPages);
+        this.minRepeats = Math.max(2, minRepeats);
+        this.edgeLines = Math.max(1, edgeLines);
+        this.tokenEstimator = tokenEstimator;
+        this.downstream = downstream;
+    }
+
+    @Override
+    public void accept(PdfPageText page) {
+        countKeys(page);
+        if (learned) {
+            downstream.accept(strip(page));
+            return;
+        }
+
+        learning.add(page);
+        if (learning.size() >= learnPages) {
+            flushLearning();
+        }
+    }
+
+    /**
+     * 학습용으로 모아 둔 페이지가 남아 있으면 걸러서 내보냅니다. 마지막 페이지를 전달한 뒤 반드시 호출해야 합니다.
+     */
+    public void finish() {
+        flushLearning();
+    }
+
+    public int removedLines() {
+        return removedLines;
+    }
+
+    public long removedTokens() {
+        return removedTokens;
+    }
+
+    private void flushLearning() {
+        learned = true;
+        for (PdfPageText page : learning) {
+            downstream.accept(strip(page));
+        }
+        learning.clear();
+    }
+
+    private void countKeys(PdfPageText page) {
+        Set<String> keys = new HashSet<>();
+        Set<String> pageNumberSlots = new HashSet<>();
+        for (EdgeLine line : edgeLines(page.text())) {
+            if (line.normalized().length() <= MAX_CANDIDATE_LENGTH) {
+                keys.add(line.key());
+            }
+            if (isPageNumber(line)) {
+                pageNumberSlots.add(line.slot());
+            }
+        }
+        // 한 페이지에서 같은 키가 여러 번 나와도 한 번만 셉니다.
+        keys.forEach(key -> keyPageCounts.merge(key, 1, Integer::sum));
+        pageNumberSlots.forEach(slot -> pageNumberSlotCounts.merge(slot, 1, Integer::sum));
+    }
+
+    private PdfPageText strip(PdfPageText page) {
+        List<EdgeLine> drop = new ArrayList<>();
+        for (EdgeLine line : edgeLines(page.text())) {
+            boolean pageNumber = isPageNumber(line)
+                    && pageNumberSlotCounts.getOrDefault(line.slot(), 0) >= PAGE_NUMBER_MIN_REPEATS;
+            if (pageNumber || keyPageCounts.getOrDefault(line.key(), 0) >= minRepeats) {
+                drop.add(line);
+            }
+        }
+        if (drop.isEmpty()) {
+            return page;
+        }
+        drop.sort((a, b) -> Integer.compare(a.start(), b.start()));
+
+        String text = page.text();
+        float[] boxes = page.glyphBoxes();
+        StringBuilder kept = new StringBuilder(text.length());
+        float[] keptBoxes = boxes == null ? null : new float[boxes.length];
+        int keptLength = 0;
+        int cursor = 0;
+        int lastEnd = -1;
+        for (EdgeLine line : drop) {
+            if (line.start() < lastEnd) {
+                continue; // 위/아래 가장자리가 겹치는 짧은 페이지
+            }
+            keptLength = copy(text, boxes, cursor, line.start(), kept, keptBoxes, keptLength);
+            cursor = line.end();
+            lastEnd = line.end();
+            removedLines++;
+            removedTokens += tokenEstimator.applyAsInt(text.subSequence(line.start(), line.end()));
+        }
+        keptLength = copy(text, boxes, cursor, text.length(), kept, keptBoxes, keptLength);
+
+        return new PdfPageText(page.pageNumber(), kept.toString(),
+                keptBoxes == null ? null : Arrays.copyOf(keptBoxes, keptLength * 4));
+    }
+
+    private boolean isPageNumber(EdgeLine line) {
+        return PAGE_NUMBER.matcher(line.normalized()).matches();
+    }
+
+    private int copy(String text, float[] boxes, int from, int to, StringBuilder kept, float[] keptBoxes, int keptLength) {
+        if (from >= to) {
+            return keptLength;
+        }
+        kept.append(text, from, to);
+        if (keptBoxes != null) {
+            System.arraycopy(boxes, from * 4, keptBoxes, keptLength * 4, (to - from) * 4);
+        }
+        return keptLength + (to - from);
+    }
+
+    /**
+     * 페이지의 위쪽 edgeLines 줄과 아래쪽 edgeLines 줄(공백 줄 제외)을 반환합니다.
+     * 각 줄의 범위는 뒤따르는 줄바꿈까지 포함합니다.
+     */
+    private List<EdgeLine> edgeLines(String text) {
+        List<int[]> lines = new ArrayList<>();
+        int start = 0;
+        while (start < text.length()) {
+            int newline = text.indexOf('\n', start);
+            int end = newline < 0 ? text.length() : newline + 1;
+            if (!text.substring(start, end).isBlank()) {
+                lines.add(new int[]{start, end});
+            }
+            start = end;
+        }
+
+        List<EdgeLine> edges = new ArrayList<>();
+        int top = Math.min(edgeLines, lines.size());
+        for (int i = 0; i < top; i++) {
+            edges.add(toEdgeLine(text, lines.get(i), "T" + i));
+        }
+        int bottom = Math.min(edgeLines, lines.size() - top);
+        for (int i = 0; i < bottom; i++) {
+            edges.add(toEdgeLine(text, lines.get(lines.size() - 1 - i), "B" + i));
+        }
+        return edges;
+    }
+
+    private EdgeLine toEdgeLine(String text, int[] range, String slot) {
+        String normalized = DIGITS.matcher(text.substring(range[0], range[1]).toLowerCase(Locale.ROOT)).replaceAll("#");
+        normalized = SPACES.matcher(normalized).replaceAll(" ").trim();
+        return new EdgeLine(range[0], range[1], slot, slot + ":" + normalized, normalized);
+    }
+
+    private record EdgeLine(int start, int end, String slot, String key, String normalized) {
+    }
+}
@@ -0,0 +1,82 @@
+package swyp.paperdot.document.pdf;
+
+import swyp.paperdot.document.exception.ExtractionBudgetExceededException;
+import swyp.paperdot.document.exception.ExtractionBudgetExceededException.Limit;
+
+/**
+ * 문서 하나를 추출하는 동안 사용할 수 있는 자원 예산입니다. 생성 시점부터 실행 시간을 잽니다.
+ * 각 한도는 0 이하이면 제한하지 않습니다.
+ *
+ * 예산은 페이지 사이에서 협조적으로 검사됩니다. 마감 시각 검사({@link #checkDeadline()})는 워커 스레드에서도
+ * 호출할 수 있지만, 글자 수 누적({@link #recordPage(PdfPageText)})은 결과를 받는 한 스레드에서만 호출해야 합니다.
+ */
+public class ExtractionBudget {
+
+    private final long maxWallTimeMillis;
+    private final int maxPages;
+    private final long maxChars;
+    private volatile long deadlineNanos;
+
+    private long chars;
+
+    public ExtractionBudget(long maxWallTimeMillis, int maxPages, long maxChars) {
+        this.maxWallTimeMillis = maxWallTimeMillis;
+        this.maxPages = maxPages;
+        this.maxChars = maxChars;
+        this.deadlineNanos = maxWallTimeMillis > 0 ? System.nanoTime() + maxWallTimeMillis * 1_000_000L : Long.MAX_VALUE;
+    }
+
+    public static ExtractionBudget unlimited() {
+        return new ExtractionBudget(0, 0, 0);
+    }
+
+    /**
+     * 추출을 시작하기 전에 전체 페이지 수가 한도 안인지 확인합니다.
+     */
+    public void checkPageCount(int totalPages) {
+        if (maxPages > 0 && totalPages > maxPages) {
+            throw new ExtractionBudgetExceededException(Limit.PAGES,
+                    "PDF has " + totalPages + " pages, exceeding the limit of " + maxPages);
+        }
+    }
+
+    public void checkDeadline() {
+        if (remainingNanos() <= 0) {
+            throw wallTimeExceeded();
+        }
+    }
+
+    /**
+     * 추출된 페이지를 예산에 반영합니다. 글자 수 한도와 마감 시각을 함께 검사합니다.
+     */
+    public void recordPage(PdfPageText page) {
+        chars += page.text().length();
+        if (maxChars > 0 && chars > maxChars) {
+            throw new ExtractionBudgetExceededException(Limit.CHARS,
+                    "Extracted text exceeded the limit of " + maxChars + " characters at page " + page.pageNumber());
+        }
+        checkDeadline();
+    }
+
+    /**
+     * 추출 외의 일로 기다린 시간(예: 다음 단계의 backpressure)만큼 마감 시각을 뒤로 미룹니다.
+     * 결과를 받는 스레드에서만 호출합니다.
+     */
+    public void exclude(long nanos) {
+        if (deadlineNanos != Long.MAX_VALUE && nanos > 0) {
+            deadlineNanos += nanos;
+        }
+    }
+
+    /**
+     * 마감 시각까지 남은 시간(ns)입니다. 시간 제한이 없으면 Long.MAX_VALUE입니다.
+     */
+    public long remainingNanos() {
+        return deadlineNanos == Long.MAX_VALUE ? Long.MAX_VALUE : deadlineNanos - System.nanoTime();
+    }
+
+    public ExtractionBudgetExceededException wallTimeExceeded() {
+        return new ExtractionBudgetExceededException(Limit.WALL_TIME,
+                "PDF extraction exceeded the time limit of " + maxWallTimeMillis + " ms");
+    }
+}
@@ -0,0 +1,16 @@
+package swyp.paperdot.document.pdf;
+
+import swyp.paperdot.doc_units.docUnits.UnitBoundingBox;
+
+import java.util.List;
+
+/**
+ * 문장 분리 결과와, 그 문장이 PDF에서 시작하는 페이지 및 줄 단위 영역입니다.
+ *
+ * @param text       분리된 문장
+ * @param pageNumber 문장이 시작하는 페이지 번호. 위치를 찾지 못하면 null입니다.
+ * @param boxes      문장이 차지하는 줄 단위 영역 목록 (여러 페이지에 걸칠 수 있습니다)
+ * @param paragraphIndex 문서 안에서 문장이 속한 문단 번호 (0부터)
+ */
+public record LocatedSentence(String text, Integer pageNumber, List<UnitBoundingBox> boxes, int paragraphIndex) {
+}
@@ -0,0 +1,146 @@
+package swyp.paperdot.document.pdf;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import swyp.paperdot.document.exception.ExtractionBudgetExceededException;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * 페이지 범위를 여러 청크로 나누어 워커 풀에서 병렬로 텍스트를 추출하는 컴포넌트입니다.
+ * 각 청크는 자신만의 PDDocument 핸들과 PositionCapturingTextStripper를 사용하며,
+ * 결과는 페이지 순서대로 다시 조립되어 consumer에게 전달됩니다.
+ */
+@Slf4j
+@Component
+public class ParallelPdfTextExtractor {
+
+    private final AsyncTaskExecutor pdfExtractExecutor;
+    private final int parallelism;
+    private final int chunkPages;
+
+    public ParallelPdfTextExtractor(
+            @Qualifier("pdfExtractExecutor") AsyncTaskExecutor pdfExtractExecutor,
+            @Value("${pdf.extract.parallelism:0}") int parallelism,
+            @Value("${pdf.extract.chunk-pages:16}") int chunkPages
+    ) {
+        this.pdfExtractExecutor = pdfExtractExecutor;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.chunkPages = Math.max(1, chunkPages);
+    }
+
+    /**
+     * 자원 예산 없이 PDF의 모든 페이지 텍스트를 추출합니다.
+     *
+     * @see #extractPages(PdfDocumentOpener, ExtractionBudget, Consumer)
+     */
+    public int extractPages(PdfDocumentOpener opener, Consumer<PdfPageText> pageConsumer) throws IOException {
+        return extractPages(opener, ExtractionBudget.unlimited(), pageConsumer);
+    }
+
+    /**
+     * PDF의 모든 페이지 텍스트를 추출하여 페이지 순서대로 consumer에게 전달합니다.
+     * 병렬도가 1이면 현재 스레드에서 순차 추출하고, 그 외에는 문서가 한 청크뿐이어도 워커 풀에서 추출합니다.
+     * 워커에서 추출하면 한 페이지 파싱이 멈춰 있더라도 마감 시각에 호출 스레드가 풀려납니다.
+     *
+     * @param opener       청크마다 새 PDDocument 핸들을 열기 위한 함수
+     * @param budget       페이지 사이에서 검사하는 자원 예산
+     * @param pageConsumer 페이지 순서(1..N)대로 호출되는 콜백 (호출 스레드에서만 호출됩니다)
+     * @return 문서의 전체 페이지 수
+     * @throws ExtractionBudgetExceededException 예산을 넘은 경우
+     */
+    public int extractPages(PdfDocumentOpener opener, ExtractionBudget budget, Consumer<PdfPageText> pageConsumer) throws IOException {
+        int totalPages;
+        try (PDDocument document = opener.open()) {
+            totalPages = document.getNumberOfPages();
+            budget.checkPageCount(totalPages);
+            if (parallelism <= 1) {
+                PositionCapturingTextStripper stripper = new PositionCapturingTextStripper();
+                for (int pageNumber = 1; pageNumber <= totalPages; pageNumber++) {
+                    budget.checkDeadline();
+                    PdfPageText page = stripper.extractPage(document, pageNumber);
+                    budget.recordPage(page);
+                    deliver(page, budget, pageConsumer);
+                }
+                return totalPages;
+            }
+        }
+
+        // 미리 처리된 청크가 무한정 쌓이지 않도록, 동시에 진행 중인 청크 수를 병렬도의 2배로 제한합니다.
+        int window = parallelism * 2;
+        Deque<Future<List<PdfPageText>>> inFlight = new ArrayDeque<>(window);
+        int nextStart = 1;
+        try {
+            while (nextStart <= totalPages || !inFlight.isEmpty()) {
+                while (nextStart <= totalPages && inFlight.size() < window) {
+                    int start = nextStart;
+                    int end = Math.min(start + chunkPages - 1, totalPages);
+                    inFlight.addLast(pdfExtractExecutor.submit(() -> extractChunk(opener, start, end, budget)));
+                    nextStart = end + 1;
+                }
+                for (PdfPageText page : awaitChunk(inFlight.removeFirst(), budget)) {
+                    budget.recordPage(page);
+                    deliver(page, budget, pageConsumer);
+                }
+            }
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+        log.debug("Parallel PDF extraction done. pages={}, parallelism={}, chunkPages={}", totalPages, parallelism, chunkPages);
+        return totalPages;
+    }
+
+    // consumer가 다음 단계를 기다리며 막혀 있던 시간은 추출 시간 예산에서 뺍니다.
+    private void deliver(PdfPageText page, ExtractionBudget budget, Consumer<PdfPageText> pageConsumer) {
+        long started = System.nanoTime();
+        pageConsumer.accept(page);
+        budget.exclude(System.nanoTime() - started);
+    }
+
+    private List<PdfPageText> extractChunk(PdfDocumentOpener opener, int startPage, int endPage, ExtractionBudget budget) throws IOException {
+        budget.checkDeadline();
+        try (PDDocument document = opener.open()) {
+            // 텍스트와 글리프 좌표를 한 번의 파싱으로 함께 수집합니다.
+            PositionCapturingTextStripper stripper = new PositionCapturingTextStripper();
+            List<PdfPageText> pages = new ArrayList<>(endPage - startPage + 1);
+            for (int pageNumber = startPage; pageNumber <= endPage; pageNumber++) {
+                budget.checkDeadline();
+                pages.add(stripper.extractPage(document, pageNumber));
+            }
+            return pages;
+        }
+    }
+
+    private List<PdfPageText> awaitChunk(Future<List<PdfPageText>> future, ExtractionBudget budget) throws IOException {
+        try {
+            return future.get(budget.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw budget.wallTimeExceeded();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for PDF extraction chunk", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException("PDF extraction chunk failed", cause);
+        }
+    }
+}
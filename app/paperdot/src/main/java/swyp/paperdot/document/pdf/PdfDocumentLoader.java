@@ -0,0 +1,110 @@
+package swyp.paperdot.document.pdf;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessRead;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
+import org.apache.pdfbox.io.RandomAccessReadMemoryMappedFile;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * PDF를 힙 사용량이 제한된 방식으로 여는 컴포넌트입니다.
+ * 스토리지 스트림을 로컬 스크래치 파일로 흘려 보낸 뒤(spool) 랜덤 액세스 파일 리더로 열기 때문에,
+ * 원본 전체를 byte[]로 들고 있지 않습니다. 파싱 중 생성되는 스트림 버퍼는 max-main-memory-bytes까지만
+ * 힙을 사용하고 나머지는 스크래치 파일로 넘어가며, 폰트/이미지 리소스 캐시는 기본적으로 비활성화합니다.
+ */
+@Slf4j
+@Component
+public class PdfDocumentLoader {
+
+    private final Path scratchDir;
+    private final long maxMainMemoryBytes;
+    private final boolean memoryMapped;
+    private final boolean resourceCacheEnabled;
+
+    public PdfDocumentLoader(
+            @Value("${pdf.load.scratch-dir:}") String scratchDir,
+            @Value("${pdf.load.max-main-memory-bytes:16777216}") long maxMainMemoryBytes,
+            @Value("${pdf.load.memory-mapped:false}") boolean memoryMapped,
+            @Value("${pdf.load.resource-cache-enabled:false}") boolean resourceCacheEnabled
+    ) {
+        this.scratchDir = Path.of(scratchDir == null || scratchDir.isBlank() ? System.getProperty("java.io.tmpdir") : scratchDir);
+        this.maxMainMemoryBytes = maxMainMemoryBytes;
+        this.memoryMapped = memoryMapped;
+        this.resourceCacheEnabled = resourceCacheEnabled;
+    }
+
+    /**
+     * 입력 스트림을 스크래치 디렉터리의 임시 파일로 복사합니다.
+     * 반환된 파일은 사용 후 {@link #deleteQuietly(Path)}로 삭제해야 합니다.
+     *
+     * @param inputStream 원본 PDF 스트림 (close 책임은 호출자에게 있습니다)
+     * @return 생성된 임시 파일 경로
+     */
+    public Path spool(InputStream inputStream) throws IOException {
+        Files.createDirectories(scratchDir);
+        Path file = Files.createTempFile(scratchDir, "paperdot-", ".pdf");
+        try {
+            Files.copy(inputStream, file, StandardCopyOption.REPLACE_EXISTING);
+            return file;
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw e;
+        }
+    }
+
+    /**
+     * 스크래치 파일을 랜덤 액세스 리더로 열어 PDDocument를 생성합니다.
+     * 반환된 PDDocument의 close 책임은 호출자에게 있습니다.
+     */
+    public PDDocument load(Path file) throws IOException {
+        MemoryUsageSetting memoryUsageSetting = maxMainMemoryBytes > 0
+                ? MemoryUsageSetting.setupMixed(maxMainMemoryBytes)
+                : MemoryUsageSetting.setupTempFileOnly();
+        memoryUsageSetting.setTempDir(scratchDir.toFile());
+
+        RandomAccessRead source = memoryMapped
+                ? new RandomAccessReadMemoryMappedFile(file)
+                : new RandomAccessReadBufferedFile(file.toFile());
+        PDDocument document;
+        try {
+            document = Loader.loadPDF(source, "", null, null, memoryUsageSetting.streamCache);
+        } catch (IOException e) {
+            source.close();
+            throw e;
+        }
+
+        if (!resourceCacheEnabled) {
+            // 기본 ResourceCache는 페이지를 넘겨도 폰트/XObject를 SoftReference로 붙잡고 있으므로 끕니다.
+            document.setResourceCache(null);
+        }
+        return document;
+    }
+
+    /**
+     * 같은 스크래치 파일에서 매번 새 핸들을 여는 opener를 반환합니다. (병렬 추출용)
+     */
+    public PdfDocumentOpener opener(Path file) {
+        return () -> load(file);
+    }
+
+    public void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete PDF scratch file: {}", file, e);
+        }
+    }
+}
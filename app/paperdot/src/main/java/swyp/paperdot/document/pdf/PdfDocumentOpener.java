@@ -0,0 +1,16 @@
+package swyp.paperdot.document.pdf;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import java.io.IOException;
+
+/**
+ * 같은 PDF 원본으로부터 새 PDDocument 핸들을 여는 함수입니다.
+ * PDDocument는 스레드 안전하지 않으므로, 병렬 추출 시 각 작업자가 이 함수로 자신만의 핸들을 엽니다.
+ * 반환된 PDDocument의 close 책임은 호출자에게 있습니다.
+ */
+@FunctionalInterface
+public interface PdfDocumentOpener {
+
+    PDDocument open() throws IOException;
+}
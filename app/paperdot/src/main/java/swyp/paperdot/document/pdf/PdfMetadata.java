@@ -0,0 +1,12 @@
+package swyp.paperdot.document.pdf;
+
+/**
+ * 업로드 시점에 카탈로그와 일부 샘플 페이지만 읽어 얻은 PDF 메타데이터입니다.
+ *
+ * @param pageCount              전체 페이지 수
+ * @param sampledPages           텍스트를 실제로 추출해 본 샘플 페이지 수
+ * @param hasTextLayer           샘플 페이지에서 텍스트 레이어가 확인되었는지 여부 (false면 스캔 이미지 PDF로 간주)
+ * @param estimatedSentenceCount 샘플 페이지의 문장 종결 부호 수를 전체 페이지로 환산한 추정 문장 수
+ */
+public record PdfMetadata(int pageCount, int sampledPages, boolean hasTextLayer, int estimatedSentenceCount) {
+}
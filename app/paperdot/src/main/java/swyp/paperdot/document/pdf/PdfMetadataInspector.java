@@ -0,0 +1,98 @@
+package swyp.paperdot.document.pdf;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 업로드된 PDF의 가벼운 메타데이터 패스를 수행합니다.
+ * 문서 카탈로그(페이지 트리)로 페이지 수를 얻고, 고르게 분포한 몇 개의 샘플 페이지에서만 텍스트를 추출해
+ * 텍스트 레이어 존재 여부와 전체 문장 수를 추정합니다. 전체 페이지를 파싱하지 않으므로 업로드 요청 안에서 실행할 수 있습니다.
+ */
+@Slf4j
+@Component
+public class PdfMetadataInspector {
+
+    private final PdfDocumentLoader pdfDocumentLoader;
+    private final int samplePages;
+    private final int minCharsPerPage;
+    private final double minTextPageRatio;
+
+    public PdfMetadataInspector(
+            PdfDocumentLoader pdfDocumentLoader,
+            @Value("${pdf.metadata.sample-pages:5}") int samplePages,
+            @Value("${pdf.metadata.min-chars-per-page:32}") int minCharsPerPage,
+            @Value("${pdf.metadata.min-text-page-ratio:0.5}") double minTextPageRatio
+    ) {
+        this.pdfDocumentLoader = pdfDocumentLoader;
+        this.samplePages = Math.max(1, samplePages);
+        this.minCharsPerPage = Math.max(1, minCharsPerPage);
+        this.minTextPageRatio = minTextPageRatio;
+    }
+
+    /**
+     * 스크래치 파일로 받아 둔 PDF의 메타데이터를 계산합니다.
+     *
+     * @param file 원본 PDF 스크래치 파일
+     * @throws IOException PDF가 아니거나 손상/암호화되어 열 수 없는 경우
+     */
+    public PdfMetadata inspect(Path file) throws IOException {
+        try (PDDocument document = pdfDocumentLoader.load(file)) {
+            int pageCount = document.getNumberOfPages();
+            if (pageCount == 0) {
+                return new PdfMetadata(0, 0, false, 0);
+            }
+
+            int sampled = Math.min(samplePages, pageCount);
+            int textPages = 0;
+            long sentenceMarks = 0;
+            PDFTextStripper stripper = new PDFTextStripper();
+            for (int i = 0; i < sampled; i++) {
+                // 첫 페이지부터 마지막 페이지까지 고르게 분포하도록 샘플링합니다.
+                int pageNumber = 1 + (int) ((long) i * pageCount / sampled);
+                stripper.setStartPage(pageNumber);
+                stripper.setEndPage(pageNumber);
+                String text = stripper.getText(document);
+
+                if (countNonWhitespace(text) >= minCharsPerPage) {
+                    textPages++;
+                }
+                sentenceMarks += countSentenceMarks(text);
+            }
+
+            boolean hasTextLayer = textPages > 0 && textPages >= Math.ceil(sampled * minTextPageRatio);
+            int estimatedSentences = (int) Math.min(Integer.MAX_VALUE, Math.round((double) sentenceMarks * pageCount / sampled));
+            log.debug("PDF metadata inspected. pages={}, sampled={}, textPages={}, estimatedSentences={}",
+                    pageCount, sampled, textPages, estimatedSentences);
+            return new PdfMetadata(pageCount, sampled, hasTextLayer, estimatedSentences);
+        }
+    }
+
+    private int countNonWhitespace(String text) {
+        int count = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // 문장 종결 부호 뒤에 공백(또는 텍스트 끝)이 오는 경우만 셉니다. 소수점, 약어 일부는 걸러집니다.
+    private int countSentenceMarks(String text) {
+        int count = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if ((c == '.' || c == '!' || c == '?')
+                    && (i + 1 == text.length() || Character.isWhitespace(text.charAt(i + 1)))) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,21 @@
+package swyp.paperdot.document.pdf;
+
+/**
+ * PDF 한 페이지에서 추출된 텍스트입니다.
+ *
+ * @param pageNumber 1부터 시작하는 페이지 번호
+ * @param text       해당 페이지에서 추출된 텍스트 (PDFTextStripper 출력 그대로)
+ * @param glyphBoxes text의 각 문자에 대응하는 글리프 영역. 문자 i의 영역은 [4i, 4i+4) 구간의
+ *                   (x0, y0, x1, y1)이며, 줄바꿈·단어 구분자처럼 글리프가 없는 문자는 NaN입니다.
+ *                   위치 정보 없이 만들어진 경우 null입니다.
+ */
+public record PdfPageText(int pageNumber, String text, float[] glyphBoxes) {
+
+    public PdfPageText(int pageNumber, String text) {
+        this(pageNumber, text, null);
+    }
+
+    public boolean hasGlyphBoxes() {
+        return glyphBoxes != null;
+    }
+}
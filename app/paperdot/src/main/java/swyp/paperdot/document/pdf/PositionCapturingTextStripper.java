@@ -0,0 +1,113 @@
+package swyp.paperdot.document.pdf;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.text.TextPosition;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 텍스트를 추출하면서 각 출력 문자에 대응하는 TextPosition 영역을 함께 기록하는 PDFTextStripper입니다.
+ * 한 번의 파싱으로 페이지 텍스트와 글리프 좌표를 모두 얻기 위해 사용합니다.
+ * PDFTextStripper와 마찬가지로 스레드 안전하지 않으므로 작업자마다 새 인스턴스를 사용해야 합니다.
+ */
+public class PositionCapturingTextStripper extends PDFTextStripper {
+
+    private final StringBuilder text = new StringBuilder();
+    private float[] boxes = new float[4 * 4096];
+
+    // writeString(String, List<TextPosition>) 처리 중에만 설정됩니다.
+    private List<TextPosition> currentPositions;
+    private int currentLength;
+    private int currentOffset;
+
+    public PositionCapturingTextStripper() {
+        super();
+        // 문단 끝에 줄바꿈을 하나 더 넣어 빈 줄로 문단 경계를 표시합니다. (SentenceSegmenter의 문단 번호)
+        setParagraphEnd(getLineSeparator());
+    }
+
+    /**
+     * 지정한 페이지 하나의 텍스트와 글리프 영역을 추출합니다.
+     */
+    public PdfPageText extractPage(PDDocument document, int pageNumber) throws IOException {
+        setStartPage(pageNumber);
+        setEndPage(pageNumber);
+        text.setLength(0);
+        writeText(document, new CapturingWriter());
+        return new PdfPageText(pageNumber, text.toString(), Arrays.copyOf(boxes, text.length() * 4));
+    }
+
+    @Override
+    protected void writeString(String string, List<TextPosition> textPositions) throws IOException {
+        currentPositions = textPositions;
+        currentLength = string.length();
+        currentOffset = 0;
+        try {
+            super.writeString(string, textPositions);
+        } finally {
+            currentPositions = null;
+        }
+    }
+
+    private void appendChar(char c) {
+        int index = text.length();
+        text.append(c);
+        if (boxes.length < (index + 1) * 4) {
+            boxes = Arrays.copyOf(boxes, boxes.length * 2);
+        }
+
+        int base = index * 4;
+        if (currentPositions == null || currentPositions.isEmpty()) {
+            Arrays.fill(boxes, base, base + 4, Float.NaN);
+            return;
+        }
+
+        if (currentLength == currentPositions.size()) {
+            setBox(base, currentPositions.get(Math.min(currentOffset, currentPositions.size() - 1)));
+        } else {
+            // 합자/결합 문자 등으로 문자 수와 글리프 수가 다르면 단어 전체 영역을 사용합니다.
+            setBox(base, currentPositions.get(0));
+            TextPosition last = currentPositions.get(currentPositions.size() - 1);
+            boxes[base + 2] = last.getXDirAdj() + last.getWidthDirAdj();
+        }
+        currentOffset++;
+    }
+
+    private void setBox(int base, TextPosition position) {
+        float x = position.getXDirAdj();
+        float baseline = position.getYDirAdj();
+        boxes[base] = x;
+        boxes[base + 1] = baseline - position.getHeightDir();
+        boxes[base + 2] = x + position.getWidthDirAdj();
+        boxes[base + 3] = baseline;
+    }
+
+    private class CapturingWriter extends Writer {
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                appendChar(cbuf[i]);
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                appendChar(str.charAt(i));
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package swyp.paperdot.document.pdf;
+
+import swyp.paperdot.doc_units.docUnits.UnitBoundingBox;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 문장 분할기가 내보낸 원문 오프셋으로 문장이 위치한 페이지와 줄 단위 영역을 계산합니다.
+ * 오프셋은 addPage로 전달된 페이지 텍스트를 순서대로 이어 붙인 기준이며, 범위 안의 글리프 좌표를 줄 단위로 합칩니다.
+ *
+ * 문장은 반드시 오프셋 순서대로 전달되어야 하며, 한 문서 처리 동안에만 사용하는 상태 객체입니다(스레드 안전하지 않음).
+ */
+public class SentenceLocator {
+
+    private final Deque<PageSpan> pages = new ArrayDeque<>();
+    private int nextPageStart;
+
+    public void addPage(PdfPageText page) {
+        pages.addLast(new PageSpan(page, nextPageStart));
+        nextPageStart += page.text().length();
+    }
+
+    /**
+     * @param sentence 정규화된 문장 텍스트
+     * @param start    원문에서 문장의 첫 글자 오프셋
+     * @param end      원문에서 문장의 마지막 글자 다음 오프셋
+     * @param paragraph 문장이 속한 문단 번호
+     */
+    public LocatedSentence locate(String sentence, int start, int end, int paragraph) {
+        // 이미 지나간 페이지는 더 이상 필요 없습니다.
+        while (pages.size() > 1 && pages.peekFirst().end() <= start) {
+            pages.removeFirst();
+        }
+
+        Integer startPage = null;
+        List<UnitBoundingBox> boxes = new ArrayList<>();
+        float[] line = null;
+        int linePage = -1;
+
+        for (PageSpan span : pages) {
+            if (span.start() >= end) {
+                break;
+            }
+            PdfPageText page = span.page();
+            if (span.end() <= start) {
+                continue;
+            }
+            if (startPage == null) {
+                startPage = page.pageNumber();
+            }
+            if (!page.hasGlyphBoxes()) {
+                continue;
+            }
+
+            String text = page.text();
+            float[] glyphs = page.glyphBoxes();
+            int from = Math.max(start, span.start()) - span.start();
+            int to = Math.min(end, span.end()) - span.start();
+            for (int i = from; i < to; i++) {
+                int base = i * 4;
+                if (Character.isWhitespace(text.charAt(i)) || Float.isNaN(glyphs[base])) {
+                    continue;
+                }
+
+                if (line != null && linePage == page.pageNumber() && isSameLine(line, glyphs, base)) {
+                    line[0] = Math.min(line[0], glyphs[base]);
+                    line[1] = Math.min(line[1], glyphs[base + 1]);
+                    line[2] = Math.max(line[2], glyphs[base + 2]);
+                    line[3] = Math.max(line[3], glyphs[base + 3]);
+                } else {
+                    if (line != null) {
+                        boxes.add(toBox(linePage, line));
+                    }
+                    line = new float[]{glyphs[base], glyphs[base + 1], glyphs[base + 2], glyphs[base + 3]};
+                    linePage = page.pageNumber();
+                }
+            }
+        }
+        if (line != null) {
+            boxes.add(toBox(linePage, line));
+        }
+        return new LocatedSentence(sentence, startPage, boxes, paragraph);
+    }
+
+    private boolean isSameLine(float[] line, float[] glyphs, int base) {
+        float height = Math.max(1f, line[3] - line[1]);
+        return Math.abs(line[3] - glyphs[base + 3]) <= height * 0.5f && glyphs[base] >= line[0];
+    }
+
+    private UnitBoundingBox toBox(int page, float[] line) {
+        return new UnitBoundingBox(page, round(line[0]), round(line[1]), round(line[2]), round(line[3]));
+    }
+
+    private float round(float value) {
+        return Math.round(value * 10f) / 10f;
+    }
+
+    private record PageSpan(PdfPageText page, int start) {
+
+        int end() {
+            return start + page.text().length();
+        }
+    }
+}
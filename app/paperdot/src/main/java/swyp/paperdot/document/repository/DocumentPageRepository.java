@@ -0,0 +1,33 @@
+package swyp.paperdot.document.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import swyp.paperdot.document.domain.DocumentPage;
+
+import java.util.List;
+
+public interface DocumentPageRepository extends JpaRepository<DocumentPage, Long> {
+
+    /**
+     * 특정 문서의 저장된 페이지 중 [fromPage, toPage] 구간을 페이지 순서대로 조회합니다.
+     *
+     * @param documentId 문서 ID
+     * @param fromPage   시작 페이지 번호 (포함)
+     * @param toPage     끝 페이지 번호 (포함)
+     * @return 페이지 번호 오름차순으로 정렬된 페이지 목록
+     */
+    List<DocumentPage> findByDocumentIdAndPageNumberBetweenOrderByPageNumberAsc(Long documentId, int fromPage, int toPage);
+
+    long countByDocumentId(Long documentId);
+
+    /**
+     * 특정 문서의 저장된 페이지 텍스트를 모두 삭제합니다.
+     *
+     * @param documentId 문서 ID
+     */
+    @Modifying
+    @Query("DELETE FROM DocumentPage p WHERE p.documentId = :documentId")
+    void deleteByDocumentId(@Param("documentId") Long documentId);
+}
@@ -0,0 +1,11 @@
+package swyp.paperdot.document.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import swyp.paperdot.document.domain.DocumentPipelineReport;
+
+import java.util.Optional;
+
+public interface DocumentPipelineReportRepository extends JpaRepository<DocumentPipelineReport, Long> {
+
+    Optional<DocumentPipelineReport> findByDocumentId(Long documentId);
+}
@@ -0,0 +1,264 @@
+package swyp.paperdot.document.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import swyp.paperdot.doc_units.docUnits.docUnitsEntity;
+import swyp.paperdot.translator.TranslationBatchBudget;
+import swyp.paperdot.translator.TranslationCoalescer;
+import swyp.paperdot.translator.TranslationRequest;
+import swyp.paperdot.translator.TranslationResult;
+import swyp.paperdot.translator.exception.TranslationException;
+import swyp.paperdot.translator.exception.TranslationParseException;
+import swyp.paperdot.translator.exception.TranslationSizeMismatchException;
+import swyp.paperdot.translator.exception.TranslationTruncatedException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 번역 배치 하나를 실패에 강하게 번역합니다.
+ *
+ * - 일시적 오류(타임아웃, 5xx, 429 등): 지수 백오프 + 지터로 같은 배치를 max-attempts까지 다시 보냅니다.
+ * - 응답에서 일부 문장만 빠진 경우: 받은 번역은 그대로 쓰고, 빠진 문장만 모아 다시 번역합니다(재귀).
+ * - 한 문장도 받지 못함, JSON 파싱 실패, 응답 잘림: 배치를 반으로 나눠 각각 다시 번역합니다(재귀, 두 절반은 동시에).
+ *   문장 하나까지 나눠도 실패하면 그 문장만 실패로 남깁니다.
+ * - 그 밖의 오류(인증 실패 등 4xx): 다시 보내도 같은 결과이므로 배치 전체를 실패로 남깁니다.
+ *
+ * 번역은 TranslationCoalescer를 거쳐 TranslatorPort(translation.backend)로 보냅니다. 작은 배치는 다른 문서의 배치와 합쳐질 수 있습니다.
+ * 재시도 대기를 포함한 모든 단계를 future로 이어 붙이므로 응답이나 백오프를 기다리는 동안 스레드를 붙잡지 않습니다.
+ * 백엔드가 문장별 번역을 먼저 알리면(스트리밍) onTranslated로 전달합니다. 이렇게 먼저 알린 번역도 이후 재시도·분할로
+ * 바뀔 수 있으므로, 최종 결과는 future의 값을 기준으로 합니다.
+ */
+@Slf4j
+@Component
+public class BatchTranslator {
+
+    private final TranslationCoalescer translationCoalescer;
+    private final TranslationBatchBudget translationBatchBudget;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    public BatchTranslator(
+            TranslationCoalescer translationCoalescer,
+            TranslationBatchBudget translationBatchBudget,
+            @Value("${translation.retry.max-attempts:3}") int maxAttempts,
+            @Value("${translation.retry.initial-backoff-ms:1000}") long initialBackoffMillis,
+            @Value("${translation.retry.max-backoff-ms:20000}") long maxBackoffMillis
+    ) {
+        this.translationCoalescer = translationCoalescer;
+        this.translationBatchBudget = translationBatchBudget;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMillis = Math.max(1, initialBackoffMillis);
+        this.maxBackoffMillis = Math.max(this.initialBackoffMillis, maxBackoffMillis);
+    }
+
+    /**
+     * 문장 하나의 번역문과 그 번역을 실제로 만든 모델입니다. 재시도·분할로 나뉜 요청은 서로 다른 모델이 응답했을 수 있습니다.
+     */
+    public record TranslatedText(String text, String model) {
+    }
+
+    private enum FailureKind {
+        TRANSIENT,
+        SPLITTABLE,
+        PERMANENT
+    }
+
+    /**
+     * @param estimatedTokens 배치 전체의 예상 출력 토큰 수 (배치 토큰 예산 조정에 사용)
+     * @return 입력과 같은 순서·개수의 번역 목록. 번역하지 못한 문장 자리는 null입니다. 예외로 완료되지 않습니다.
+     */
+    public CompletableFuture<List<TranslatedText>> translate(Long documentId, List<docUnitsEntity> units, String targetLang, boolean paragraphMode,
+                                                     int estimatedTokens, DocumentTranslationStats stats,
+                                                     BiConsumer<docUnitsEntity, String> onTranslated) {
+        return callWithRetry(documentId, units, targetLang, paragraphMode, estimatedTokens, stats, onTranslated, 1)
+                .thenCompose(translated -> requeueMissing(documentId, units, translated, targetLang, paragraphMode,
+                        estimatedTokens, stats, onTranslated))
+                .exceptionallyCompose(error -> recover(documentId, units, targetLang, paragraphMode, estimatedTokens, stats,
+                        onTranslated, unwrap(error)));
+    }
+
+    private CompletableFuture<List<TranslatedText>> recover(Long documentId, List<docUnitsEntity> units, String targetLang, boolean paragraphMode,
+                                                    int estimatedTokens, DocumentTranslationStats stats,
+                                                    BiConsumer<docUnitsEntity, String> onTranslated, Throwable e) {
+        if (classify(e) != FailureKind.SPLITTABLE) {
+            log.error("documentId {} - {} units failed after retries", documentId, units.size(), e);
+            stats.addFailedUnits(units.size());
+            return CompletableFuture.completedFuture(new ArrayList<>(Collections.nCopies(units.size(), (TranslatedText) null)));
+        }
+        if (units.size() == 1) {
+            log.warn("documentId {} - unit {} could not be translated: {}", documentId, units.get(0).getOrderInDoc(), e.getMessage());
+            stats.addFailedUnits(1);
+            return CompletableFuture.completedFuture(new ArrayList<>(Collections.nCopies(1, (TranslatedText) null)));
+        }
+
+        stats.addBisection();
+        int mid = units.size() / 2;
+        log.info("documentId {} - splitting batch of {} units after {}", documentId, units.size(), e.getClass().getSimpleName());
+        int leftTokens = (int) ((long) estimatedTokens * mid / units.size());
+        CompletableFuture<List<TranslatedText>> left = translate(documentId, units.subList(0, mid), targetLang, paragraphMode,
+                leftTokens, stats, onTranslated);
+        CompletableFuture<List<TranslatedText>> right = translate(documentId, units.subList(mid, units.size()), targetLang, paragraphMode,
+                estimatedTokens - leftTokens, stats, onTranslated);
+        return left.thenCombine(right, (leftResult, rightResult) -> {
+            List<TranslatedText> result = new ArrayList<>(units.size());
+            result.addAll(leftResult);
+            result.addAll(rightResult);
+            return result;
+        });
+    }
+
+    // 응답에서 빠진 문장만 모아 다시 번역하고 그 결과를 제자리에 채웁니다.
+    // callWithRetry는 한 문장 이상 받은 경우에만 성공하므로 다시 보내는 배치는 항상 더 작습니다.
+    private CompletableFuture<List<TranslatedText>> requeueMissing(Long documentId, List<docUnitsEntity> units, List<TranslatedText> translated,
+                                                           String targetLang, boolean paragraphMode, int estimatedTokens,
+                                                           DocumentTranslationStats stats, BiConsumer<docUnitsEntity, String> onTranslated) {
+        List<Integer> missingPositions = new ArrayList<>();
+        for (int i = 0; i < translated.size(); i++) {
+            if (translated.get(i) == null) {
+                missingPositions.add(i);
+            }
+        }
+        if (missingPositions.isEmpty()) {
+            return CompletableFuture.completedFuture(translated);
+        }
+
+        stats.addRequeuedUnits(missingPositions.size());
+        log.info("documentId {} - re-queueing {} of {} units missing from the response", documentId, missingPositions.size(), units.size());
+        List<docUnitsEntity> missingUnits = missingPositions.stream().map(units::get).collect(Collectors.toList());
+        int missingTokens = (int) ((long) estimatedTokens * missingUnits.size() / units.size());
+        return translate(documentId, missingUnits, targetLang, paragraphMode, missingTokens, stats, onTranslated)
+                .thenApply(retried -> {
+                    for (int i = 0; i < missingPositions.size(); i++) {
+                        translated.set(missingPositions.get(i), retried.get(i));
+                    }
+                    return translated;
+                });
+    }
+
+    private CompletableFuture<List<TranslatedText>> callWithRetry(Long documentId, List<docUnitsEntity> units, String targetLang, boolean paragraphMode,
+                                                          int estimatedTokens, DocumentTranslationStats stats,
+                                                          BiConsumer<docUnitsEntity, String> onTranslated, int attempt) {
+        long startedAt = System.nanoTime();
+        return call(units, targetLang, paragraphMode, onTranslated)
+                .handle((result, error) -> {
+                    Throwable failure = error != null ? unwrap(error) : null;
+                    if (failure == null) {
+                        long accepted = result.translations().stream().filter(Objects::nonNull).count();
+                        if (accepted > 0) {
+                            // 일부만 받은 응답은 배치가 너무 크다는 신호이므로 문장 수 불일치로 기록해 예산을 줄입니다.
+                            translationBatchBudget.record(estimatedTokens, result.latencyMillis(), accepted == units.size()
+                                    ? TranslationBatchBudget.Outcome.SUCCESS
+                                    : TranslationBatchBudget.Outcome.SIZE_MISMATCH);
+                            return CompletableFuture.completedFuture(withModel(result));
+                        }
+                        failure = new TranslationSizeMismatchException("no translation accepted from response: expected=" + units.size());
+                    }
+
+                    translationBatchBudget.record(estimatedTokens, elapsedMillis(startedAt), outcomeOf(failure));
+                    if (classify(failure) != FailureKind.TRANSIENT || attempt >= maxAttempts) {
+                        return CompletableFuture.<List<TranslatedText>>failedFuture(failure);
+                    }
+                    long backoff = backoffMillis(attempt);
+                    stats.addRetry();
+                    log.warn("documentId {} - transient translation failure (attempt {}/{}), retrying in {} ms: {}",
+                            documentId, attempt, maxAttempts, backoff, failure.getMessage());
+                    return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(backoff, TimeUnit.MILLISECONDS))
+                            .thenCompose(ignored -> callWithRetry(documentId, units, targetLang, paragraphMode, estimatedTokens,
+                                    stats, onTranslated, attempt + 1));
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<TranslationResult> call(List<docUnitsEntity> units, String targetLang, boolean paragraphMode,
+                                                      BiConsumer<docUnitsEntity, String> onTranslated) {
+        BiConsumer<Integer, String> listener = (index, translated) -> onTranslated.accept(units.get(index), translated);
+        TranslationRequest request = paragraphMode
+                ? TranslationRequest.paragraphs(groupByParagraph(units), targetLang, listener)
+                : TranslationRequest.sentences(units.stream().map(docUnitsEntity::getSourceText).collect(Collectors.toList()),
+                        targetLang, listener);
+        return translationCoalescer.translate(request);
+    }
+
+    private List<TranslatedText> withModel(TranslationResult result) {
+        List<TranslatedText> translated = new ArrayList<>(result.translations().size());
+        for (String text : result.translations()) {
+            translated.add(text == null ? null : new TranslatedText(text, result.model()));
+        }
+        return translated;
+    }
+
+    // 연속된 문장을 문단 번호가 바뀔 때마다 끊어 문단별 문장 목록으로 묶습니다(문서 순서 유지).
+    private List<List<String>> groupByParagraph(List<docUnitsEntity> units) {
+        List<List<String>> paragraphs = new ArrayList<>();
+        List<String> current = null;
+        Integer currentParagraph = null;
+        for (docUnitsEntity docUnit : units) {
+            if (current == null || !Objects.equals(currentParagraph, docUnit.getParagraphIndex())) {
+                current = new ArrayList<>();
+                paragraphs.add(current);
+                currentParagraph = docUnit.getParagraphIndex();
+            }
+            current.add(docUnit.getSourceText());
+        }
+        return paragraphs;
+    }
+
+    private Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    private FailureKind classify(Throwable e) {
+        if (e instanceof TranslationSizeMismatchException
+                || e instanceof TranslationParseException
+                || e instanceof TranslationTruncatedException) {
+            return FailureKind.SPLITTABLE;
+        }
+        if (e instanceof TranslationException) {
+            Throwable cause = e.getCause();
+            if (cause instanceof HttpClientErrorException clientError) {
+                int status = clientError.getStatusCode().value();
+                return status == 408 || status == 409 || status == 429 ? FailureKind.TRANSIENT : FailureKind.PERMANENT;
+            }
+            // 연결 실패·타임아웃(ResourceAccessException), 5xx, 빈 응답
+            return FailureKind.TRANSIENT;
+        }
+        return FailureKind.PERMANENT;
+    }
+
+    private TranslationBatchBudget.Outcome outcomeOf(Throwable e) {
+        if (e instanceof TranslationTruncatedException) {
+            return TranslationBatchBudget.Outcome.TRUNCATED;
+        }
+        if (e instanceof TranslationSizeMismatchException) {
+            return TranslationBatchBudget.Outcome.SIZE_MISMATCH;
+        }
+        return TranslationBatchBudget.Outcome.ERROR;
+    }
+
+    // full jitter: 0 ~ min(max, initial * 2^(attempt-1)) 사이에서 고르게 고릅니다.
+    private long backoffMillis(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private long elapsedMillis(long startedAt) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    }
+}
@@ -38,10 +38,33 @@ public class DocumentDownloadService {
      */
     public InputStream downloadOriginalPdf(Long documentId) {
         // 1. DB에서 문서 파일 메타데이터 조회
+        DocumentFile documentFile = getOriginalFile(documentId);
+        return downloadOriginalPdf(documentFile);
+    }
+
+    /**
+     * 특정 문서의 원본 PDF 파일 메타데이터(DocumentFile)를 조회합니다.
+     * 체크섬 등 메타데이터만 필요할 때 스토리지 다운로드 없이 사용할 수 있습니다.
+     *
+     * @param documentId 조회할 문서의 ID
+     * @return 원본 PDF의 DocumentFile
+     * @throws DocumentNotFoundException 해당 ID의 문서 또는 원본 파일이 존재하지 않을 경우 (404 Not Found).
+     */
+    public DocumentFile getOriginalFile(Long documentId) {
         // 이전에 추가한 findByDocumentIdAndFileType 쿼리 메서드를 사용합니다.
-        DocumentFile documentFile = documentFileRepository.findByDocumentIdAndFileType(documentId, DocumentFileType.ORIGINAL_PDF)
+        return documentFileRepository.findByDocumentIdAndFileType(documentId, DocumentFileType.ORIGINAL_PDF)
                 .orElseThrow(() -> new DocumentNotFoundException("Original PDF file not found for documentId: " + documentId));
+    }
 
+    /**
+     * 이미 조회한 원본 파일 메타데이터를 사용해 스토리지에서 파일을 다운로드합니다.
+     *
+     * @param documentFile 다운로드할 원본 파일 메타데이터
+     * @return 원본 PDF 파일의 내용을 담은 InputStream. (close 책임은 호출자에게 있습니다)
+     * @throws InvalidStoragePathException    DB에 저장된 파일 경로가 형식에 맞지 않을 경우 (500 Internal Server Error).
+     * @throws StorageDownloadException       스토리지에서 파일을 다운로드하는 중 오류가 발생할 경우 (503 Service Unavailable).
+     */
+    public InputStream downloadOriginalPdf(DocumentFile documentFile) {
         // 2. storagePath에서 objectKey 파싱
         // 새로 추가한 NcpStoragePathParser를 사용하여 DB에 저장된 경로에서 실제 객체 키를 추출합니다.
         String storagePath = documentFile.getStoragePath();
@@ -2,32 +2,67 @@ package swyp.paperdot.document.service;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HexFormat;
 import java.util.Locale;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import swyp.paperdot.document.domain.DocumentFile;
 import swyp.paperdot.document.enums.DocumentFileType;
 import swyp.paperdot.document.exception.StorageUploadException;
+import swyp.paperdot.document.pdf.PdfDocumentLoader;
+import swyp.paperdot.document.pdf.PdfMetadata;
+import swyp.paperdot.document.pdf.PdfMetadataInspector;
 import swyp.paperdot.document.storage.ObjectStorageClient;
 
+@Slf4j
 @Service
 public class DocumentFileService {
 
     private static final String BASE_PREFIX = "documents";
 
     private final ObjectStorageClient objectStorageClient;
-
-    public DocumentFileService(ObjectStorageClient objectStorageClient) {
+    private final PdfDocumentLoader pdfDocumentLoader;
+    private final PdfMetadataInspector pdfMetadataInspector;
+    private final AsyncTaskExecutor pdfMetadataExecutor;
+    private final boolean rejectImageOnly;
+
+    public DocumentFileService(
+            ObjectStorageClient objectStorageClient,
+            PdfDocumentLoader pdfDocumentLoader,
+            PdfMetadataInspector pdfMetadataInspector,
+            @Qualifier("pdfMetadataExecutor") AsyncTaskExecutor pdfMetadataExecutor,
+            @Value("${pdf.metadata.reject-image-only:true}") boolean rejectImageOnly
+    ) {
         this.objectStorageClient = objectStorageClient;
+        this.pdfDocumentLoader = pdfDocumentLoader;
+        this.pdfMetadataInspector = pdfMetadataInspector;
+        this.pdfMetadataExecutor = pdfMetadataExecutor;
+        this.rejectImageOnly = rejectImageOnly;
     }
 
-    public DocumentFile uploadOriginalFile(Long ownerId, Long documentId, MultipartFile file) {
+    /**
+     * 원본 PDF를 스토리지에 업로드하면서, 동시에 메타데이터 패스(페이지 수, 텍스트 레이어, 추정 문장 수)를 수행합니다.
+     * 업로드 파일은 한 번만 읽어 스크래치 파일로 받아 두고, 그 과정에서 SHA-256 체크섬도 함께 계산합니다.
+     * PDF로 열 수 없거나 텍스트 레이어가 없는(스캔 이미지) 파일은 업로드된 객체를 삭제한 뒤 거절합니다.
+     *
+     * @throws IllegalArgumentException 파일이 없거나, 읽을 수 없는 PDF이거나, 텍스트 레이어가 없는 경우
+     * @throws StorageUploadException   스토리지 업로드에 실패한 경우
+     */
+    public OriginalFileUpload uploadOriginalFile(Long ownerId, Long documentId, MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("File is required");
         }
@@ -36,23 +71,74 @@ public class DocumentFileService {
         String contentType = normalizeContentType(file.getContentType());
         String key = buildObjectKey(ownerId, documentId, "original", originalFilename);
 
-        String checksum = sha256Hex(file);
-
+        Path scratchFile = null;
         try {
-            objectStorageClient.upload(key, file, contentType);
+            MessageDigest digest = sha256Digest();
+            try (InputStream inputStream = new DigestInputStream(file.getInputStream(), digest)) {
+                scratchFile = pdfDocumentLoader.spool(inputStream);
+            }
+            String checksum = HexFormat.of().formatHex(digest.digest());
+
+            // 메타데이터 패스는 전용 풀(pdfMetadataExecutor)에서, 스토리지 업로드는 요청 스레드에서 동시에 진행합니다.
+            // 전용 풀이 밀려 있으면 업로드 전에 요청 스레드에서 바로 검사합니다.
+            Path pdfFile = scratchFile;
+            CompletableFuture<PdfMetadata> metadataFuture = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return pdfMetadataInspector.inspect(pdfFile);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, pdfMetadataExecutor);
+
+            try {
+                objectStorageClient.upload(key, file, contentType);
+            } catch (IOException e) {
+                // 아직 시작하지 않은 검사는 건너뜁니다. 이미 실행 중인 검사는 중단되지 않지만 전용 풀 안에서만 끝까지 돕니다.
+                metadataFuture.cancel(false);
+                throw new StorageUploadException("Failed to upload file to object storage", e);
+            }
+
+            PdfMetadata metadata = awaitMetadata(metadataFuture, key);
+            if (rejectImageOnly && !metadata.hasTextLayer()) {
+                deleteQuietly(key);
+                throw new IllegalArgumentException("PDF has no text layer (image-only PDFs are not supported)");
+            }
+
+            DocumentFile documentFile = DocumentFile.create(
+                    DocumentFileType.ORIGINAL_PDF,
+                    objectStorageClient.getProvider(),
+                    originalFilename,
+                    buildStoragePath(objectStorageClient.getBucket(), key),
+                    contentType,
+                    file.getSize(),
+                    checksum
+            );
+            return new OriginalFileUpload(documentFile, metadata);
         } catch (IOException e) {
-            throw new StorageUploadException("Failed to upload file to object storage", e);
+            throw new IllegalStateException("Failed to read uploaded file", e);
+        } finally {
+            pdfDocumentLoader.deleteQuietly(scratchFile);
         }
+    }
 
-        return DocumentFile.create(
-                DocumentFileType.ORIGINAL_PDF,
-                objectStorageClient.getProvider(),
-                originalFilename,
-                buildStoragePath(objectStorageClient.getBucket(), key),
-                contentType,
-                file.getSize(),
-                checksum
-        );
+    private PdfMetadata awaitMetadata(CompletableFuture<PdfMetadata> metadataFuture, String key) {
+        try {
+            return metadataFuture.join();
+        } catch (CompletionException e) {
+            deleteQuietly(key);
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw new IllegalArgumentException("File is not a readable PDF", e.getCause().getCause());
+            }
+            throw e;
+        }
+    }
+
+    private void deleteQuietly(String key) {
+        try {
+            objectStorageClient.delete(key);
+        } catch (RuntimeException e) {
+            log.warn("Failed to delete rejected upload from object storage. key={}", key, e);
+        }
     }
 
     private String buildObjectKey(Long ownerId, Long documentId, String folder, String originalFilename) {
@@ -96,18 +182,10 @@ public class DocumentFileService {
         return filename.substring(lastDot);
     }
 
-    private String sha256Hex(MultipartFile file) {
+    private MessageDigest sha256Digest() {
         try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            try (InputStream inputStream = file.getInputStream()) {
-                byte[] buffer = new byte[8192];
-                int read;
-                while ((read = inputStream.read(buffer)) != -1) {
-                    digest.update(buffer, 0, read);
-                }
-            }
-            return HexFormat.of().formatHex(digest.digest());
-        } catch (NoSuchAlgorithmException | IOException e) {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
             throw new IllegalStateException("Failed to calculate checksum", e);
         }
     }
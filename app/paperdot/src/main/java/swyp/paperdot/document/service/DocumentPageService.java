@@ -0,0 +1,105 @@
+package swyp.paperdot.document.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import swyp.paperdot.document.domain.Document;
+import swyp.paperdot.document.domain.DocumentPage;
+import swyp.paperdot.document.exception.DocumentNotFoundException;
+import swyp.paperdot.document.pdf.PdfPageText;
+import swyp.paperdot.document.repository.DocumentPageRepository;
+import swyp.paperdot.document.repository.DocumentRepository;
+
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.function.Consumer;
+
+/**
+ * 문서의 페이지별 추출 텍스트(doc_pages)를 저장하고 다시 읽어오는 서비스입니다.
+ * 추출 완료 표시(Document.extractionCompletedAt)가 있는 문서만 저장된 페이지로 재개합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DocumentPageService {
+
+    static final int CHUNK_SIZE = 100; // 한번에 DB에 저장할 페이지 수
+    static final int READ_CHUNK_SIZE = 8; // 재개 시 한번에 DB에서 읽을 페이지 수
+
+    private final DocumentRepository documentRepository;
+    private final DocumentPageRepository documentPageRepository;
+
+    /**
+     * 추출이 완료된 문서라면 저장된 페이지 텍스트를 페이지 순서대로 pageConsumer에 전달합니다.
+     * 페이지 번호 구간(READ_CHUNK_SIZE개)씩 나눠 조회하므로 힙에는 한 구간 분량만 남고,
+     * consumer가 뒤 단계를 기다리는 동안 DB 트랜잭션이나 커서를 잡고 있지 않습니다.
+     * 첫 페이지를 전달하기 전에 저장된 페이지 수가 맞지 않으면 재추출하도록 empty를 돌려주고,
+     * 전달을 시작한 뒤 구간이 비어 있으면(동시 재추출 등) 이미 전달한 페이지를 되돌릴 수 없으므로 예외로 알립니다.
+     *
+     * @param documentId   문서 ID
+     * @param pageConsumer 페이지 순서(1..N)대로 호출되는 콜백
+     * @return 추출 완료 표시가 있고 페이지 수가 일치하면 전달한 페이지 수, 아니면 empty
+     * @throws IllegalStateException 페이지를 전달하던 중에 저장된 페이지가 사라진 경우
+     */
+    public OptionalInt readCompletedPages(Long documentId, Consumer<PdfPageText> pageConsumer) {
+        Document document = documentRepository.findById(documentId)
+                .orElseThrow(() -> new DocumentNotFoundException("Document not found. documentId: " + documentId));
+        if (!document.isExtractionCompleted()) {
+            return OptionalInt.empty();
+        }
+
+        long storedPages = documentPageRepository.countByDocumentId(documentId);
+        if (document.getTotalPages() == null || storedPages != document.getTotalPages()) {
+            log.warn("documentId {} - stored page count mismatch. expected={}, actual={}. re-extracting.",
+                    documentId, document.getTotalPages(), storedPages);
+            return OptionalInt.empty();
+        }
+
+        int totalPages = document.getTotalPages();
+        for (int from = 1; from <= totalPages; from += READ_CHUNK_SIZE) {
+            int to = Math.min(from + READ_CHUNK_SIZE - 1, totalPages);
+            List<DocumentPage> pages = documentPageRepository.findByDocumentIdAndPageNumberBetweenOrderByPageNumberAsc(documentId, from, to);
+            if (pages.size() != to - from + 1) {
+                throw new IllegalStateException("Stored pages changed while resuming. documentId: " + documentId
+                        + ", pages " + from + ".." + to + ", found " + pages.size());
+            }
+            pages.forEach(page -> pageConsumer.accept(page.toPageText()));
+        }
+        return OptionalInt.of(totalPages);
+    }
+
+    /**
+     * 페이지를 추출하면서 나눠 저장하기 위해 문서의 기존 추출 결과를 지웁니다.
+     * 이후 appendPages로 페이지를 저장하고, 모두 저장하면 completePages로 추출 완료 표시를 남깁니다.
+     * 중간에 실패하면 완료 표시가 없으므로 다음 실행에서 저장된 페이지를 쓰지 않고 다시 추출합니다.
+     */
+    @Transactional
+    public void beginPages(Long documentId) {
+        Document document = documentRepository.findById(documentId)
+                .orElseThrow(() -> new DocumentNotFoundException("Document not found. documentId: " + documentId));
+        document.clearExtraction();
+        documentPageRepository.deleteByDocumentId(documentId);
+    }
+
+    /**
+     * 추출된 페이지 일부(최대 CHUNK_SIZE개)를 저장합니다.
+     */
+    @Transactional
+    public void appendPages(Long documentId, List<PdfPageText> pages) {
+        documentPageRepository.saveAll(pages.stream()
+                .map(page -> DocumentPage.of(documentId, page))
+                .toList());
+    }
+
+    /**
+     * 모든 페이지를 저장한 뒤 문서에 추출 완료 표시를 남깁니다.
+     */
+    @Transactional
+    public void completePages(Long documentId, int totalPages) {
+        Document document = documentRepository.findById(documentId)
+                .orElseThrow(() -> new DocumentNotFoundException("Document not found. documentId: " + documentId));
+        document.markExtracted(totalPages);
+        log.info("documentId {} - stored {} extracted pages (doc_pages).", documentId, totalPages);
+    }
+}
@@ -0,0 +1,55 @@
+package swyp.paperdot.document.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import swyp.paperdot.document.domain.DocumentPipelineReport;
+import swyp.paperdot.document.dto.DocumentPipelineReportResponse;
+import swyp.paperdot.document.repository.DocumentPipelineReportRepository;
+
+import java.util.Optional;
+
+/**
+ * 문서별 파이프라인 집계(doc_pipeline_reports)를 기록하고 조회하는 서비스입니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class DocumentPipelineReportService {
+
+    private final DocumentPipelineReportRepository documentPipelineReportRepository;
+
+    @Transactional
+    public void recordBoilerplate(Long documentId, int removedLines, long removedTokens) {
+        findOrCreate(documentId).recordBoilerplate(removedLines, removedTokens);
+    }
+
+    @Transactional
+    public void recordTranslation(Long documentId, DocumentTranslationStats stats) {
+        DocumentPipelineReport report = findOrCreate(documentId);
+        report.recordTranslationRecovery(stats.retries(), stats.bisections(), stats.requeuedUnits(), stats.failedUnits());
+        report.recordTranslationMemory(stats.memoryLookups(), stats.memoryHits(), stats.memoryTokensSaved());
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<DocumentPipelineReportResponse> getReport(Long documentId) {
+        return documentPipelineReportRepository.findByDocumentId(documentId)
+                .map(report -> DocumentPipelineReportResponse.builder()
+                        .documentId(report.getDocumentId())
+                        .boilerplateRemovedLines(report.getBoilerplateRemovedLines())
+                        .boilerplateRemovedTokens(report.getBoilerplateRemovedTokens())
+                        .translationRetries(report.getTranslationRetries())
+                        .translationBisections(report.getTranslationBisections())
+                        .translationRequeuedUnits(report.getTranslationRequeuedUnits())
+                        .translationFailedUnits(report.getTranslationFailedUnits())
+                        .translationMemoryLookups(report.getTranslationMemoryLookups())
+                        .translationMemoryHits(report.getTranslationMemoryHits())
+                        .translationMemoryTokensSaved(report.getTranslationMemoryTokensSaved())
+                        .updatedAt(report.getUpdatedAt())
+                        .build());
+    }
+
+    private DocumentPipelineReport findOrCreate(Long documentId) {
+        return documentPipelineReportRepository.findByDocumentId(documentId)
+                .orElseGet(() -> documentPipelineReportRepository.save(DocumentPipelineReport.create(documentId)));
+    }
+}
@@ -1,24 +1,36 @@
 package swyp.paperdot.document.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
+import swyp.paperdot.doc_units.docUnits.UnitBoundingBox;
 import swyp.paperdot.doc_units.docUnits.docUnitsEntity;
 import swyp.paperdot.doc_units.docUnits.docUnitsRepository;
 import swyp.paperdot.doc_units.enums.UnitStatus;
 import swyp.paperdot.doc_units.enums.UnitType;
 import swyp.paperdot.doc_units.translation.DocUnitTranslation;
 import swyp.paperdot.doc_units.translation.DocUnitTranslationRepository;
-import swyp.paperdot.translator.OpenAiTranslator;
+import swyp.paperdot.document.exception.ExtractionBudgetExceededException;
+import swyp.paperdot.document.pdf.LocatedSentence;
+import swyp.paperdot.document.text.SentenceStream;
+import swyp.paperdot.translator.TokenEstimator;
+import swyp.paperdot.translator.TranslationBatchBudget;
+import swyp.paperdot.translator.memory.TranslationMemory;
 import swyp.paperdot.translator.dto.OpenAiTranslationDto.TranslationPair;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -26,42 +38,67 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class DocumentPipelineService {
 
-    private final PdfTextExtractService pdfTextExtractService;
+    private final DocumentSentenceReader documentSentenceReader;
     private final docUnitsRepository docUnitsRepository;
-    private final OpenAiTranslator openAiTranslator;
     private final DocUnitTranslationRepository docUnitTranslationRepository;
+    private final ObjectMapper objectMapper;
+    private final DocumentStatusService documentStatusService;
+    private final TokenEstimator tokenEstimator;
+    private final TranslationBatchBudget translationBatchBudget;
+    private final TranslationBatchDispatcher translationBatchDispatcher;
+    private final BatchTranslator batchTranslator;
+    private final DocumentPipelineReportService documentPipelineReportService;
+    private final TranslationMemory translationMemory;
 
     private static final String DEFAULT_SOURCE_LANG = "en";
     private static final String DEFAULT_TARGET_LANG = "ko";
+    private static final TypeReference<List<UnitBoundingBox>> BOXES_TYPE = new TypeReference<>() {};
 
-    @Value("${translation.batch-size:30}")
+    // 한 요청에 담는 문장 수 상한입니다. 실제 배치 크기는 토큰 예산으로 정해집니다.
+    @Value("${translation.batch-size:100}")
     private int batchSize;
 
+    @Value("${translation.stream.batch-linger-ms:200}")
+    private long batchLingerMillis;
+
+    // PARAGRAPH이면 같은 문단의 문장을 한 요청 단위로 묶어 보냅니다. doc_units는 어느 쪽이든 문장 단위로 저장됩니다.
+    @Value("${translation.unit-type:SENTENCE}")
+    private UnitType translationUnitType;
+
     public void processDocument(Long documentId, boolean overwrite) {
         log.info("===== Document Pipeline START for documentId: {} (Overwrite: {}) =====", documentId, overwrite);
 
         try {
-            // Step 1: Extract full text from PDF
-            log.info("[Step 1/3] documentId {} - PDF text extraction start", documentId);
-            String rawText = pdfTextExtractService.extractText(documentId);
-            log.info("[Step 1/3] documentId {} - PDF text extraction done. length={}", documentId, rawText.length());
+            documentStatusService.markTranslating(documentId);
 
-            // Step 2: Local sentence split
-            List<String> sentences = splitToSentences(rawText);
-            log.info("[Step 2/3] documentId {} - sentence split done. count={}", documentId, sentences.size());
-
-            // Step 3: Pre-save doc_units and translate in batches
-            log.info("[Step 3/3] documentId {} - pre-save doc_units and batch translation start. Overwrite={}", documentId, overwrite);
-            processTranslationInBatches(documentId, sentences, DEFAULT_TARGET_LANG, overwrite, batchSize);
-            log.info("[Step 3/3] documentId {} - pre-save doc_units and batch translation done", documentId);
+            // Step 1 + 2: Extract and split on a reader thread; sentences arrive through a bounded stream
+            // Step 3: Save doc_units and translate batch by batch as sentences arrive
+            log.info("[Step 3/3] documentId {} - streaming doc_units save and batch translation start. Overwrite={}", documentId, overwrite);
+            try (SentenceStream<LocatedSentence> sentences = documentSentenceReader.open(documentId)) {
+                processTranslationStream(documentId, sentences, DEFAULT_TARGET_LANG, overwrite, batchSize);
+            }
+            log.info("[Step 3/3] documentId {} - streaming doc_units save and batch translation done", documentId);
+            documentStatusService.markTranslated(documentId);
 
+        } catch (ExtractionBudgetExceededException e) {
+            log.error("===== Document Pipeline FAILED for documentId: {} (extraction budget exceeded: {}) =====", documentId, e.getLimit());
+            markFailedQuietly(documentId, "Extraction budget exceeded (" + e.getLimit() + "): " + e.getMessage());
         } catch (Exception e) {
             log.error("===== Document Pipeline FAILED for documentId: {} =====", documentId, e);
+            markFailedQuietly(documentId, e.getMessage());
         } finally {
             log.info("===== Document Pipeline END for documentId: {} =====", documentId);
         }
     }
 
+    private void markFailedQuietly(Long documentId, String reason) {
+        try {
+            documentStatusService.markFailed(documentId, reason);
+        } catch (Exception e) {
+            log.warn("documentId {} - failed to mark document as FAILED", documentId, e);
+        }
+    }
+
     @Transactional
     public void saveTranslationsAndDocUnits(Long documentId, List<TranslationPair> translationPairs, String targetLang, boolean overwrite) {
         log.info("saveTranslationsAndDocUnits start: documentId {}, pairs={}", documentId, translationPairs.size());
@@ -114,139 +151,291 @@ public class DocumentPipelineService {
         log.info("saveTranslationsAndDocUnits done: documentId {}", documentId);
     }
 
-    private List<String> splitToSentences(String rawText) {
-        if (rawText == null || rawText.isBlank()) {
-            return Collections.emptyList();
+    /**
+     * 스트림에서 문장을 배치 단위로 꺼내, 배치마다 doc_units를 저장하고 바로 번역합니다.
+     * 첫 배치는 문서 전체를 다 읽기 전에 전송되며, 배치가 다 차지 않았더라도 batch-linger-ms가 지나면 전송합니다.
+     *
+     * 배치는 문장 수가 아니라 예상 출력 토큰 수로 채웁니다(TranslationBatchBudget). 예산을 넘는 문장은 다음 배치로 넘기고,
+     * batch-size는 한 요청의 문장 수 상한으로만 사용합니다.
+     * 문단 모드에서는 배치 끝에 걸친 문단도 다음 배치로 넘겨, 한 문단이 두 요청으로 나뉘지 않게 합니다.
+     *
+     * 번역은 TranslationBatchDispatcher를 통해 문서당 최대 per-document-concurrency개 배치가 동시에 진행되며,
+     * 각 배치는 끝나는 대로 자기 doc_units의 결과와 상태만 저장하므로 완료 순서와 무관하게 상태가 맞습니다.
+     * doc_units 저장(순서 번호 부여)은 파이프라인 스레드에서 배치 순서대로 이뤄집니다.
+     */
+    private void processTranslationStream(
+            Long documentId,
+            SentenceStream<LocatedSentence> sentences,
+            String targetLang,
+            boolean overwrite,
+            int batchSize
+    ) {
+        if (overwrite) {
+            log.info("documentId {} - Overwrite enabled: deleting existing doc_units and doc_unit_translations.", documentId);
+            docUnitTranslationRepository.deleteByDocUnitDocumentId(documentId);
+            docUnitsRepository.deleteByDocumentId(documentId);
+        } else {
+            log.info("documentId {} - Overwrite disabled: keeping existing data.", documentId);
         }
 
-        String normalized = rawText.replace("\r\n", "\n").replace("\r", "\n");
-
-        // Merge hard line breaks inside paragraphs to avoid splitting mid-sentence.
-        StringBuilder merged = new StringBuilder(normalized.length());
-        String[] lines = normalized.split("\n");
-        for (int i = 0; i < lines.length; i++) {
-            String line = lines[i].trim();
-            if (line.isEmpty()) {
-                continue;
-            }
-
-            // Handle hyphenated line breaks: "exam-" + "ple" -> "example"
-            if (line.endsWith("-") && i + 1 < lines.length) {
-                String next = lines[i + 1].trim();
-                if (!next.isEmpty()) {
-                    merged.append(line, 0, line.length() - 1);
-                    continue;
+        boolean paragraphMode = translationUnitType == UnitType.PARAGRAPH;
+        int orderInDoc = 0;
+        int batchIndex = 0;
+        boolean streamEnded = false;
+        List<LocatedSentence> carry = Collections.emptyList();
+        DocumentTranslationStats translationStats = new DocumentTranslationStats();
+        try (TranslationBatchDispatcher.Dispatch dispatch = translationBatchDispatcher.open(documentId)) {
+            while (true) {
+                int tokenBudget = translationBatchBudget.current();
+                List<LocatedSentence> batch = new ArrayList<>(carry);
+                if (!streamEnded && carry.size() < batchSize && estimateOutputTokens(carry, carry.size()) < tokenBudget) {
+                    List<LocatedSentence> next = sentences.nextBatch(batchSize - carry.size(), batchLingerMillis);
+                    streamEnded = next.isEmpty();
+                    batch.addAll(next);
+                }
+                if (batch.isEmpty()) {
+                    break;
                 }
-            }
 
-            merged.append(line);
+                int cut = fitToBudget(batch, tokenBudget);
+                if (paragraphMode) {
+                    cut = closeParagraph(batch, cut, streamEnded);
+                }
+                carry = cut < batch.size() ? new ArrayList<>(batch.subList(cut, batch.size())) : Collections.emptyList();
+                batch = batch.subList(0, cut);
+
+                // Save this batch's doc_units with TRANSLATING status
+                List<docUnitsEntity> batchUnits = new ArrayList<>(batch.size());
+                for (LocatedSentence sentence : batch) {
+                    docUnitsEntity docUnit = docUnitsEntity.builder()
+                            .documentId(documentId)
+                            .sourceText(sentence.text())
+                            .status(UnitStatus.TRANSLATING)
+                            .unitType(UnitType.SENTENCE)
+                            .orderInDoc(orderInDoc++)
+                            .pageNumber(sentence.pageNumber())
+                            .paragraphIndex(sentence.paragraphIndex())
+                            .bboxes(writeBoxes(sentence.boxes()))
+                            .build();
+                    batchUnits.add(docUnit);
+                }
+                docUnitsRepository.saveAll(batchUnits);
 
-            // If line does not look like a sentence end, join with space.
-            char last = line.charAt(line.length() - 1);
-            if (last == '.' || last == '!' || last == '?' || last == '"' || last == '\'' || last == ')') {
-                merged.append(' ');
-            } else {
-                merged.append(' ');
+                int currentBatch = batchIndex;
+                int savedUnits = orderInDoc;
+                int estimatedTokens = estimateOutputTokens(batch, batch.size());
+                dispatch.submit(currentBatch, rangeOf(batch, savedUnits - batch.size()), () -> translateBatch(documentId, batchUnits,
+                        targetLang, currentBatch, savedUnits, paragraphMode, estimatedTokens, translationStats, dispatch.executor()));
+                batchIndex++;
             }
+        } finally {
+            documentPipelineReportService.recordTranslation(documentId, translationStats);
         }
 
-        String mergedText = merged.toString().replaceAll("\\s+", " ").trim();
-        if (mergedText.isEmpty()) {
-            return Collections.emptyList();
+        if (orderInDoc == 0) {
+            log.warn("documentId {} - no sentences after split.", documentId);
+        } else {
+            log.info("documentId {} - saved and translated {} doc_units in {} batches", documentId, orderInDoc, batchIndex);
         }
+    }
 
-        // Simple sentence split for English text.
-        List<String> sentences = new ArrayList<>();
-        String[] parts = mergedText.split("(?<=[.!?])\\s+");
-        for (String part : parts) {
-            String s = part.trim();
-            if (!s.isEmpty()) {
-                sentences.add(s);
+    /**
+     * 배치가 담은 orderInDoc 범위와 페이지 범위를 구합니다. 우선 번역 범위와 비교하는 데 씁니다.
+     */
+    private TranslationBatchDispatcher.BatchRange rangeOf(List<LocatedSentence> batch, int firstOrder) {
+        Integer firstPage = null;
+        Integer lastPage = null;
+        for (LocatedSentence sentence : batch) {
+            Integer page = sentence.pageNumber();
+            if (page == null) {
+                continue;
             }
+            firstPage = firstPage == null ? page : Math.min(firstPage, page);
+            lastPage = lastPage == null ? page : Math.max(lastPage, page);
         }
-        return sentences;
+        return new TranslationBatchDispatcher.BatchRange(firstOrder, firstOrder + batch.size() - 1, firstPage, lastPage);
     }
 
-    private void processTranslationInBatches(
-            Long documentId,
-            List<String> sentences,
-            String targetLang,
-            boolean overwrite,
-            int batchSize
-    ) {
-        if (CollectionUtils.isEmpty(sentences)) {
-            log.warn("documentId {} - no sentences after split. abort.", documentId);
-            return;
+    /**
+     * 앞에서부터 예상 출력 토큰이 예산 안에 드는 문장 수를 구합니다. 첫 문장은 예산을 넘더라도 항상 포함합니다.
+     */
+    private int fitToBudget(List<LocatedSentence> batch, int tokenBudget) {
+        int tokens = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            tokens += estimateOutputTokens(batch.get(i).text());
+            if (tokens > tokenBudget) {
+                return Math.max(1, i);
+            }
         }
+        return batch.size();
+    }
 
-        if (overwrite) {
-            log.info("documentId {} - Overwrite enabled: deleting existing doc_units and doc_unit_translations.", documentId);
-            docUnitTranslationRepository.deleteByDocUnitDocumentId(documentId);
-            docUnitsRepository.deleteByDocumentId(documentId);
-        } else {
-            log.info("documentId {} - Overwrite disabled: keeping existing data.", documentId);
+    /**
+     * 배치 마지막 문단이 다음 문장으로 이어질 수 있으면 그 문단을 떼어 내 다음 배치로 넘깁니다.
+     * 배치 전체가 한 문단이면(예산보다 긴 문단) 더 기다리지 않고 그대로 보냅니다.
+     *
+     * @param cut 예산 기준으로 정한 배치 길이
+     * @return 문단 경계에 맞춘 배치 길이
+     */
+    private int closeParagraph(List<LocatedSentence> batch, int cut, boolean streamEnded) {
+        int lastParagraph = batch.get(cut - 1).paragraphIndex();
+        boolean open = cut < batch.size()
+                ? batch.get(cut).paragraphIndex() == lastParagraph
+                : !streamEnded;
+        if (!open) {
+            return cut;
+        }
+        int start = cut - 1;
+        while (start > 0 && batch.get(start - 1).paragraphIndex() == lastParagraph) {
+            start--;
         }
+        return start == 0 ? cut : start;
+    }
 
-        // Pre-save doc_units with TRANSLATING status
-        List<docUnitsEntity> newDocUnits = new ArrayList<>(sentences.size());
-        int orderInDoc = 0;
-        for (String sentence : sentences) {
-            docUnitsEntity docUnit = docUnitsEntity.builder()
-                    .documentId(documentId)
-                    .sourceText(sentence)
-                    .status(UnitStatus.TRANSLATING)
-                    .unitType(UnitType.SENTENCE)
-                    .orderInDoc(orderInDoc++)
-                    .build();
-            newDocUnits.add(docUnit);
+    private int estimateOutputTokens(List<LocatedSentence> sentences, int count) {
+        int tokens = 0;
+        for (int i = 0; i < count; i++) {
+            tokens += estimateOutputTokens(sentences.get(i).text());
         }
-        docUnitsRepository.saveAll(newDocUnits);
-        log.info("documentId {} - saved {} doc_units", documentId, newDocUnits.size());
+        return tokens;
+    }
 
-        // Translate in batches and save immediately
-        int total = newDocUnits.size();
-        int start = 0;
-        int batchIndex = 0;
-        while (start < total) {
-            int end = Math.min(start + batchSize, total);
-            List<docUnitsEntity> batchUnits = newDocUnits.subList(start, end);
-            List<String> batchSentences = batchUnits.stream()
+    // 번역문 토큰 수 추정은 TranslationCoalescer와 같도록 TokenEstimator에 둡니다.
+    private int estimateOutputTokens(String sourceText) {
+        return tokenEstimator.estimateOutput(sourceText);
+    }
+
+    /**
+     * 배치 하나를 번역하고 결과를 저장합니다.
+     * 번역 메모리에 있는 문장은 그 번역을 바로 저장하고, 나머지만 BatchTranslator로 보냅니다(재시도·분할 포함).
+     * 스트리밍 응답에서는 번역 문장이 확정될 때마다 한 문장씩 바로 저장하므로, translation-pairs 조회에 문장이 연속적으로 나타납니다.
+     * 배치가 끝나면 최종 결과와 다르게 먼저 저장된 번역을 바로잡고, 끝내 번역하지 못한 문장만 FAILED로 남깁니다.
+     * 번역을 기다리는 동안 스레드를 붙잡지 않도록 future를 돌려주며, 결과 저장은 resultExecutor에서 이어서 실행합니다.
+     *
+     * @return 결과 저장까지 끝나면 완료되는 future. 예외로 완료되지 않습니다.
+     */
+    private CompletableFuture<Void> translateBatch(Long documentId, List<docUnitsEntity> batchUnits, String targetLang, int batchIndex,
+                                                  int savedUnits, boolean paragraphMode, int estimatedTokens,
+                                                  DocumentTranslationStats translationStats, Executor resultExecutor) {
+        // 이 배치에서 이미 저장한 번역 (docUnit id 기준). 분할된 요청의 스트리밍 알림이 여러 스레드에서 올 수 있습니다.
+        Map<Long, DocUnitTranslation> persisted = new ConcurrentHashMap<>();
+        CompletableFuture<Void> saved;
+        try {
+            List<String> sourceTexts = batchUnits.stream()
                     .map(docUnitsEntity::getSourceText)
                     .collect(Collectors.toList());
-
-            try {
-                List<String> translated = openAiTranslator.translateSentences(batchSentences, targetLang);
-                if (translated.size() != batchSentences.size()) {
-                    throw new IllegalStateException("translation size mismatch: expected=" + batchSentences.size() + ", actual=" + translated.size());
+            Map<Integer, String> remembered = translationMemory.lookup(sourceTexts, targetLang);
+
+            List<String> translated = new ArrayList<>(Collections.nCopies(batchUnits.size(), (String) null));
+            List<docUnitsEntity> missUnits = new ArrayList<>(batchUnits.size() - remembered.size());
+            List<Integer> missPositions = new ArrayList<>(batchUnits.size() - remembered.size());
+            long tokensSaved = 0;
+            int missTokens = 0;
+            for (int i = 0; i < batchUnits.size(); i++) {
+                String sourceText = sourceTexts.get(i);
+                String hit = remembered.get(i);
+                if (hit != null) {
+                    translated.set(i, hit);
+                    persistTranslation(batchUnits.get(i), hit, targetLang, persisted);
+                    tokensSaved += tokenEstimator.estimate(sourceText) + estimateOutputTokens(sourceText);
+                } else {
+                    missUnits.add(batchUnits.get(i));
+                    missPositions.add(i);
+                    missTokens += estimateOutputTokens(sourceText);
                 }
-
-                List<DocUnitTranslation> newTranslations = new ArrayList<>(batchUnits.size());
-                for (int i = 0; i < batchUnits.size(); i++) {
-                    docUnitsEntity docUnit = batchUnits.get(i);
-                    DocUnitTranslation translation = DocUnitTranslation.builder()
-                            .docUnit(docUnit)
-                            .targetLang(targetLang)
-                            .translatedText(translated.get(i))
-                            .build();
-                    newTranslations.add(translation);
-                    docUnit.updateStatus(UnitStatus.TRANSLATED);
+            }
+            translationStats.addMemoryLookups(batchUnits.size(), remembered.size(), tokensSaved);
+            translationMemory.recordTokensSaved(tokensSaved);
+
+            CompletableFuture<List<BatchTranslator.TranslatedText>> fresh = missUnits.isEmpty()
+                    ? CompletableFuture.completedFuture(Collections.emptyList())
+                    : batchTranslator.translate(documentId, missUnits, targetLang, paragraphMode, missTokens, translationStats,
+                            (docUnit, text) -> persistTranslation(docUnit, text, targetLang, persisted));
+            saved = fresh.thenAcceptAsync(freshTranslations -> {
+                List<String> freshTexts = new ArrayList<>(freshTranslations.size());
+                List<String> freshModels = new ArrayList<>(freshTranslations.size());
+                for (BatchTranslator.TranslatedText translation : freshTranslations) {
+                    freshTexts.add(translation == null ? null : translation.text());
+                    freshModels.add(translation == null ? null : translation.model());
                 }
+                if (!missUnits.isEmpty()) {
+                    // 대체 모델이 번역한 문장은 그 모델의 키로 저장합니다.
+                    translationMemory.store(missUnits.stream().map(docUnitsEntity::getSourceText).collect(Collectors.toList()),
+                            freshTexts, freshModels, targetLang);
+                }
+                for (int i = 0; i < missPositions.size(); i++) {
+                    translated.set(missPositions.get(i), freshTexts.get(i));
+                }
+                int failed = saveBatchResult(batchUnits, translated, targetLang, persisted);
+                log.info("documentId {} - batch {} saved (units so far: {}, estimatedTokens: {}, memoryHits: {}, failed: {})",
+                        documentId, batchIndex, savedUnits, estimatedTokens, remembered.size(), failed);
+            }, resultExecutor);
+        } catch (Exception e) {
+            saved = CompletableFuture.failedFuture(e);
+        }
 
-                docUnitTranslationRepository.saveAll(newTranslations);
-                docUnitsRepository.saveAll(batchUnits);
-                log.info("documentId {} - batch {} saved ({}/{})", documentId, batchIndex, end, total);
-
-            } catch (Exception e) {
-                log.error("documentId {} - batch {} translation failed. start={}, end={}", documentId, batchIndex, start, end, e);
-                for (docUnitsEntity docUnit : batchUnits) {
+        return saved.exceptionally(e -> {
+            log.error("documentId {} - batch {} translation failed. size={}", documentId, batchIndex, batchUnits.size(), e);
+            List<docUnitsEntity> failedUnits = new ArrayList<>(batchUnits.size());
+            for (docUnitsEntity docUnit : batchUnits) {
+                if (!persisted.containsKey(docUnit.getId())) {
                     docUnit.updateStatus(UnitStatus.FAILED);
+                    failedUnits.add(docUnit);
                 }
-                docUnitsRepository.saveAll(batchUnits);
             }
+            docUnitsRepository.saveAll(failedUnits);
+            return null;
+        });
+    }
 
-            start = end;
-            batchIndex++;
+    /**
+     * 배치의 최종 번역 결과를 저장합니다. 번역하지 못한 문장은 먼저 저장된 번역을 지우고 FAILED로 표시합니다.
+     *
+     * @return FAILED로 표시한 문장 수
+     */
+    private int saveBatchResult(List<docUnitsEntity> batchUnits, List<String> translated, String targetLang,
+                                Map<Long, DocUnitTranslation> persisted) {
+        int failed = 0;
+        for (int i = 0; i < batchUnits.size(); i++) {
+            docUnitsEntity docUnit = batchUnits.get(i);
+            String translatedText = translated.get(i);
+            if (translatedText != null) {
+                persistTranslation(docUnit, translatedText, targetLang, persisted);
+                continue;
+            }
+            // 스트리밍 중 먼저 저장했지만 최종적으로 번역하지 못한 문장은 저장한 번역을 지웁니다.
+            DocUnitTranslation stale = persisted.remove(docUnit.getId());
+            if (stale != null) {
+                docUnitTranslationRepository.delete(stale);
+            }
+            docUnit.updateStatus(UnitStatus.FAILED);
+            docUnitsRepository.save(docUnit);
+            failed++;
         }
+        return failed;
+    }
+
+    /**
+     * 문장 하나의 번역을 저장하고 TRANSLATED로 표시합니다. 이미 같은 번역이 저장되어 있으면 아무 일도 하지 않고,
+     * 다른 번역이 저장되어 있으면(스트리밍 후 재시도·분할로 결과가 바뀐 경우) 덮어씁니다.
+     */
+    private void persistTranslation(docUnitsEntity docUnit, String translatedText, String targetLang, Map<Long, DocUnitTranslation> persisted) {
+        DocUnitTranslation existing = persisted.get(docUnit.getId());
+        if (existing != null) {
+            if (!existing.getTranslatedText().equals(translatedText)) {
+                existing.updateTranslatedText(translatedText);
+                docUnitTranslationRepository.save(existing);
+            }
+            return;
+        }
+        DocUnitTranslation translation = docUnitTranslationRepository.save(DocUnitTranslation.builder()
+                .docUnit(docUnit)
+                .targetLang(targetLang)
+                .translatedText(translatedText)
+                .build());
+        persisted.put(docUnit.getId(), translation);
+        docUnit.updateStatus(UnitStatus.TRANSLATED);
+        docUnitsRepository.save(docUnit);
     }
 
     @org.springframework.scheduling.annotation.Async("documentPipelineExecutor")
@@ -256,16 +445,26 @@ public class DocumentPipelineService {
         log.info("[Async End] documentId {} pipeline end.", documentId);
     }
 
+    /**
+     * 문서의 원문-번역 쌍을 조회합니다.
+     *
+     * @param documentId 문서 ID
+     * @param pageNumber 지정하면 해당 페이지에서 시작하는 문장만 조회합니다. null이면 전체를 조회합니다.
+     */
     @Transactional(readOnly = true)
-    public List<swyp.paperdot.document.dto.DocumentTranslationPairResponse> getTranslationPairsForDocument(Long documentId) {
-        List<docUnitsEntity> docUnits = docUnitsRepository.findByDocumentIdOrderByOrderInDocAsc(documentId);
+    public List<swyp.paperdot.document.dto.DocumentTranslationPairResponse> getTranslationPairsForDocument(Long documentId, Integer pageNumber) {
+        List<docUnitsEntity> docUnits = pageNumber == null
+                ? docUnitsRepository.findByDocumentIdOrderByOrderInDocAsc(documentId)
+                : docUnitsRepository.findByDocumentIdAndPageNumberOrderByOrderInDocAsc(documentId, pageNumber);
 
         if (CollectionUtils.isEmpty(docUnits)) {
             log.warn("documentId {} - no doc_units found.", documentId);
             return Collections.emptyList();
         }
 
-        List<DocUnitTranslation> translations = docUnitTranslationRepository.findByDocUnitDocumentId(documentId);
+        List<DocUnitTranslation> translations = pageNumber == null
+                ? docUnitTranslationRepository.findByDocUnitDocumentId(documentId)
+                : docUnitTranslationRepository.findByDocUnitDocumentIdAndDocUnitPageNumber(documentId, pageNumber);
         Map<Long, String> translatedTextMap = translations.stream()
                 .collect(Collectors.toMap(
                         dt -> dt.getDocUnit().getId(),
@@ -277,10 +476,44 @@ public class DocumentPipelineService {
                         .docUnitId(docUnit.getId())
                         .sourceText(docUnit.getSourceText())
                         .translatedText(translatedTextMap.getOrDefault(docUnit.getId(), ""))
+                        .pageNumber(docUnit.getPageNumber())
+                        .boxes(readBoxes(docUnit.getBboxes()))
                         .build())
                 .collect(Collectors.toList());
     }
 
+    private String writeBoxes(List<UnitBoundingBox> boxes) {
+        if (CollectionUtils.isEmpty(boxes)) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(boxes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize bounding boxes", e);
+        }
+    }
+
+    private List<UnitBoundingBox> readBoxes(String bboxes) {
+        if (bboxes == null || bboxes.isBlank()) {
+            return Collections.emptyList();
+        }
+        try {
+            return objectMapper.readValue(bboxes, BOXES_TYPE);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to parse bounding boxes: {}", bboxes, e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 번역 중인 문서에서 주어진 범위를 먼저 번역하도록 합니다. 이미 저장된 문장은 다시 번역하지 않습니다.
+     *
+     * @return 문서가 번역 중이 아니면 false
+     */
+    public boolean prioritizeTranslation(Long documentId, TranslationBatchDispatcher.PriorityWindow window) {
+        return translationBatchDispatcher.prioritize(documentId, window);
+    }
+
     @Transactional(readOnly = true)
     public swyp.paperdot.document.dto.DocumentTranslationProgressResponse getTranslationProgress(Long documentId) {
         long total = docUnitsRepository.countByDocumentId(documentId);
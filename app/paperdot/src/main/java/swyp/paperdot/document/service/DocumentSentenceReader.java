@@ -0,0 +1,132 @@
+package swyp.paperdot.document.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import swyp.paperdot.document.pdf.BoilerplateFilter;
+import swyp.paperdot.document.pdf.LocatedSentence;
+import swyp.paperdot.document.pdf.PdfPageText;
+import swyp.paperdot.document.pdf.SentenceLocator;
+import swyp.paperdot.document.text.SentenceSegmenter;
+import swyp.paperdot.document.text.SentenceStream;
+import swyp.paperdot.translator.TokenEstimator;
+
+import java.util.function.Consumer;
+
+/**
+ * 문서의 페이지를 추출하면서 바로 문장으로 분할해 내보내는 생산 단계입니다.
+ * 추출·분할은 별도 리더 스레드에서 실행되고, 확정된 문장은 크기 제한 큐(SentenceStream)로 전달되므로
+ * 파이프라인 스레드는 문서 전체를 다 읽기 전에 첫 번역 배치를 보낼 수 있습니다.
+ */
+@Slf4j
+@Service
+public class DocumentSentenceReader {
+
+    private final PdfTextExtractService pdfTextExtractService;
+    private final SentenceSegmenter sentenceSegmenter;
+    private final DocumentPipelineReportService documentPipelineReportService;
+    private final MeterRegistry meterRegistry;
+    private final TokenEstimator tokenEstimator;
+    private final AsyncTaskExecutor documentReaderExecutor;
+
+    private final int queueCapacity;
+    private final boolean boilerplateEnabled;
+    private final int boilerplateLearnPages;
+    private final int boilerplateMinRepeats;
+    private final int boilerplateEdgeLines;
+
+    public DocumentSentenceReader(
+            PdfTextExtractService pdfTextExtractService,
+            SentenceSegmenter sentenceSegmenter,
+            DocumentPipelineReportService documentPipelineReportService,
+            MeterRegistry meterRegistry,
+            TokenEstimator tokenEstimator,
+            @Qualifier("documentReaderExecutor") AsyncTaskExecutor documentReaderExecutor,
+            @Value("${translation.stream.queue-capacity:512}") int queueCapacity,
+            @Value("${pdf.boilerplate.enabled:true}") boolean boilerplateEnabled,
+            @Value("${pdf.boilerplate.learn-pages:6}") int boilerplateLearnPages,
+            @Value("${pdf.boilerplate.min-repeats:3}") int boilerplateMinRepeats,
+            @Value("${pdf.boilerplate.edge-lines:2}") int boilerplateEdgeLines
+    ) {
+        this.pdfTextExtractService = pdfTextExtractService;
+        this.sentenceSegmenter = sentenceSegmenter;
+        this.documentPipelineReportService = documentPipelineReportService;
+        this.meterRegistry = meterRegistry;
+        this.tokenEstimator = tokenEstimator;
+        this.documentReaderExecutor = documentReaderExecutor;
+        this.queueCapacity = queueCapacity;
+        this.boilerplateEnabled = boilerplateEnabled;
+        this.boilerplateLearnPages = boilerplateLearnPages;
+        this.boilerplateMinRepeats = boilerplateMinRepeats;
+        this.boilerplateEdgeLines = boilerplateEdgeLines;
+    }
+
+    /**
+     * 리더 스레드에서 문서 읽기를 시작하고, 분할된 문장이 도착하는 스트림을 반환합니다.
+     * 추출 중 오류(예산 초과 등)는 스트림의 nextBatch 호출에서 다시 던져집니다.
+     * 반환된 스트림은 사용 후 반드시 close() 해야 합니다.
+     */
+    public SentenceStream<LocatedSentence> open(Long documentId) {
+        SentenceStream<LocatedSentence> stream = new SentenceStream<>(queueCapacity);
+        stream.attachProducer(documentReaderExecutor.submit(() -> {
+            try {
+                readSentences(documentId, stream::put);
+                stream.complete();
+            } catch (Throwable e) {
+                stream.fail(e);
+            }
+        }));
+        return stream;
+    }
+
+    /**
+     * 페이지 단위로 텍스트를 받아 바로 문장 분리를 수행합니다.
+     * 문장 분리 전에 페이지마다 반복되는 헤더/푸터와 페이지 번호 줄을 제거합니다(BoilerplateFilter).
+     * 페이지 경계에서 끝나지 않은 마지막 문장은 분할 세션이 이어 받아 다음 페이지와 함께 처리합니다.
+     * 분할기가 내보내는 원문 오프셋과 추출 시 함께 수집한 글리프 좌표로 각 문장의 시작 페이지와 줄 단위 영역도 계산합니다.
+     */
+    private void readSentences(Long documentId, Consumer<LocatedSentence> sentenceConsumer) {
+        log.info("[Step 1/3] documentId {} - PDF page extraction start", documentId);
+        SentenceLocator locator = new SentenceLocator();
+        int[] sentenceCount = {0};
+        SentenceSegmenter.Session session = sentenceSegmenter.open((start, end, text, paragraph) -> {
+            sentenceCount[0]++;
+            sentenceConsumer.accept(locator.locate(text.toString(), start, end, paragraph));
+        });
+
+        Consumer<PdfPageText> segmenter = page -> {
+            locator.addPage(page);
+            session.append(page.text());
+            // 페이지 경계는 줄 경계로 취급해 하이픈 병합 규칙이 그대로 적용되도록 합니다.
+            session.breakLine();
+        };
+
+        int totalPages;
+        if (boilerplateEnabled) {
+            BoilerplateFilter boilerplateFilter = new BoilerplateFilter(
+                    boilerplateLearnPages, boilerplateMinRepeats, boilerplateEdgeLines, tokenEstimator::estimate, segmenter);
+            totalPages = pdfTextExtractService.extractPages(documentId, boilerplateFilter);
+            boilerplateFilter.finish();
+            recordBoilerplate(documentId, boilerplateFilter);
+        } else {
+            totalPages = pdfTextExtractService.extractPages(documentId, segmenter);
+        }
+        session.finish();
+
+        log.info("[Step 2/3] documentId {} - PDF page extraction and sentence split done. pages={}, sentences={}",
+                documentId, totalPages, sentenceCount[0]);
+    }
+
+    private void recordBoilerplate(Long documentId, BoilerplateFilter boilerplateFilter) {
+        int removedLines = boilerplateFilter.removedLines();
+        long removedTokens = boilerplateFilter.removedTokens();
+        log.info("documentId {} - boilerplate removed. lines={}, estimatedTokens={}", documentId, removedLines, removedTokens);
+
+        meterRegistry.counter("paperdot.pipeline.boilerplate.removed.lines").increment(removedLines);
+        meterRegistry.counter("paperdot.pipeline.boilerplate.removed.tokens").increment(removedTokens);
+        documentPipelineReportService.recordBoilerplate(documentId, removedLines, removedTokens);
+    }
+}
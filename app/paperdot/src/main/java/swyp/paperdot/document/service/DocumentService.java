@@ -7,6 +7,7 @@ import swyp.paperdot.document.domain.Document;
 import swyp.paperdot.document.domain.DocumentFile;
 import swyp.paperdot.document.dto.DocumentResponse;
 import swyp.paperdot.document.dto.DocumentUploadRequest;
+import swyp.paperdot.document.pdf.PdfMetadata;
 import swyp.paperdot.document.repository.DocumentRepository;
 
 @Service
@@ -34,12 +35,15 @@ public class DocumentService {
 
         Document savedDocument = documentRepository.save(document);
 
-        DocumentFile documentFile = documentFileService.uploadOriginalFile(
+        OriginalFileUpload upload = documentFileService.uploadOriginalFile(
                 request.getOwnerId(),
                 savedDocument.getId(),
                 request.getFile()
         );
+        DocumentFile documentFile = upload.documentFile();
+        PdfMetadata metadata = upload.metadata();
 
+        savedDocument.recordMetadata(metadata.pageCount(), metadata.hasTextLayer(), metadata.estimatedSentenceCount());
         savedDocument.addFile(documentFile);
         Document updatedDocument = documentRepository.save(savedDocument);
 
@@ -51,7 +55,9 @@ public class DocumentService {
                 updatedDocument.getStatus(),
                 documentFile.getOriginalFilename(),
                 documentFile.getMimeType(),
-                documentFile.getFileSizeBytes()
+                documentFile.getFileSizeBytes(),
+                updatedDocument.getTotalPages(),
+                updatedDocument.getEstimatedSentenceCount()
         );
     }
 
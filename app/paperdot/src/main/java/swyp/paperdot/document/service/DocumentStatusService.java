@@ -0,0 +1,44 @@
+package swyp.paperdot.document.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import swyp.paperdot.document.domain.Document;
+import swyp.paperdot.document.exception.DocumentNotFoundException;
+import swyp.paperdot.document.repository.DocumentRepository;
+
+import java.util.function.Consumer;
+
+/**
+ * 파이프라인 진행에 따라 문서 상태(TRANSLATING / TRANSLATED / FAILED)를 각각 별도 트랜잭션으로 갱신합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DocumentStatusService {
+
+    private final DocumentRepository documentRepository;
+
+    @Transactional
+    public void markTranslating(Long documentId) {
+        update(documentId, Document::markTranslating);
+    }
+
+    @Transactional
+    public void markTranslated(Long documentId) {
+        update(documentId, Document::markTranslated);
+    }
+
+    @Transactional
+    public void markFailed(Long documentId, String reason) {
+        log.warn("documentId {} - marking document as FAILED. reason={}", documentId, reason);
+        update(documentId, document -> document.markFailed(reason));
+    }
+
+    private void update(Long documentId, Consumer<Document> change) {
+        Document document = documentRepository.findById(documentId)
+                .orElseThrow(() -> new DocumentNotFoundException("Document not found. documentId: " + documentId));
+        change.accept(document);
+    }
+}
@@ -0,0 +1,69 @@
+package swyp.paperdot.document.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 문서 하나를 번역하는 동안의 집계입니다(재시도·분할 횟수, 다시 보낸 문장 수, 번역 메모리 적중 등).
+ * 같은 문서의 배치가 병렬로 실행되므로 원자적으로 세며, 파이프라인이 끝나면 doc_pipeline_reports에 기록합니다.
+ */
+public class DocumentTranslationStats {
+
+    private final AtomicInteger retries = new AtomicInteger();
+    private final AtomicInteger bisections = new AtomicInteger();
+    private final AtomicInteger requeuedUnits = new AtomicInteger();
+    private final AtomicInteger failedUnits = new AtomicInteger();
+    private final AtomicInteger memoryLookups = new AtomicInteger();
+    private final AtomicInteger memoryHits = new AtomicInteger();
+    private final AtomicLong memoryTokensSaved = new AtomicLong();
+
+    void addRetry() {
+        retries.incrementAndGet();
+    }
+
+    void addBisection() {
+        bisections.incrementAndGet();
+    }
+
+    void addRequeuedUnits(int count) {
+        requeuedUnits.addAndGet(count);
+    }
+
+    void addFailedUnits(int count) {
+        failedUnits.addAndGet(count);
+    }
+
+    void addMemoryLookups(int lookups, int hits, long tokensSaved) {
+        memoryLookups.addAndGet(lookups);
+        memoryHits.addAndGet(hits);
+        memoryTokensSaved.addAndGet(tokensSaved);
+    }
+
+    public int retries() {
+        return retries.get();
+    }
+
+    public int bisections() {
+        return bisections.get();
+    }
+
+    public int requeuedUnits() {
+        return requeuedUnits.get();
+    }
+
+    public int failedUnits() {
+        return failedUnits.get();
+    }
+
+    public int memoryLookups() {
+        return memoryLookups.get();
+    }
+
+    public int memoryHits() {
+        return memoryHits.get();
+    }
+
+    public long memoryTokensSaved() {
+        return memoryTokensSaved.get();
+    }
+}
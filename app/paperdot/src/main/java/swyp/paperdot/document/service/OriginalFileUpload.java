@@ -0,0 +1,10 @@
+package swyp.paperdot.document.service;
+
+import swyp.paperdot.document.domain.DocumentFile;
+import swyp.paperdot.document.pdf.PdfMetadata;
+
+/**
+ * 원본 PDF 업로드 결과입니다. 스토리지 업로드와 동시에 수행한 메타데이터 패스 결과를 함께 담습니다.
+ */
+public record OriginalFileUpload(DocumentFile documentFile, PdfMetadata metadata) {
+}
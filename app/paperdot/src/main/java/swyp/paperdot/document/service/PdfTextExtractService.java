@@ -1,19 +1,29 @@
 package swyp.paperdot.document.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.pdfbox.Loader; // Loader 클래스 import
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import swyp.paperdot.document.cache.ExtractedTextCache;
+import swyp.paperdot.document.domain.DocumentFile;
 import swyp.paperdot.document.exception.DocumentNotFoundException;
+import swyp.paperdot.document.exception.ExtractionBudgetExceededException;
 import swyp.paperdot.document.exception.PdfParseException;
 import swyp.paperdot.document.exception.StorageDownloadException;
+import swyp.paperdot.document.pdf.ExtractionBudget;
+import swyp.paperdot.document.pdf.ParallelPdfTextExtractor;
+import swyp.paperdot.document.pdf.PdfDocumentLoader;
+import swyp.paperdot.document.pdf.PdfPageText;
 
 import java.io.IOException;
 import java.io.InputStream;
-import lombok.extern.slf4j.Slf4j;
-// Files, Path, StandardCopyOption은 더 이상 필요 없으므로 제거 (혹시 이전 코드에 있었다면)
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.function.Consumer;
 
 /**
  * PDF 파일에서 텍스트를 추출하는 비즈니스 로직을 처리하는 서비스 클래스입니다.
@@ -24,9 +34,24 @@ import lombok.extern.slf4j.Slf4j;
 public class PdfTextExtractService {
 
     private final DocumentDownloadService documentDownloadService;
+    private final ParallelPdfTextExtractor parallelPdfTextExtractor;
+    private final PdfDocumentLoader pdfDocumentLoader;
+    private final ExtractedTextCache extractedTextCache;
+    private final DocumentPageService documentPageService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${pdf.budget.max-wall-time-ms:300000}")
+    private long budgetMaxWallTimeMillis;
+
+    @Value("${pdf.budget.max-pages:2000}")
+    private int budgetMaxPages;
+
+    @Value("${pdf.budget.max-chars:5000000}")
+    private long budgetMaxChars;
 
     /**
      * 주어진 문서 ID에 해당하는 원본 PDF 파일에서 텍스트 전체를 추출하여 반환합니다.
+     * 내부적으로는 {@link #extractPages(Long, Consumer)}를 사용해 페이지 단위로 추출한 결과를 이어 붙입니다.
      *
      * @param documentId 텍스트를 추출할 문서의 ID
      * @return 추출된 텍스트(String)
@@ -35,21 +60,97 @@ public class PdfTextExtractService {
      * @throws PdfParseException          PDF 처리 중 오류가 발생할 경우
      */
     public String extractText(Long documentId) {
-        log.info("documentId {} - PDF 텍스트 추출 시작", documentId);
-        try (InputStream inputStream = documentDownloadService.downloadOriginalPdf(documentId)) {
-            log.info("documentId {} - PDF 파일 스트림 다운로드 완료.", documentId);
-            try (PDDocument document = Loader.loadPDF(inputStream.readAllBytes())) {
-                PDFTextStripper stripper = new PDFTextStripper();
-                String text = stripper.getText(document);
-                log.info("documentId {} - PDF 텍스트 추출 완료. 추출된 텍스트 길이: {}", documentId, text.length());
-                return text;
+        StringBuilder text = new StringBuilder();
+        extractPages(documentId, page -> text.append(page.text()));
+        return text.toString();
+    }
+
+    /**
+     * 원본 PDF에서 한 페이지씩 텍스트를 추출하여 추출되는 즉시 consumer에게 전달합니다.
+     * 문서 전체 텍스트를 하나의 String으로 만들지 않으므로, 호출자는 앞 페이지를 처리(문장 분리 등)하는 동안
+     * 뒤 페이지를 기다릴 수 있고 힙에는 한 페이지 분량의 텍스트만 유지됩니다.
+     * 이미 추출이 완료되어 doc_pages에 저장된 문서는 저장된 페이지로 바로 재개하고,
+     * 그 다음으로 원본 파일의 SHA-256 체크섬으로 추출 텍스트 캐시를 조회합니다.
+     * 어느 쪽이든 적중하면 스토리지 다운로드와 PDF 파싱을 모두 건너뜁니다.
+     *
+     * @param documentId   텍스트를 추출할 문서의 ID
+     * @param pageConsumer 페이지 순서(1..N)대로 호출되는 콜백
+     * @return 문서의 전체 페이지 수
+     * @throws DocumentNotFoundException  DB에 해당 문서 또는 원본 PDF 파일 정보가 없을 경우 (그대로 전파됨)
+     * @throws StorageDownloadException   스토리지에서 PDF 파일을 다운로드하는 데 실패할 경우 (그대로 전파됨)
+     * @throws PdfParseException          PDF 처리 중 오류가 발생할 경우
+     * @throws ExtractionBudgetExceededException 실행 시간, 페이지 수, 추출 글자 수 예산(pdf.budget.*)을 넘은 경우
+     */
+    public int extractPages(Long documentId, Consumer<PdfPageText> pageConsumer) {
+        log.info("documentId {} - PDF 페이지 단위 텍스트 추출 시작", documentId);
+        OptionalInt storedPages = documentPageService.readCompletedPages(documentId, pageConsumer);
+        if (storedPages.isPresent()) {
+            log.info("documentId {} - 저장된 페이지 텍스트(doc_pages)로 재개했습니다. 페이지 수: {}", documentId, storedPages.getAsInt());
+            return storedPages.getAsInt();
+        }
+
+        DocumentFile originalFile = documentDownloadService.getOriginalFile(documentId);
+        String checksum = originalFile.getChecksumSha256();
+
+        ExtractionBudget budget = new ExtractionBudget(budgetMaxWallTimeMillis, budgetMaxPages, budgetMaxChars);
+        Path pdfFile = null;
+        try (ExtractedTextCache.PageWriter cacheWriter = extractedTextCache.openWriter(checksum)) {
+            // doc_pages에는 페이지가 도착하는 대로 나눠 씁니다. 캐시 적중이든 새 추출이든 힙에는 저장 대기 중인 한 청크만 남습니다.
+            documentPageService.beginPages(documentId);
+            List<PdfPageText> pendingPages = new ArrayList<>(DocumentPageService.CHUNK_SIZE);
+            Consumer<PdfPageText> storingConsumer = page -> {
+                pendingPages.add(page);
+                if (pendingPages.size() >= DocumentPageService.CHUNK_SIZE) {
+                    appendPendingPages(documentId, pendingPages);
+                }
+                pageConsumer.accept(page);
+            };
+
+            OptionalInt cachedPages = extractedTextCache.read(checksum, storingConsumer);
+            if (cachedPages.isPresent()) {
+                log.info("documentId {} - 추출 텍스트 캐시 적중. checksum={}, 페이지 수: {}", documentId, checksum, cachedPages.getAsInt());
+                appendPendingPages(documentId, pendingPages);
+                documentPageService.completePages(documentId, cachedPages.getAsInt());
+                return cachedPages.getAsInt();
             }
+
+            // 원본을 byte[]로 올리지 않고 스크래치 파일로 받아 둔 뒤, 파일 기반 리더로 엽니다.
+            try (InputStream inputStream = documentDownloadService.downloadOriginalPdf(originalFile)) {
+                pdfFile = pdfDocumentLoader.spool(inputStream);
+            }
+            log.info("documentId {} - PDF 파일 스트림 다운로드 완료. size={}", documentId, Files.size(pdfFile));
+            long[] totalLength = {0};
+            // 페이지 범위를 청크로 나누어 병렬 추출하고, 결과는 페이지 순서대로 전달됩니다.
+            // 캐시에는 페이지가 도착하는 대로 이어 씁니다.
+            int totalPages = parallelPdfTextExtractor.extractPages(pdfDocumentLoader.opener(pdfFile), budget, page -> {
+                totalLength[0] += page.text().length();
+                cacheWriter.add(page);
+                storingConsumer.accept(page);
+            });
+            log.info("documentId {} - PDF 텍스트 추출 완료. 페이지 수: {}, 추출된 텍스트 길이: {}", documentId, totalPages, totalLength[0]);
+            appendPendingPages(documentId, pendingPages);
+            cacheWriter.commit();
+            documentPageService.completePages(documentId, totalPages);
+            return totalPages;
+        } catch (ExtractionBudgetExceededException e) {
+            log.warn("documentId {} - PDF 텍스트 추출 예산 초과({}): {}", documentId, e.getLimit(), e.getMessage());
+            meterRegistry.counter("paperdot.extract.budget.exceeded", "limit", e.getLimit().name()).increment();
+            throw e;
         } catch (DocumentNotFoundException | StorageDownloadException e) {
             log.error("documentId {} - PDF 텍스트 추출 중 문서 또는 스토리지 오류 발생: {}", documentId, e.getMessage(), e);
             throw e; // 호출자에게 예외 전파
         } catch (IOException e) {
             log.error("documentId {} - PDF 텍스트 추출 중 I/O 또는 PDF 파싱 오류 발생: {}", documentId, e.getMessage(), e);
             throw new PdfParseException("Failed to process PDF file for documentId: " + documentId, e);
+        } finally {
+            pdfDocumentLoader.deleteQuietly(pdfFile);
+        }
+    }
+
+    private void appendPendingPages(Long documentId, List<PdfPageText> pendingPages) {
+        if (!pendingPages.isEmpty()) {
+            documentPageService.appendPages(documentId, pendingPages);
+            pendingPages.clear();
         }
     }
 }
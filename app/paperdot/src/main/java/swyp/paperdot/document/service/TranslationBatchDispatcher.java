@@ -0,0 +1,229 @@
+package swyp.paperdot.document.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 한 문서의 번역 배치를 전용 풀(translationBatchExecutor)에서 병렬로 실행합니다.
+ * 문서마다 동시에 실행 중인 배치 수를 per-document-concurrency로 제한하고, 자리를 기다리는 배치는 문서별 대기열에 둡니다.
+ * 대기열이 max-pending-batches만큼 차면 제출하는 쪽(파이프라인 스레드)이 기다리므로 문서 읽기도 그만큼만 앞서 나갑니다.
+ * 배치 작업은 번역 요청을 맡기고 future를 돌려주며, 자리는 그 future가 끝날 때 반납됩니다.
+ * 따라서 배치 풀 스레드는 번역 응답을 기다리는 동안 붙잡혀 있지 않습니다.
+ *
+ * 대기열의 배치는 보통 배치 번호(orderInDoc) 순서로 실행합니다. 사용자가 보고 있는 페이지나 문장 범위를
+ * prioritize로 알려 주면 그 범위와 겹치는 배치를 먼저 실행하고, 범위의 배치가 모두 나가면 다시 순서대로 실행합니다.
+ */
+@Slf4j
+@Component
+public class TranslationBatchDispatcher {
+
+    private final AsyncTaskExecutor translationBatchExecutor;
+    private final int perDocumentConcurrency;
+    private final int maxPendingBatches;
+
+    // 진행 중인 문서별 배치 제출 창구 (우선순위 요청을 전달하기 위해 보관)
+    private final Map<Long, Dispatch> activeDispatches = new ConcurrentHashMap<>();
+
+    public TranslationBatchDispatcher(
+            @Qualifier("translationBatchExecutor") AsyncTaskExecutor translationBatchExecutor,
+            @Value("${translation.dispatch.per-document-concurrency:4}") int perDocumentConcurrency,
+            @Value("${translation.dispatch.max-pending-batches:256}") int maxPendingBatches
+    ) {
+        this.translationBatchExecutor = translationBatchExecutor;
+        this.perDocumentConcurrency = Math.max(1, perDocumentConcurrency);
+        this.maxPendingBatches = Math.max(1, maxPendingBatches);
+    }
+
+    /**
+     * 배치 하나가 담은 문장 범위입니다.
+     *
+     * @param firstOrder 첫 문장의 orderInDoc
+     * @param lastOrder  마지막 문장의 orderInDoc
+     * @param firstPage  문장들이 시작하는 가장 앞 페이지 (위치를 모르면 null)
+     * @param lastPage   문장들이 시작하는 가장 뒤 페이지 (위치를 모르면 null)
+     */
+    public record BatchRange(int firstOrder, int lastOrder, Integer firstPage, Integer lastPage) {
+    }
+
+    /**
+     * 먼저 번역할 범위입니다. 페이지 또는 orderInDoc 범위 중 하나이며, 양 끝을 포함합니다.
+     */
+    public record PriorityWindow(WindowType type, int from, int to) {
+
+        public enum WindowType {
+            PAGE,
+            ORDER
+        }
+
+        boolean overlaps(BatchRange range) {
+            if (type == WindowType.ORDER) {
+                return range.firstOrder() <= to && range.lastOrder() >= from;
+            }
+            return range.firstPage() != null && range.firstPage() <= to && range.lastPage() >= from;
+        }
+    }
+
+    /**
+     * 문서 하나의 배치 제출 창구를 엽니다. 사용 후 반드시 close()로 남은 배치가 끝날 때까지 기다려야 합니다.
+     */
+    public Dispatch open(Long documentId) {
+        Dispatch dispatch = new Dispatch(documentId, perDocumentConcurrency, maxPendingBatches);
+        activeDispatches.put(documentId, dispatch);
+        return dispatch;
+    }
+
+    /**
+     * 진행 중인 문서의 우선 번역 범위를 정합니다. 이전 범위는 대체됩니다.
+     *
+     * @return 문서가 번역 중이 아니면 false
+     */
+    public boolean prioritize(Long documentId, PriorityWindow window) {
+        Dispatch dispatch = activeDispatches.get(documentId);
+        if (dispatch == null) {
+            return false;
+        }
+        dispatch.prioritize(window);
+        return true;
+    }
+
+    /**
+     * 문서 하나의 진행 중인 배치를 추적합니다. 제출은 한 스레드(파이프라인 스레드)에서만 한다고 가정합니다.
+     */
+    public class Dispatch implements AutoCloseable {
+
+        private final Long documentId;
+        private final int concurrency;
+        private final int maxPending;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        private final NavigableMap<Integer, PendingBatch> pending = new TreeMap<>();
+        private int running;
+        private PriorityWindow window;
+
+        private record PendingBatch(int batchIndex, BatchRange range, Supplier<CompletableFuture<?>> task) {
+        }
+
+        private Dispatch(Long documentId, int concurrency, int maxPending) {
+            this.documentId = documentId;
+            this.concurrency = concurrency;
+            this.maxPending = maxPending;
+        }
+
+        /**
+         * 배치 작업을 대기열에 넣습니다. 대기열이 가득 차 있으면 자리가 날 때까지 기다립니다.
+         * 작업은 배치 풀에서 시작되며, 돌려준 future가 끝나야 배치가 끝난 것으로 봅니다.
+         * 작업 안의 예외는 작업이 직접 처리해야 하며(배치 단위 FAILED 표시 등), 여기서는 로그만 남깁니다.
+         */
+        public void submit(int batchIndex, BatchRange range, Supplier<CompletableFuture<?>> batch) {
+            lock.lock();
+            try {
+                while (pending.size() >= maxPending) {
+                    changed.await();
+                }
+                pending.put(batchIndex, new PendingBatch(batchIndex, range, batch));
+                startReady();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting to dispatch translation batch", e);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 배치 결과 저장처럼 번역 응답 뒤에 이어지는 작업을 실행할 풀(배치 풀)입니다.
+         */
+        public Executor executor() {
+            return translationBatchExecutor;
+        }
+
+        private void prioritize(PriorityWindow window) {
+            lock.lock();
+            try {
+                this.window = window;
+                log.info("documentId {} - translation priority set to {} {}..{} ({} batches pending)",
+                        documentId, window.type(), window.from(), window.to(), pending.size());
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // 자리가 있는 만큼 대기열에서 꺼내 실행합니다. lock을 잡은 상태에서 호출해야 합니다.
+        private void startReady() {
+            while (running < concurrency && !pending.isEmpty()) {
+                PendingBatch next = pickNext();
+                pending.remove(next.batchIndex());
+                running++;
+                start(next);
+            }
+        }
+
+        // 우선 범위와 겹치는 배치 중 가장 앞 배치, 없으면 가장 앞 배치
+        private PendingBatch pickNext() {
+            if (window != null) {
+                for (PendingBatch candidate : pending.values()) {
+                    if (window.overlaps(candidate.range())) {
+                        if (candidate.batchIndex() != pending.firstKey()) {
+                            log.debug("documentId {} - dispatching prioritized batch {} ahead of batch {}",
+                                    documentId, candidate.batchIndex(), pending.firstKey());
+                        }
+                        return candidate;
+                    }
+                }
+            }
+            return pending.firstEntry().getValue();
+        }
+
+        private void start(PendingBatch batch) {
+            CompletableFuture<?> future;
+            try {
+                future = CompletableFuture.supplyAsync(batch.task(), translationBatchExecutor)
+                        .thenCompose(task -> task.thenApply(ignored -> null));
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            future.whenComplete((ignored, error) -> {
+                if (error != null) {
+                    log.error("documentId {} - batch {} task failed unexpectedly", documentId, batch.batchIndex(), error);
+                }
+                lock.lock();
+                try {
+                    running--;
+                    startReady();
+                    changed.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            });
+        }
+
+        /**
+         * 제출한 배치가 모두 끝날 때까지 기다립니다. 중간에 스트림이 실패한 경우에도 이미 보낸 배치의 결과는 저장되도록 기다립니다.
+         */
+        @Override
+        public void close() {
+            lock.lock();
+            try {
+                while (running > 0 || !pending.isEmpty()) {
+                    changed.awaitUninterruptibly();
+                }
+            } finally {
+                lock.unlock();
+                activeDispatches.remove(documentId, this);
+            }
+        }
+    }
+}
@@ -20,6 +20,13 @@ public interface ObjectStorageClient {
      */
     InputStream download(String objectKey);
 
+    /**
+     * 스토리지에서 객체를 삭제합니다. 객체가 없어도 오류로 취급하지 않습니다.
+     *
+     * @param objectKey 삭제할 객체의 키
+     */
+    void delete(String objectKey);
+
     String getBucket();
 
     StorageProvider getProvider();
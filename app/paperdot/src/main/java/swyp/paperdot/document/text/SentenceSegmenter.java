@@ -0,0 +1,193 @@
+package swyp.paperdot.document.text;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 추출된 텍스트를 문장 단위로 나누는 단일 패스 분할기입니다.
+ *
+ * 줄바꿈 정규화(\r\n, \r → \n), 줄 끝 하이픈 병합("exam-" + "ple" → "example"), 공백 축약, 문장 경계 탐지를
+ * 문자 하나씩 한 번만 훑으면서 처리하고, 문장마다 원문 기준 오프셋과 정규화된 문장 텍스트를 sink에 전달합니다.
+ * 전체 텍스트의 정규화 사본이나 정규식 분할 결과 배열을 만들지 않으며, 문장 텍스트는 재사용 버퍼에 담겨 전달됩니다.
+ *
+ * 경계 규칙은 기존 정규식 구현과 같습니다: 공백 앞의 '.', '!', '?' 뒤에서 문장을 나눕니다.
+ * 문장 사이에 빈 줄이 있으면 새 문단으로 보고, 문장마다 0부터 시작하는 문단 번호를 함께 전달합니다.
+ * 이 컴포넌트 자체는 상태가 없으며, 분할 상태는 {@link #open(SentenceSink)}로 얻는 Session이 가집니다.
+ */
+@Component
+public class SentenceSegmenter {
+
+    /**
+     * 문장 하나가 확정될 때마다 호출되는 콜백입니다.
+     */
+    @FunctionalInterface
+    public interface SentenceSink {
+
+        /**
+         * @param start 원문에서 문장의 첫 글자 오프셋 (Session에 전달된 모든 텍스트를 이어 붙인 기준)
+         * @param end   원문에서 문장의 마지막 글자 다음 오프셋
+         * @param text  정규화된 문장 텍스트. 콜백이 끝나면 재사용되므로 보관하려면 toString()으로 복사해야 합니다.
+         * @param paragraph 문장이 속한 문단 번호 (세션 안에서 0부터 증가)
+         */
+        void accept(int start, int end, CharSequence text, int paragraph);
+    }
+
+    /**
+     * 텍스트 전체를 한 번에 분할합니다.
+     */
+    public void segment(CharSequence text, SentenceSink sink) {
+        Session session = open(sink);
+        session.append(text);
+        session.finish();
+    }
+
+    /**
+     * 여러 조각(페이지 등)으로 나뉘어 도착하는 텍스트를 이어서 분할하는 세션을 엽니다.
+     * 조각 경계에 걸친 문장은 다음 조각이 도착할 때 이어서 처리됩니다.
+     */
+    public Session open(SentenceSink sink) {
+        return new Session(sink);
+    }
+
+    /**
+     * 한 문서 분할 동안에만 사용하는 상태 객체입니다(스레드 안전하지 않음).
+     */
+    public static final class Session {
+
+        private final SentenceSink sink;
+        private final StringBuilder sentence = new StringBuilder(256);
+
+        private int offset;             // 지금까지 전달된 원문 글자 수
+        private int sentenceStart = -1; // 현재 문장의 첫 글자 오프셋
+        private int sentenceEnd;        // 현재 문장의 마지막 글자 다음 오프셋
+        private char lastContent;       // 마지막으로 버퍼에 들어간 공백이 아닌 글자
+        private boolean pendingSpace;   // 마지막 글자 이후 공백/줄바꿈이 있었는지
+        private boolean lineHasContent; // 현재 줄에 공백이 아닌 글자가 있었는지
+        private boolean hyphenAtLineEnd; // 이전 줄이 '-'로 끝나 다음 줄 내용에 따라 병합 여부가 결정되는 상태
+        private boolean previousWasCr;
+        private int paragraph;           // 현재 문장의 문단 번호
+        private boolean paragraphBreak;  // 이전 문장 이후 빈 줄이 있었는지
+        private boolean emittedAny;
+
+        private Session(SentenceSink sink) {
+            this.sink = sink;
+        }
+
+        /**
+         * 원문 조각을 이어서 분할합니다. 오프셋은 이전 조각들의 길이를 이어서 셉니다.
+         */
+        public void append(CharSequence text) {
+            int length = text.length();
+            for (int i = 0; i < length; i++) {
+                accept(text.charAt(i), offset++);
+            }
+        }
+
+        /**
+         * 원문에 없는 줄바꿈을 넣습니다. 페이지 경계처럼 조각 사이를 줄 경계로 취급할 때 사용하며, 오프셋은 증가하지 않습니다.
+         * 이미 줄의 시작이면(직전 조각이 줄바꿈으로 끝났으면) 아무 일도 하지 않으므로, 빈 줄이나 문단 경계로 취급되지 않습니다.
+         */
+        public void breakLine() {
+            previousWasCr = false;
+            if (lineHasContent) {
+                newLine();
+            }
+        }
+
+        /**
+         * 남아 있는 마지막 문장을 내보냅니다. 마지막 조각을 전달한 뒤 반드시 호출해야 합니다.
+         */
+        public void finish() {
+            hyphenAtLineEnd = false;
+            emit();
+        }
+
+        private void accept(char c, int position) {
+            if (c == '\r') {
+                previousWasCr = true;
+                newLine();
+                return;
+            }
+            if (c == '\n') {
+                if (!previousWasCr) {
+                    newLine();
+                }
+                previousWasCr = false;
+                return;
+            }
+            previousWasCr = false;
+
+            if (isWhitespace(c)) {
+                whitespace();
+                return;
+            }
+
+            if (hyphenAtLineEnd) {
+                // "exam-" 다음 줄에 내용이 있으면 하이픈을 지우고 공백 없이 잇습니다.
+                sentence.setLength(sentence.length() - 1);
+                pendingSpace = false;
+                hyphenAtLineEnd = false;
+            }
+            if (paragraphBreak) {
+                // 빈 줄을 사이에 두고 이어지는 문장(마침표 없는 제목 등)은 뒤쪽 문단에 속한 것으로 봅니다.
+                if (emittedAny) {
+                    paragraph++;
+                }
+                paragraphBreak = false;
+            }
+            if (sentenceStart < 0) {
+                sentenceStart = position;
+            } else if (pendingSpace) {
+                sentence.append(' ');
+            }
+            pendingSpace = false;
+            sentence.append(c);
+            sentenceEnd = position + 1;
+            lastContent = c;
+            lineHasContent = true;
+        }
+
+        private void newLine() {
+            if (!lineHasContent) {
+                // 빈 줄: 하이픈 다음 줄이 빈 줄이면 하이픈을 그대로 두고, 다음 문장은 새 문단에서 시작합니다.
+                hyphenAtLineEnd = false;
+                paragraphBreak = true;
+            }
+            if (lineHasContent && lastContent == '-') {
+                hyphenAtLineEnd = true;
+            }
+            lineHasContent = false;
+            whitespace();
+        }
+
+        private void whitespace() {
+            if (sentenceStart < 0) {
+                return;
+            }
+            pendingSpace = true;
+            if (!hyphenAtLineEnd && isSentenceEnd(lastContent)) {
+                emit();
+            }
+        }
+
+        private void emit() {
+            if (sentenceStart < 0) {
+                return;
+            }
+            sink.accept(sentenceStart, sentenceEnd, sentence, paragraph);
+            emittedAny = true;
+            sentence.setLength(0);
+            sentenceStart = -1;
+            pendingSpace = false;
+            lastContent = 0;
+        }
+
+        private static boolean isSentenceEnd(char c) {
+            return c == '.' || c == '!' || c == '?';
+        }
+
+        // 정규식 \s와 같은 문자 집합입니다.
+        private static boolean isWhitespace(char c) {
+            return c == ' ' || c == '\t' || c == '\f' || c == '\u000B';
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package swyp.paperdot.document.text;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 문장을 만들어 내는 쪽(추출·분할)과 소비하는 쪽(번역)을 잇는 크기 제한 큐입니다.
+ * 큐가 가득 차면 생산자가 기다리므로(backpressure), 번역이 느려도 분할된 문장이 힙에 무한정 쌓이지 않습니다.
+ *
+ * 생산자는 {@link #put(Object)} 후 {@link #complete()} 또는 {@link #fail(Throwable)}을 호출하고,
+ * 소비자는 {@link #nextBatch(int, long)}로 묶음 단위로 꺼냅니다. 소비자가 중단하면 {@link #close()}로 생산자를 취소합니다.
+ * 생산자 스레드 하나와 소비자 스레드 하나를 전제로 합니다.
+ */
+public class SentenceStream<T> implements AutoCloseable {
+
+    private static final Object END = new Object();
+
+    private final BlockingQueue<Object> queue;
+    private volatile Throwable failure;
+    private volatile Future<?> producer;
+    private boolean ended;
+
+    public SentenceStream(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+    }
+
+    /**
+     * 생산 작업을 연결합니다. {@link #close()} 시 인터럽트로 취소됩니다.
+     */
+    public void attachProducer(Future<?> producer) {
+        this.producer = producer;
+    }
+
+    /**
+     * 문장 하나를 넣습니다. 큐가 가득 차 있으면 자리가 날 때까지 기다립니다.
+     *
+     * @throws CancellationException 기다리는 중에 스트림이 닫혀(인터럽트) 생산을 중단해야 하는 경우
+     */
+    public void put(T item) {
+        try {
+            queue.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Sentence stream closed by consumer");
+        }
+    }
+
+    /**
+     * 모든 문장을 넣었음을 알립니다. 이미 넣은 문장은 모두 소비자에게 전달됩니다.
+     */
+    public void complete() {
+        try {
+            queue.put(END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 생산 중 오류를 알립니다. 아직 소비되지 않은 문장은 버리고, 소비자의 다음 호출에서 예외가 다시 던져집니다.
+     */
+    public void fail(Throwable cause) {
+        failure = cause;
+        queue.clear();
+        queue.offer(END);
+    }
+
+    /**
+     * 최대 maxItems개의 문장을 꺼냅니다. 첫 문장이 올 때까지 기다린 뒤, lingerMillis 동안 더 모아 봅니다.
+     *
+     * @return 꺼낸 문장 목록. 생산이 끝나 더 이상 문장이 없으면 빈 목록
+     * @throws RuntimeException 생산자가 {@link #fail(Throwable)}로 알린 오류
+     */
+    public List<T> nextBatch(int maxItems, long lingerMillis) {
+        if (ended) {
+            rethrowFailure();
+            return Collections.emptyList();
+        }
+
+        List<T> batch = new ArrayList<>(maxItems);
+        try {
+            Object first = queue.take();
+            if (add(first, batch)) {
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+                while (batch.size() < maxItems) {
+                    long remaining = deadline - System.nanoTime();
+                    Object next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null || !add(next, batch)) {
+                        break;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for sentences", e);
+        }
+
+        rethrowFailure();
+        return batch;
+    }
+
+    @Override
+    public void close() {
+        Future<?> current = producer;
+        if (current != null) {
+            current.cancel(true);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean add(Object item, List<T> batch) {
+        if (item == END) {
+            ended = true;
+            return false;
+        }
+        batch.add((T) item);
+        return true;
+    }
+
+    private void rethrowFailure() {
+        Throwable cause = failure;
+        if (cause == null) {
+            return;
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        throw new IllegalStateException("Sentence producer failed", cause);
+    }
+}
@@ -0,0 +1,61 @@
+package swyp.paperdot.translator;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OpenAI를 부르지 않는 프로세스 내 가짜 번역 백엔드입니다(translation.backend=fake). 부하 테스트와 로컬 개발용입니다.
+ *
+ * 번역문은 "[목표 언어] 원문"으로 항상 같고, 응답 시간은 latency-ms + 문장 수 × per-sentence-latency-ms로 정해집니다.
+ * 지연은 CompletableFuture.delayedExecutor로 처리하므로 요청마다 스레드를 붙잡아 두지 않습니다.
+ * 토큰 사용량은 TokenEstimator의 추정치(출력은 입력과 같다고 가정)입니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "translation.backend", havingValue = "fake")
+public class FakeTranslator implements TranslatorPort {
+
+    private static final String MODEL = "fake";
+
+    private final TokenEstimator tokenEstimator;
+    private final long latencyMillis;
+    private final long perSentenceLatencyMillis;
+
+    public FakeTranslator(
+            TokenEstimator tokenEstimator,
+            @Value("${translation.fake.latency-ms:200}") long latencyMillis,
+            @Value("${translation.fake.per-sentence-latency-ms:5}") long perSentenceLatencyMillis
+    ) {
+        this.tokenEstimator = tokenEstimator;
+        this.latencyMillis = Math.max(0, latencyMillis);
+        this.perSentenceLatencyMillis = Math.max(0, perSentenceLatencyMillis);
+        log.warn("Using fake translation backend. latency={} ms + {} ms per sentence", this.latencyMillis, this.perSentenceLatencyMillis);
+    }
+
+    @Override
+    public CompletableFuture<TranslationResult> translate(TranslationRequest request) {
+        long delay = latencyMillis + perSentenceLatencyMillis * request.sentences().size();
+        return CompletableFuture.supplyAsync(() -> translateNow(request, delay),
+                CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS));
+    }
+
+    private TranslationResult translateNow(TranslationRequest request, long delay) {
+        List<String> translations = new ArrayList<>(request.sentences().size());
+        long tokens = 0;
+        for (int i = 0; i < request.sentences().size(); i++) {
+            String sentence = request.sentences().get(i);
+            String translated = "[" + request.targetLang() + "] " + sentence;
+            translations.add(translated);
+            tokens += tokenEstimator.estimate(sentence);
+            request.notifyTranslated(i, translated);
+        }
+        return new TranslationResult(translations, tokens, tokens, delay, MODEL);
+    }
+}
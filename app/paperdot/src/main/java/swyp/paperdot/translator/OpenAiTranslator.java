@@ -2,44 +2,122 @@ package swyp.paperdot.translator;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import swyp.paperdot.translator.dto.OpenAiTranslationDto;
 import swyp.paperdot.translator.dto.OpenAiTranslationDto.TranslationPair;
 import swyp.paperdot.translator.exception.TranslationException;
-
+import swyp.paperdot.translator.exception.TranslationParseException;
+import swyp.paperdot.translator.exception.TranslationTruncatedException;
+import swyp.paperdot.translator.routing.ModelRouter;
+import swyp.paperdot.translator.routing.ModelTarget;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * OpenAI Chat Completions API로 번역하는 기본 백엔드입니다(translation.backend=openai).
+ * 요청은 RestTemplate(커넥션 풀, 레이트 리미터 포함)으로 보내며, 호출 스레드를 막지 않도록 전용 풀(openAiRequestExecutor)에서 실행합니다.
+ * 배치마다 ModelRouter가 고른 모델·엔드포인트로 보내고, 걸린 시간과 실패 여부를 다시 ModelRouter에 알립니다.
+ */
 @Slf4j
 @Component
+@ConditionalOnProperty(name = "translation.backend", havingValue = "openai", matchIfMissing = true)
 public class OpenAiTranslator implements TranslatorPort {
 
+    private static final String FINISH_REASON_LENGTH = "length";
+    private static final String SSE_DATA_PREFIX = "data:";
+    private static final String SSE_DONE = "[DONE]";
+    private static final Pattern SENTENCE_MARKER = Pattern.compile("\\[\\[(\\d+)]]");
+    // 번역 응답 스키마. 항목마다 입력 위치(index)를 붙이게 하여, 일부 항목이 빠지거나 순서가 바뀌어도 나머지는 쓸 수 있습니다.
+    private static final String TRANSLATION_SCHEMA = """
+            {
+              "type": "object",
+              "properties": {
+                "translations": {
+                  "type": "array",
+                  "items": {
+                    "type": "object",
+                    "properties": {
+                      "index": {"type": "integer"},
+                      "text": {"type": "string"}
+                    },
+                    "required": ["index", "text"],
+                    "additionalProperties": false
+                  }
+                }
+              },
+              "required": ["translations"],
+              "additionalProperties": false
+            }
+            """;
+
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
 
     private final String apiKey;
     private final String model;
     private final String apiUrl = "https://api.openai.com/v1/chat/completions";
+    private final OpenAiTranslationDto.ResponseFormat translationFormat;
+    private final Executor openAiRequestExecutor;
+    private final ModelRouter modelRouter;
+    private final boolean responseStreaming;
+
+    // 응답 하나에서 얻은 번역문과 토큰 사용량
+    private record Completion(List<String> translations, long promptTokens, long completionTokens) {
+    }
 
     public OpenAiTranslator(
             RestTemplate restTemplate,
             ObjectMapper objectMapper,
+            @Qualifier("openAiRequestExecutor") Executor openAiRequestExecutor,
+            ModelRouter modelRouter,
             @Value("${openai.api.key}") String apiKey,
-            @Value("${openai.api.model}") String model
+            @Value("${openai.api.model}") String model,
+            @Value("${translation.response-streaming:true}") boolean responseStreaming
     ) {
         this.restTemplate = restTemplate;
         this.objectMapper = objectMapper;
+        this.openAiRequestExecutor = openAiRequestExecutor;
+        this.modelRouter = modelRouter;
         this.apiKey = apiKey;
         this.model = model;
+        this.responseStreaming = responseStreaming;
+        try {
+            Map<String, Object> schema = objectMapper.readValue(TRANSLATION_SCHEMA, new TypeReference<>() {});
+            this.translationFormat = OpenAiTranslationDto.ResponseFormat.jsonSchema("indexed_translations", schema);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Invalid translation response schema", e);
+        }
     }
 
     public List<TranslationPair> extractAndTranslate(String rawText, String targetLang) {
@@ -88,42 +166,294 @@ public class OpenAiTranslator implements TranslatorPort {
         }
     }
 
-    public List<String> translateSentences(List<String> sentences, String targetLang) {
-        if (sentences == null || sentences.isEmpty()) {
-            return Collections.emptyList();
+    /**
+     * 배치를 전용 풀에서 번역합니다. 문단 모드는 문단 단위로, 문장 모드는 response-streaming이 켜져 있고
+     * listener가 있으면 스트리밍으로, 아니면 한 번에 받습니다.
+     *
+     * 돌려준 future를 취소하면(헤지 경쟁에서 진 경우 등) 아직 시작하지 않은 요청은 보내지 않고,
+     * 스트리밍 중인 응답은 다음 청크에서 읽기를 멈춥니다.
+     */
+    @Override
+    public CompletableFuture<TranslationResult> translate(TranslationRequest request) {
+        CompletableFuture<TranslationResult> future = new CompletableFuture<>();
+        openAiRequestExecutor.execute(() -> {
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                future.complete(translateNow(request, future::isCancelled));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    private TranslationResult translateNow(TranslationRequest request, BooleanSupplier cancelled) {
+        if (request.sentences().isEmpty()) {
+            return new TranslationResult(Collections.emptyList(), 0, 0, 0, model);
+        }
+        ModelTarget target = modelRouter.select();
+        long startedAt = System.nanoTime();
+        Completion completion;
+        try {
+            // 문장 하나는 표지를 붙여 보내도 얻는 것이 없으므로 문장 모드로 보냅니다.
+            if (request.paragraphMode() && request.sentences().size() > 1) {
+                completion = translateParagraphs(target, request.paragraphs(), request.targetLang());
+            } else if (responseStreaming && request.listener() != null) {
+                completion = translateSentencesStreaming(target, request.sentences(), request.targetLang(),
+                        request::notifyTranslated, cancelled);
+            } else {
+                completion = translateSentences(target, request.sentences(), request.targetLang());
+            }
+        } catch (RuntimeException e) {
+            // 취소로 끊은 요청의 시간은 모델 상태와 무관하므로 기록하지 않고, 확인 요청이었다면 자리만 돌려줍니다.
+            if (cancelled.getAsBoolean()) {
+                modelRouter.release(target);
+            } else {
+                modelRouter.record(target, elapsedMillis(startedAt), isProviderFailure(e));
+            }
+            throw e;
         }
+        long latencyMillis = elapsedMillis(startedAt);
+        modelRouter.record(target, latencyMillis, false);
+        return new TranslationResult(completion.translations(), completion.promptTokens(), completion.completionTokens(), latencyMillis,
+                target.model());
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
+    // 제공자 상태를 나타내는 실패(통신 오류, 타임아웃, 5xx, 408, 429)인지. 파싱 실패·잘림·그 밖의 4xx는 모델을 바꿔도 나아지지 않습니다.
+    private boolean isProviderFailure(RuntimeException e) {
+        if (!(e instanceof TranslationException)
+                || e instanceof TranslationParseException
+                || e instanceof TranslationTruncatedException) {
+            return false;
+        }
+        if (e.getCause() instanceof HttpClientErrorException clientError) {
+            int status = clientError.getStatusCode().value();
+            return status == 408 || status == 429;
+        }
+        return true;
+    }
+
+    private long elapsedMillis(long startedAt) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    }
+
+    /**
+     * 문장 목록을 번역합니다. 요청은 structured output으로 보내며, 응답 항목마다 붙은 입력 위치로 번역을 제자리에 놓습니다.
+     * 응답에서 빠진 문장 자리는 null이며, 다시 보낼지는 호출하는 쪽에서 정합니다.
+     */
+    private Completion translateSentences(ModelTarget target, List<String> sentences, String targetLang) {
+        return callForIndexedList(target, sentences, createTranslationOnlyPrompt(targetLang));
+    }
 
-        String userContent;
+    /**
+     * translateSentences와 같지만 응답을 스트리밍(server-sent events)으로 받습니다.
+     * 응답의 번역 항목이 닫힐 때마다 listener로 바로 전달하므로, 배치 전체가 끝나기 전에 앞 문장부터 저장할 수 있습니다.
+     *
+     * @param listener  번역 문장이 확정될 때마다 (입력 내 위치, 번역문)으로 호출됩니다. 요청 스레드에서 도착 순서대로 호출됩니다.
+     * @param cancelled true가 되면 응답 읽기를 멈추고 CancellationException을 던집니다.
+     */
+    private Completion translateSentencesStreaming(ModelTarget target, List<String> sentences, String targetLang,
+                                                   BiConsumer<Integer, String> listener, BooleanSupplier cancelled) {
+        OpenAiTranslationDto.ChatRequest request = OpenAiTranslationDto.ChatRequest.streaming(target.model(), List.of(
+                new OpenAiTranslationDto.Message("system", createTranslationOnlyPrompt(targetLang)),
+                new OpenAiTranslationDto.Message("user", toIndexedJson(sentences))), translationFormat);
+
+        String[] translated = new String[sentences.size()];
+        StreamingIndexedTranslationParser parser = new StreamingIndexedTranslationParser((index, text) -> {
+            if (accept(translated, index, text)) {
+                listener.accept(index, text);
+            }
+        });
+
+        OpenAiTranslationDto.Usage usage;
         try {
-            userContent = objectMapper.writeValueAsString(sentences);
-        } catch (JsonProcessingException e) {
-            throw new TranslationException("Failed to serialize sentences to JSON.", e);
+            usage = restTemplate.execute(target.url(), HttpMethod.POST,
+                    httpRequest -> {
+                        httpRequest.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                        httpRequest.getHeaders().setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+                        objectMapper.writeValue(httpRequest.getBody(), request);
+                    },
+                    response -> readEventStream(response.getBody(), parser, cancelled));
+        } catch (RestClientException e) {
+            // 응답을 읽는 중 파서가 던진 번역 예외(파싱 실패, 잘림)는 RestClientException으로 감싸지지 않고 그대로 전달됩니다.
+            throw new TranslationException("OpenAI API call failed. " + e.getMessage(), e);
         }
 
-        OpenAiTranslationDto.Message systemMessage = new OpenAiTranslationDto.Message("system", createTranslationOnlyPrompt(targetLang));
-        OpenAiTranslationDto.Message userMessage = new OpenAiTranslationDto.Message("user", userContent);
+        parser.finish();
+        return completion(new ArrayList<>(Arrays.asList(translated)), usage);
+    }
 
-        OpenAiTranslationDto.ChatRequest request = OpenAiTranslationDto.ChatRequest.of(model, List.of(systemMessage, userMessage));
+    // "data: {...}" 줄마다 choices[0].delta.content 조각을 파서에 넣습니다. "data: [DONE]"에서 끝납니다.
+    // 마지막 usage 청크의 토큰 사용량을 돌려줍니다(없으면 null).
+    private OpenAiTranslationDto.Usage readEventStream(InputStream body, StreamingIndexedTranslationParser parser,
+                                                      BooleanSupplier cancelled) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        OpenAiTranslationDto.Usage usage = null;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (cancelled.getAsBoolean()) {
+                throw new CancellationException("Translation request cancelled while streaming");
+            }
+            if (!line.startsWith(SSE_DATA_PREFIX)) {
+                continue;
+            }
+            String data = line.substring(SSE_DATA_PREFIX.length()).trim();
+            if (SSE_DONE.equals(data)) {
+                break;
+            }
+            JsonNode chunk = objectMapper.readTree(data);
+            if (chunk.hasNonNull("usage")) {
+                usage = objectMapper.treeToValue(chunk.get("usage"), OpenAiTranslationDto.Usage.class);
+            }
+            JsonNode choice = chunk.path("choices").path(0);
+            if (choice.isMissingNode()) {
+                // usage 등 선택지가 없는 청크
+                continue;
+            }
+            JsonNode content = choice.path("delta").path("content");
+            if (content.isTextual()) {
+                parser.feed(content.asText());
+            }
+            if (FINISH_REASON_LENGTH.equals(choice.path("finish_reason").asText(null))) {
+                throw new TranslationTruncatedException("OpenAI streamed response truncated by output token limit.");
+            }
+        }
+        return usage;
+    }
+
+    // 입력 문자열을 위치(index)와 함께 보내고, structured output 응답의 항목을 위치대로 놓습니다. 빠진 위치는 null입니다.
+    private Completion callForIndexedList(ModelTarget target, List<String> inputs, String systemPrompt) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        OpenAiTranslationDto.Message systemMessage = new OpenAiTranslationDto.Message("system", systemPrompt);
+        OpenAiTranslationDto.Message userMessage = new OpenAiTranslationDto.Message("user", toIndexedJson(inputs));
+
+        OpenAiTranslationDto.ChatRequest request = OpenAiTranslationDto.ChatRequest.of(target.model(), List.of(systemMessage, userMessage), translationFormat);
 
         try {
             HttpEntity<OpenAiTranslationDto.ChatRequest> entity = new HttpEntity<>(request, headers);
-            OpenAiTranslationDto.ChatResponse response = restTemplate.postForObject(apiUrl, entity, OpenAiTranslationDto.ChatResponse.class);
+            OpenAiTranslationDto.ChatResponse response = restTemplate.postForObject(target.url(), entity, OpenAiTranslationDto.ChatResponse.class);
 
             if (response == null || CollectionUtils.isEmpty(response.getChoices())) {
                 throw new TranslationException("OpenAI returned an empty response.", null);
             }
 
-            String rawContent = response.getChoices().get(0).getMessage().content();
-            return parseOpenAiResponseForStringList(rawContent);
+            OpenAiTranslationDto.Choice choice = response.getChoices().get(0);
+            if (FINISH_REASON_LENGTH.equals(choice.getFinishReason())) {
+                throw new TranslationTruncatedException("OpenAI response truncated by output token limit. inputs=" + inputs.size());
+            }
+            return completion(parseIndexedTranslations(choice.getMessage().content(), inputs.size()), response.getUsage());
 
         } catch (RestClientException e) {
             throw new TranslationException("OpenAI API call failed. " + e.getMessage(), e);
         }
     }
 
+    private Completion completion(List<String> translations, OpenAiTranslationDto.Usage usage) {
+        return usage == null
+                ? new Completion(translations, 0, 0)
+                : new Completion(translations, usage.getPromptTokens(), usage.getCompletionTokens());
+    }
+
+    private String toIndexedJson(List<String> inputs) {
+        List<OpenAiTranslationDto.IndexedText> indexed = new ArrayList<>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            indexed.add(new OpenAiTranslationDto.IndexedText(i, inputs.get(i)));
+        }
+        try {
+            return objectMapper.writeValueAsString(indexed);
+        } catch (JsonProcessingException e) {
+            throw new TranslationException("Failed to serialize sentences to JSON.", e);
+        }
+    }
+
+    // 범위를 벗어나거나 이미 채워진 위치의 항목은 버립니다(먼저 온 항목을 사용).
+    private boolean accept(String[] slots, int index, String text) {
+        if (index < 0 || index >= slots.length || slots[index] != null) {
+            log.debug("Ignoring translation item with unexpected or duplicated index {} (inputs={})", index, slots.length);
+            return false;
+        }
+        slots[index] = text;
+        return true;
+    }
+
+    /**
+     * 문단 단위로 번역합니다. 각 문단은 문장마다 [[n]] 표지를 붙인 하나의 문자열로 보내고,
+     * 번역 결과를 표지 기준으로 다시 잘라 입력 문장과 같은 순서·개수의 번역 문장 목록으로 돌려줍니다.
+     * 문장을 따로 보내는 것보다 요청 수와 문장당 지시문 토큰이 줄고, 문맥이 이어진 번역을 얻을 수 있습니다.
+     *
+     * @param paragraphs 문단별 문장 목록 (문서 순서)
+     * 결과는 모든 문단의 문장을 이어 붙인 순서대로의 번역 문장 목록이며, 응답에서 빠졌거나 표지가 맞지 않는 문단의 문장 자리는 null입니다.
+     */
+    private Completion translateParagraphs(ModelTarget target, List<List<String>> paragraphs, String targetLang) {
+
+        List<String> markedParagraphs = new ArrayList<>(paragraphs.size());
+        int sentenceCount = 0;
+        for (List<String> paragraph : paragraphs) {
+            StringBuilder marked = new StringBuilder();
+            for (String sentence : paragraph) {
+                if (marked.length() > 0) {
+                    marked.append(' ');
+                }
+                marked.append("[[").append(++sentenceCount).append("]] ").append(sentence);
+            }
+            markedParagraphs.add(marked.toString());
+        }
+
+        Completion paragraphCompletion = callForIndexedList(target, markedParagraphs, createParagraphPrompt(targetLang));
+        List<String> translatedParagraphs = paragraphCompletion.translations();
+        List<String> result = new ArrayList<>(sentenceCount);
+        int firstMarker = 1;
+        for (int i = 0; i < paragraphs.size(); i++) {
+            int size = paragraphs.get(i).size();
+            String translatedParagraph = translatedParagraphs.get(i);
+            String[] sentences = translatedParagraph == null ? null : splitByMarkers(translatedParagraph, firstMarker, size);
+            for (int j = 0; j < size; j++) {
+                result.add(sentences == null ? null : sentences[j]);
+            }
+            firstMarker += size;
+        }
+        return new Completion(result, paragraphCompletion.promptTokens(), paragraphCompletion.completionTokens());
+    }
+
+    // 번역된 문단 하나를 [[n]] 표지로 잘라 문장별 번역을 찾습니다.
+    // 표지 firstMarker..firstMarker+count-1이 정확히 한 번씩 있어야 하며, 아니면 문단 전체를 버리도록 null을 돌려줍니다.
+    private String[] splitByMarkers(String paragraph, int firstMarker, int count) {
+        String[] sentences = new String[count];
+        Matcher matcher = SENTENCE_MARKER.matcher(paragraph);
+        int index = -1;
+        int textStart = 0;
+        while (matcher.find()) {
+            if (index >= 0 && !put(sentences, index, paragraph.substring(textStart, matcher.start()))) {
+                return null;
+            }
+            index = Integer.parseInt(matcher.group(1)) - firstMarker;
+            textStart = matcher.end();
+        }
+        if (index < 0 || !put(sentences, index, paragraph.substring(textStart))) {
+            log.debug("Sentence markers missing or unexpected in translated paragraph: {}", paragraph);
+            return null;
+        }
+        for (String sentence : sentences) {
+            if (sentence == null) {
+                log.debug("Sentence marker missing in translated paragraph: {}", paragraph);
+                return null;
+            }
+        }
+        return sentences;
+    }
+
+    private boolean put(String[] sentences, int index, String text) {
+        if (index < 0 || index >= sentences.length || sentences[index] != null) {
+            return false;
+        }
+        sentences[index] = text.trim();
+        return true;
+    }
+
     private String createSystemPrompt(String targetLang) {
         return String.format(
             "You are a translator that takes raw text, splits it into logical sentences, and translates each sentence into %s. " +
@@ -138,9 +468,19 @@ public class OpenAiTranslator implements TranslatorPort {
 
     private String createTranslationOnlyPrompt(String targetLang) {
         return String.format(
-            "You are a translator. Translate each element of the input JSON array into %s. " +
-            "The response MUST be a JSON array of strings with the same length and order as the input. " +
-            "Do NOT include any additional text, explanations, or markdown formatting outside the JSON array.",
+            "You are a translator. The input is a JSON array of objects with 'index' and 'text'. Translate each 'text' into %s. " +
+            "Return one item per input object, copying its 'index' unchanged into the item with the translated 'text'. " +
+            "Do NOT merge, split, or skip items.",
+            targetLang
+        );
+    }
+
+    private String createParagraphPrompt(String targetLang) {
+        return String.format(
+            "You are a translator for academic papers. The input is a JSON array of objects with 'index' and 'text'; each 'text' is one paragraph, and every sentence in it starts with a marker like [[1]]. " +
+            "Translate each paragraph into %s as natural, coherent text. " +
+            "Keep every marker exactly once, unchanged and in the same order, placed immediately before the translation of the sentence it marks. Do not merge or split marked sentences. " +
+            "Return one item per input paragraph, copying its 'index' unchanged into the item with the translated 'text'.",
             targetLang
         );
     }
@@ -156,22 +496,27 @@ public class OpenAiTranslator implements TranslatorPort {
             return translationPairs;
 
         } catch (JsonProcessingException e) {
-            throw new TranslationException("Failed to parse translation response as JSON. content=" + content, e);
+            throw new TranslationParseException("Failed to parse translation response as JSON. content=" + content, e);
         }
     }
 
-    private List<String> parseOpenAiResponseForStringList(String content) {
+    private List<String> parseIndexedTranslations(String content, int expected) {
+        OpenAiTranslationDto.IndexedTranslations parsed;
         try {
-            TypeReference<List<String>> typeRef = new TypeReference<>() {};
-            List<String> translated = objectMapper.readValue(content, typeRef);
+            parsed = objectMapper.readValue(content, OpenAiTranslationDto.IndexedTranslations.class);
+        } catch (JsonProcessingException e) {
+            throw new TranslationParseException("Failed to parse structured translation response. content=" + content, e);
+        }
+        if (parsed == null || parsed.translations() == null) {
+            throw new TranslationParseException("Translated items missing. content=" + content, null);
+        }
 
-            if (translated == null) {
-                throw new TranslationException("Translated list missing. content=" + content, null);
+        String[] translated = new String[expected];
+        for (OpenAiTranslationDto.IndexedText item : parsed.translations()) {
+            if (item != null && item.text() != null) {
+                accept(translated, item.index(), item.text());
             }
-            return translated;
-
-        } catch (JsonProcessingException e) {
-            throw new TranslationException("Failed to parse translation response as JSON array of strings. content=" + content, e);
         }
+        return new ArrayList<>(Arrays.asList(translated));
     }
 }
\ No newline at end of file
@@ -0,0 +1,156 @@
+package swyp.paperdot.translator;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import swyp.paperdot.translator.exception.TranslationParseException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 조각으로 도착하는 structured output 번역 응답({"translations": [{"index": 0, "text": "..."}, ...]})을 이어서 파싱하고,
+ * 항목 객체가 닫힐 때마다 (index, text)를 바로 전달합니다.
+ * Jackson의 non-blocking 파서를 사용하므로 응답 전체를 모으지 않고, 항목 하나가 여러 조각에 걸쳐 와도 됩니다.
+ * index나 text가 빠진 항목은 전달하지 않습니다. 범위·중복 검사는 호출하는 쪽에서 합니다.
+ *
+ * 한 응답에서만 사용하는 상태 객체입니다(스레드 안전하지 않음).
+ */
+class StreamingIndexedTranslationParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String TRANSLATIONS_FIELD = "translations";
+    private static final String INDEX_FIELD = "index";
+    private static final String TEXT_FIELD = "text";
+
+    @FunctionalInterface
+    interface TranslationListener {
+        void onTranslation(int index, String text);
+    }
+
+    private enum State {
+        ROOT,           // 최상위 객체 시작 전
+        ROOT_FIELDS,    // 최상위 객체의 필드 이름 차례
+        ARRAY_START,    // "translations" 다음 배열 시작 전
+        ITEMS,          // 배열 안, 항목 객체 시작 또는 배열 끝 차례
+        ITEM,           // 항목 객체 안
+        DONE            // 최상위 객체가 닫힘
+    }
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final TranslationListener listener;
+    private State state = State.ROOT;
+    private Integer itemIndex;
+    private String itemText;
+
+    StreamingIndexedTranslationParser(TranslationListener listener) {
+        try {
+            this.parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create non-blocking JSON parser", e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.listener = listener;
+    }
+
+    /**
+     * 응답 내용의 다음 조각을 넣습니다. 이 조각으로 닫힌 항목이 있으면 listener로 전달됩니다.
+     */
+    void feed(String fragment) {
+        if (fragment == null || fragment.isEmpty()) {
+            return;
+        }
+        byte[] bytes = fragment.getBytes(StandardCharsets.UTF_8);
+        try {
+            feeder.feedInput(bytes, 0, bytes.length);
+            drain();
+        } catch (IOException e) {
+            throw new TranslationParseException("Failed to parse streamed structured translation", e);
+        }
+    }
+
+    /**
+     * 응답이 끝났음을 알립니다. 최상위 객체가 닫히지 않았으면 파싱 실패로 봅니다.
+     */
+    void finish() {
+        try {
+            feeder.endOfInput();
+            drain();
+        } catch (IOException e) {
+            throw new TranslationParseException("Failed to parse streamed structured translation", e);
+        }
+        if (state != State.DONE) {
+            throw new TranslationParseException("Streamed translation ended before the JSON object was closed. state=" + state, null);
+        }
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            switch (state) {
+                case ROOT -> state = expect(token, JsonToken.START_OBJECT, State.ROOT_FIELDS);
+                case ROOT_FIELDS -> {
+                    if (token == JsonToken.END_OBJECT) {
+                        state = State.DONE;
+                    } else if (token == JsonToken.FIELD_NAME && TRANSLATIONS_FIELD.equals(parser.currentName())) {
+                        state = State.ARRAY_START;
+                    } else {
+                        throw unexpected(token);
+                    }
+                }
+                case ARRAY_START -> state = expect(token, JsonToken.START_ARRAY, State.ITEMS);
+                case ITEMS -> {
+                    if (token == JsonToken.END_ARRAY) {
+                        state = State.ROOT_FIELDS;
+                    } else if (token == JsonToken.START_OBJECT) {
+                        itemIndex = null;
+                        itemText = null;
+                        state = State.ITEM;
+                    } else {
+                        throw unexpected(token);
+                    }
+                }
+                case ITEM -> readItemToken(token);
+                case DONE -> throw unexpected(token);
+            }
+        }
+    }
+
+    private void readItemToken(JsonToken token) throws IOException {
+        switch (token) {
+            case FIELD_NAME -> {
+                // 값 토큰에서 currentName()으로 필드를 구분합니다.
+            }
+            case VALUE_NUMBER_INT -> {
+                if (INDEX_FIELD.equals(parser.currentName())) {
+                    itemIndex = parser.getIntValue();
+                }
+            }
+            case VALUE_STRING -> {
+                if (TEXT_FIELD.equals(parser.currentName())) {
+                    itemText = parser.getText();
+                }
+            }
+            case END_OBJECT -> {
+                if (itemIndex != null && itemText != null) {
+                    listener.onTranslation(itemIndex, itemText);
+                }
+                state = State.ITEMS;
+            }
+            default -> throw unexpected(token);
+        }
+    }
+
+    private State expect(JsonToken token, JsonToken expected, State next) {
+        if (token != expected) {
+            throw unexpected(token);
+        }
+        return next;
+    }
+
+    private TranslationParseException unexpected(JsonToken token) {
+        return new TranslationParseException("Unexpected token in streamed structured translation: " + token + " (state=" + state + ")", null);
+    }
+}
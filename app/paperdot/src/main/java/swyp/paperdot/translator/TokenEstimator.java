@@ -0,0 +1,68 @@
+package swyp.paperdot.translator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 토크나이저 없이 텍스트의 LLM 토큰 수를 대략 추정합니다. 배치 크기를 정하는 용도라 정확한 값보다 빠르고 일관된 값이 중요합니다.
+ *
+ * BPE 토크나이저의 경향을 단순화해 계산합니다.
+ * - 영문/숫자 단어: 4글자당 1토큰 (앞의 공백은 단어 토큰에 포함)
+ * - 문장 부호·기호: 글자마다 1토큰
+ * - 한글·한자 등 비라틴 문자: 글자마다 1토큰
+ *
+ * 번역 응답(출력) 토큰 추정도 여기서 합니다. 배치 packer와 TranslationCoalescer가 같은 추정을 써야
+ * 합친 요청이 packer가 지키는 토큰 예산을 넘지 않습니다.
+ */
+@Component
+public class TokenEstimator {
+
+    // 번역문 한 항목마다 붙는 JSON 따옴표·구분자 몫
+    private static final int PER_SENTENCE_OVERHEAD_TOKENS = 4;
+
+    // 원문 토큰 1개당 번역문 토큰 수 추정치 (영→한 기준)
+    @Value("${translation.packer.output-ratio:1.5}")
+    private double outputTokenRatio = 1.5;
+
+    public int estimate(CharSequence text) {
+        if (text == null) {
+            return 0;
+        }
+        int tokens = 0;
+        int wordLength = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 128 && Character.isLetterOrDigit(c)) {
+                wordLength++;
+                continue;
+            }
+            tokens += (wordLength + 3) / 4;
+            wordLength = 0;
+            if (!Character.isWhitespace(c)) {
+                tokens++;
+            }
+        }
+        return tokens + (wordLength + 3) / 4;
+    }
+
+    /**
+     * 원문 한 문장을 번역한 응답 항목의 토큰 수를 추정합니다. 원문 토큰 수에 output-ratio를 곱하고 항목당 구분자 몫을 더합니다.
+     */
+    public int estimateOutput(CharSequence sourceText) {
+        return (int) Math.ceil(estimate(sourceText) * outputTokenRatio) + PER_SENTENCE_OVERHEAD_TOKENS;
+    }
+
+    /**
+     * 원문 문장 목록 전체의 응답 토큰 수를 추정합니다.
+     */
+    public int estimateOutput(List<String> sourceTexts) {
+        int tokens = 0;
+        for (String sourceText : sourceTexts) {
+            tokens += estimateOutput(sourceText);
+        }
+        return tokens;
+    }
+}
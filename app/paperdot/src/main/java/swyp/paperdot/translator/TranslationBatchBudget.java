@@ -0,0 +1,93 @@
+package swyp.paperdot.translator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 번역 요청 하나에 담을 예상 출력 토큰 수(배치 토큰 예산)를 관찰 결과에 따라 조정합니다.
+ *
+ * 응답이 목표 지연 시간 안에 오고 예산을 거의 다 채운 배치였다면 예산을 조금씩 늘리고,
+ * 응답이 잘리거나(finish_reason=length) 문장 수가 맞지 않거나 목표 지연 시간을 넘기면 크게 줄입니다(AIMD).
+ * 예산은 min-tokens ~ max-tokens 사이에서 움직이며, max-tokens는 모델의 최대 출력 토큰보다 작게 둡니다.
+ *
+ * 모든 문서의 배치가 같은 모델을 쓰므로 애플리케이션 전체에서 하나의 예산을 공유합니다.
+ */
+@Slf4j
+@Component
+public class TranslationBatchBudget {
+
+    public enum Outcome {
+        SUCCESS,
+        TRUNCATED,
+        SIZE_MISMATCH,
+        ERROR
+    }
+
+    private final int minTokens;
+    private final int maxTokens;
+    private final int increaseStep;
+    private final double decreaseFactor;
+    private final long targetLatencyMillis;
+
+    private int currentTokens;
+
+    public TranslationBatchBudget(
+            MeterRegistry meterRegistry,
+            @Value("${translation.packer.initial-tokens:2000}") int initialTokens,
+            @Value("${translation.packer.min-tokens:300}") int minTokens,
+            @Value("${translation.packer.max-tokens:6000}") int maxTokens,
+            @Value("${translation.packer.increase-step:250}") int increaseStep,
+            @Value("${translation.packer.decrease-factor:0.5}") double decreaseFactor,
+            @Value("${translation.packer.target-latency-ms:30000}") long targetLatencyMillis
+    ) {
+        this.minTokens = Math.max(1, minTokens);
+        this.maxTokens = Math.max(this.minTokens, maxTokens);
+        this.increaseStep = Math.max(1, increaseStep);
+        this.decreaseFactor = decreaseFactor > 0 && decreaseFactor < 1 ? decreaseFactor : 0.5;
+        this.targetLatencyMillis = targetLatencyMillis;
+        this.currentTokens = clamp(initialTokens);
+
+        meterRegistry.gauge("paperdot.translation.batch.token.budget", this, TranslationBatchBudget::current);
+    }
+
+    /**
+     * 다음 배치에 담을 수 있는 예상 출력 토큰 수입니다.
+     */
+    public synchronized int current() {
+        return currentTokens;
+    }
+
+    /**
+     * 배치 하나의 결과를 반영합니다.
+     *
+     * @param estimatedTokens 배치의 예상 출력 토큰 수
+     * @param latencyMillis   번역 요청에 걸린 시간
+     */
+    public synchronized void record(int estimatedTokens, long latencyMillis, Outcome outcome) {
+        int before = currentTokens;
+        switch (outcome) {
+            case TRUNCATED, SIZE_MISMATCH -> currentTokens = clamp((int) (currentTokens * decreaseFactor));
+            case SUCCESS -> {
+                if (latencyMillis > targetLatencyMillis) {
+                    currentTokens = clamp((int) (currentTokens * decreaseFactor));
+                } else if (estimatedTokens * 5L >= currentTokens * 4L) {
+                    // 예산이 실제 제약이었던(80% 이상 채운) 배치만 늘림의 근거로 삼습니다.
+                    currentTokens = clamp(currentTokens + increaseStep);
+                }
+            }
+            case ERROR -> {
+                // 네트워크 오류 등은 배치 크기와 무관하므로 예산을 바꾸지 않습니다.
+            }
+        }
+        if (before != currentTokens) {
+            log.debug("translation batch token budget {} -> {} (outcome={}, tokens={}, latencyMs={})",
+                    before, currentTokens, outcome, estimatedTokens, latencyMillis);
+        }
+    }
+
+    private int clamp(int tokens) {
+        return Math.max(minTokens, Math.min(maxTokens, tokens));
+    }
+}
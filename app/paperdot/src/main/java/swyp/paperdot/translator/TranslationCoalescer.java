@@ -0,0 +1,213 @@
+package swyp.paperdot.translator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * 여러 문서의 작은 번역 요청을 모아 하나의 요청으로 보내고, 결과를 다시 요청별로 나눠 돌려줍니다.
+ * 2쪽짜리 초록처럼 배치 하나를 다 채우지 못하는 문서가 많을 때 요청 수와 요청당 고정 비용(지시문 토큰, 왕복 시간)을 줄입니다.
+ *
+ * - 예상 출력 토큰이 배치 토큰 예산의 fill-ratio 이상인 요청은 이미 충분히 크므로 바로 보냅니다.
+ * - 작은 요청은 목표 언어·문단 모드가 같은 것끼리 모으고, 예산이나 batch-size를 채우면 바로, 아니면 max-wait-ms 뒤에 보냅니다.
+ * - 합친 요청의 번역·스트리밍 알림은 원래 요청의 위치로 바꿔 전달하고, 실패하면 모든 원래 요청을 같은 예외로 완료합니다.
+ *   재시도·분할은 원래 요청마다 BatchTranslator가 따로 합니다.
+ * - 토큰 사용량은 문장 수 비율로 나눠 줍니다.
+ * - 실제 전송은 TranslationHedger를 거치므로, 응답이 늦은 합친 요청은 통째로 한 번 더 보내질 수 있습니다.
+ */
+@Slf4j
+@Component
+public class TranslationCoalescer {
+
+    private final TranslationHedger translationHedger;
+    private final TranslationBatchBudget translationBatchBudget;
+    private final TokenEstimator tokenEstimator;
+    private final boolean enabled;
+    private final long maxWaitMillis;
+    private final double fillRatio;
+    private final int maxSentences;
+
+    private final Map<GroupKey, PendingGroup> pendingGroups = new HashMap<>();
+
+    private final Counter sentRequests;
+    private final Counter coalescedRequests;
+    private final DistributionSummary requestSentences;
+
+    public TranslationCoalescer(
+            TranslationHedger translationHedger,
+            TranslationBatchBudget translationBatchBudget,
+            TokenEstimator tokenEstimator,
+            MeterRegistry meterRegistry,
+            @Value("${translation.coalesce.enabled:true}") boolean enabled,
+            @Value("${translation.coalesce.max-wait-ms:50}") long maxWaitMillis,
+            @Value("${translation.coalesce.fill-ratio:0.5}") double fillRatio,
+            @Value("${translation.batch-size:100}") int maxSentences
+    ) {
+        this.translationHedger = translationHedger;
+        this.translationBatchBudget = translationBatchBudget;
+        this.tokenEstimator = tokenEstimator;
+        this.enabled = enabled;
+        this.maxWaitMillis = Math.max(0, maxWaitMillis);
+        this.fillRatio = fillRatio;
+        this.maxSentences = Math.max(1, maxSentences);
+
+        this.sentRequests = meterRegistry.counter("paperdot.translation.coalesce.sent");
+        this.coalescedRequests = meterRegistry.counter("paperdot.translation.coalesce.merged");
+        this.requestSentences = DistributionSummary.builder("paperdot.translation.coalesce.request.sentences")
+                .description("Sentences per request sent to the translation backend")
+                .register(meterRegistry);
+    }
+
+    private record GroupKey(String targetLang, boolean paragraphMode) {
+    }
+
+    private record Pending(TranslationRequest request, int tokens, CompletableFuture<TranslationResult> future) {
+    }
+
+    // 함께 보낼 요청 묶음. flushed가 되면 더 받지 않으며, 예약된 시간 초과 flush는 아무 일도 하지 않습니다.
+    private static final class PendingGroup {
+        private final List<Pending> requests = new ArrayList<>();
+        private int sentences;
+        private int tokens;
+        private boolean flushed;
+    }
+
+    /**
+     * 요청을 바로 보내거나, 같은 목표 언어·문단 모드의 다른 작은 요청과 합쳐 보냅니다.
+     */
+    public CompletableFuture<TranslationResult> translate(TranslationRequest request) {
+        int tokens = tokenEstimator.estimateOutput(request.sentences());
+        int budget = translationBatchBudget.current();
+        if (!enabled || request.sentences().isEmpty() || tokens >= budget * fillRatio || request.sentences().size() >= maxSentences) {
+            return send(request);
+        }
+
+        CompletableFuture<TranslationResult> future = new CompletableFuture<>();
+        GroupKey key = new GroupKey(request.targetLang(), request.paragraphMode());
+        List<PendingGroup> ready = new ArrayList<>(2);
+        synchronized (this) {
+            PendingGroup group = pendingGroups.get(key);
+            if (group != null && (group.tokens + tokens > budget || group.sentences + request.sentences().size() > maxSentences)) {
+                // 이 요청을 넣으면 한도를 넘으므로 모아 둔 것을 먼저 보냅니다.
+                ready.add(detach(key, group));
+                group = null;
+            }
+            if (group == null) {
+                group = new PendingGroup();
+                pendingGroups.put(key, group);
+                PendingGroup scheduled = group;
+                CompletableFuture.delayedExecutor(maxWaitMillis, TimeUnit.MILLISECONDS)
+                        .execute(() -> flushOnTimeout(key, scheduled));
+            }
+            group.requests.add(new Pending(request, tokens, future));
+            group.sentences += request.sentences().size();
+            group.tokens += tokens;
+            if (group.tokens * 10L >= budget * 9L || group.sentences >= maxSentences) {
+                ready.add(detach(key, group));
+            }
+        }
+        ready.forEach(this::sendGroup);
+        return future;
+    }
+
+    private void flushOnTimeout(GroupKey key, PendingGroup group) {
+        synchronized (this) {
+            if (group.flushed) {
+                return;
+            }
+            detach(key, group);
+        }
+        sendGroup(group);
+    }
+
+    // 호출하는 쪽에서 this로 동기화해야 합니다.
+    private PendingGroup detach(GroupKey key, PendingGroup group) {
+        group.flushed = true;
+        pendingGroups.remove(key, group);
+        return group;
+    }
+
+    private void sendGroup(PendingGroup group) {
+        List<Pending> requests = group.requests;
+        if (requests.size() == 1) {
+            Pending only = requests.get(0);
+            relay(send(only.request()), only.future());
+            return;
+        }
+
+        coalescedRequests.increment(requests.size());
+        // 합친 요청에서 각 원래 요청의 첫 문장 위치
+        int[] offsets = new int[requests.size()];
+        List<String> sentences = new ArrayList<>(group.sentences);
+        List<Integer> paragraphSizes = requests.get(0).request().paragraphMode() ? new ArrayList<>() : null;
+        for (int i = 0; i < requests.size(); i++) {
+            TranslationRequest request = requests.get(i).request();
+            offsets[i] = sentences.size();
+            sentences.addAll(request.sentences());
+            if (paragraphSizes != null) {
+                paragraphSizes.addAll(request.paragraphSizes());
+            }
+        }
+        BiConsumer<Integer, String> listener = (index, translated) -> {
+            int origin = originOf(offsets, index);
+            requests.get(origin).request().notifyTranslated(index - offsets[origin], translated);
+        };
+        TranslationRequest merged = new TranslationRequest(sentences, paragraphSizes, requests.get(0).request().targetLang(), listener);
+        log.debug("Coalesced {} translation requests into one ({} sentences, ~{} tokens)", requests.size(), group.sentences, group.tokens);
+
+        send(merged).whenComplete((result, error) -> {
+            for (int i = 0; i < requests.size(); i++) {
+                Pending pending = requests.get(i);
+                if (error != null) {
+                    pending.future().completeExceptionally(error);
+                    continue;
+                }
+                int size = pending.request().sentences().size();
+                double share = (double) size / sentences.size();
+                pending.future().complete(new TranslationResult(
+                        new ArrayList<>(result.translations().subList(offsets[i], offsets[i] + size)),
+                        Math.round(result.promptTokens() * share),
+                        Math.round(result.completionTokens() * share),
+                        result.latencyMillis(),
+                        result.model()));
+            }
+        });
+    }
+
+    private CompletableFuture<TranslationResult> send(TranslationRequest request) {
+        sentRequests.increment();
+        requestSentences.record(request.sentences().size());
+        try {
+            return translationHedger.translate(request);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void relay(CompletableFuture<TranslationResult> source, CompletableFuture<TranslationResult> target) {
+        source.whenComplete((result, error) -> {
+            if (error != null) {
+                target.completeExceptionally(error);
+            } else {
+                target.complete(result);
+            }
+        });
+    }
+
+    private int originOf(int[] offsets, int index) {
+        int position = Arrays.binarySearch(offsets, index);
+        return position >= 0 ? position : -position - 2;
+    }
+}
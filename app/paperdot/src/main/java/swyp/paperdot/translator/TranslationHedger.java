@@ -0,0 +1,283 @@
+package swyp.paperdot.translator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * 응답이 늦는 번역 요청에 같은 요청을 한 번 더 보내고(hedged request), 먼저 도착한 좋은 응답을 씁니다.
+ * 대부분의 배치는 몇 초 안에 끝나지만 일부는 수십 초씩 걸리며, 그런 배치 하나가 문서 전체의 완료를 늦춥니다.
+ *
+ * - 최근 window-size개 응답 시간의 percentile 지점(최소 min-delay-ms)까지 응답이 없으면 같은 요청을 다시 보냅니다.
+ *   기록이 min-samples보다 적으면 다시 보내지 않습니다.
+ * - 모든 문장이 번역된 응답이 먼저 오면 그 응답을 쓰고 나머지 요청은 취소합니다. 일부 문장이 빠진 응답은 다른 요청이 끝날 때까지
+ *   기다렸다가 더 많이 번역한 쪽을 씁니다. 둘 다 실패하면 원래 요청의 예외로 완료합니다.
+ * - 추가 요청은 예산 안에서만 보냅니다. 요청마다 budget-ratio만큼 예산이 쌓이고(최대 budget-burst), 추가 요청 하나가 1을 씁니다.
+ *   따라서 길게 보면 추가 요청은 전체 요청의 budget-ratio 비율을 넘지 않습니다.
+ * - 스트리밍 알림은 문장마다 먼저 도착한 것만 전달하고, 결과가 정해진 뒤의 알림은 버립니다.
+ * - 추가 요청 수, 추가 요청이 이긴 수, 예산이 없어 보내지 못한 수는 paperdot.translation.hedge.* 메트릭으로 노출됩니다.
+ */
+@Slf4j
+@Component
+public class TranslationHedger {
+
+    private final TranslatorPort translatorPort;
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayMillis;
+    private final int minSamples;
+    private final double budgetRatio;
+    private final double budgetBurst;
+
+    // 최근 성공한 요청의 응답 시간 (ring buffer)
+    private final long[] latencies;
+    private int next;
+    private int size;
+    private double budget;
+
+    private final Counter requests;
+    private final Counter hedged;
+    private final Counter hedgeWins;
+    private final Counter budgetExhausted;
+
+    public TranslationHedger(
+            TranslatorPort translatorPort,
+            MeterRegistry meterRegistry,
+            @Value("${translation.hedge.enabled:false}") boolean enabled,
+            @Value("${translation.hedge.percentile:0.95}") double percentile,
+            @Value("${translation.hedge.min-delay-ms:2000}") long minDelayMillis,
+            @Value("${translation.hedge.window-size:200}") int windowSize,
+            @Value("${translation.hedge.min-samples:20}") int minSamples,
+            @Value("${translation.hedge.budget-ratio:0.05}") double budgetRatio,
+            @Value("${translation.hedge.budget-burst:5}") double budgetBurst
+    ) {
+        this.translatorPort = translatorPort;
+        this.enabled = enabled;
+        this.percentile = Math.min(1.0, Math.max(0.0, percentile));
+        this.minDelayMillis = Math.max(0, minDelayMillis);
+        this.latencies = new long[Math.max(1, windowSize)];
+        this.minSamples = Math.max(1, Math.min(latencies.length, minSamples));
+        this.budgetRatio = Math.max(0.0, budgetRatio);
+        this.budgetBurst = Math.max(1.0, budgetBurst);
+
+        this.requests = meterRegistry.counter("paperdot.translation.hedge.requests");
+        this.hedged = meterRegistry.counter("paperdot.translation.hedge.sent");
+        this.hedgeWins = meterRegistry.counter("paperdot.translation.hedge.won");
+        this.budgetExhausted = meterRegistry.counter("paperdot.translation.hedge.budget.exhausted");
+        Gauge.builder("paperdot.translation.hedge.delay", this, TranslationHedger::currentDelayMillis)
+                .description("Delay after which a duplicate translation request is sent (-1 while not enough samples)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 요청을 보내고, 응답이 늦으면 같은 요청을 한 번 더 보냅니다. 꺼져 있으면 그대로 보냅니다.
+     */
+    public CompletableFuture<TranslationResult> translate(TranslationRequest request) {
+        if (!enabled || request.sentences().isEmpty()) {
+            return send(request);
+        }
+        requests.increment();
+        long delay;
+        synchronized (this) {
+            budget = Math.min(budgetBurst, budget + budgetRatio);
+            delay = hedgeDelayMillis();
+        }
+        if (delay < 0) {
+            long startedAt = System.nanoTime();
+            CompletableFuture<TranslationResult> future = send(request);
+            future.whenComplete((result, error) -> {
+                if (error == null) {
+                    recordLatency(elapsedMillis(startedAt));
+                }
+            });
+            return future;
+        }
+        return new Race(request).start(delay);
+    }
+
+    private CompletableFuture<TranslationResult> send(TranslationRequest request) {
+        try {
+            return translatorPort.translate(request);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private synchronized void recordLatency(long latencyMillis) {
+        latencies[next] = latencyMillis;
+        next = (next + 1) % latencies.length;
+        size = Math.min(size + 1, latencies.length);
+    }
+
+    // 기록이 부족하면 -1. this로 동기화해야 합니다.
+    private long hedgeDelayMillis() {
+        if (size < minSamples) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(latencies, size);
+        Arrays.sort(sorted);
+        int index = Math.min(size - 1, Math.max(0, (int) Math.ceil(percentile * size) - 1));
+        return Math.max(minDelayMillis, sorted[index]);
+    }
+
+    private synchronized double currentDelayMillis() {
+        return hedgeDelayMillis();
+    }
+
+    private synchronized boolean tryAcquireBudget() {
+        if (budget < 1.0) {
+            return false;
+        }
+        budget -= 1.0;
+        return true;
+    }
+
+    private long elapsedMillis(long startedAt) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    }
+
+    private static int translatedCount(TranslationResult result) {
+        return (int) result.translations().stream().filter(Objects::nonNull).count();
+    }
+
+    /**
+     * 원래 요청과 추가 요청의 경쟁 하나입니다. 상태는 이 객체로 동기화하며, 결과 future는 lock 밖에서 완료합니다.
+     */
+    private final class Race {
+
+        private final TranslationRequest request;
+        private final CompletableFuture<TranslationResult> result = new CompletableFuture<>();
+        private final Set<Integer> notified = ConcurrentHashMap.newKeySet();
+        private final List<CompletableFuture<TranslationResult>> attempts = new ArrayList<>(2);
+        private int inFlight;
+        private boolean settled;
+        private TranslationResult best;
+        private boolean bestFromHedge;
+        private Throwable primaryError;
+        private Throwable hedgeError;
+
+        private Race(TranslationRequest request) {
+            this.request = request;
+        }
+
+        private CompletableFuture<TranslationResult> start(long delayMillis) {
+            synchronized (this) {
+                inFlight++;
+            }
+            attempt(false);
+            CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS).execute(() -> hedge(delayMillis));
+            return result;
+        }
+
+        private void hedge(long delayMillis) {
+            synchronized (this) {
+                if (settled) {
+                    return;
+                }
+                if (!tryAcquireBudget()) {
+                    budgetExhausted.increment();
+                    log.debug("No hedge budget left for a translation request waiting over {} ms", delayMillis);
+                    return;
+                }
+                inFlight++;
+            }
+            hedged.increment();
+            log.debug("Hedging translation request ({} sentences) after {} ms without response", request.sentences().size(), delayMillis);
+            attempt(true);
+        }
+
+        // 호출 전에 inFlight를 올려 두어야 합니다.
+        private void attempt(boolean hedge) {
+            BiConsumer<Integer, String> listener = request.listener() == null ? null : (index, translated) -> {
+                if (!result.isDone() && notified.add(index)) {
+                    request.notifyTranslated(index, translated);
+                }
+            };
+            long startedAt = System.nanoTime();
+            CompletableFuture<TranslationResult> future = send(
+                    new TranslationRequest(request.sentences(), request.paragraphSizes(), request.targetLang(), listener));
+            boolean lost;
+            synchronized (this) {
+                attempts.add(future);
+                lost = settled;
+            }
+            if (lost) {
+                future.cancel(true);
+                return;
+            }
+            future.whenComplete((translated, error) -> onComplete(hedge, future, translated, error, startedAt));
+        }
+
+        private void onComplete(boolean hedge, CompletableFuture<TranslationResult> attempt, TranslationResult translated,
+                                Throwable error, long startedAt) {
+            if (attempt.isCancelled()) {
+                return;
+            }
+            if (error == null) {
+                recordLatency(elapsedMillis(startedAt));
+            }
+            TranslationResult winner = null;
+            boolean winnerFromHedge = false;
+            Throwable failure = null;
+            List<CompletableFuture<TranslationResult>> losers;
+            synchronized (this) {
+                inFlight--;
+                if (settled) {
+                    return;
+                }
+                if (error == null && translatedCount(translated) == request.sentences().size()) {
+                    winner = translated;
+                    winnerFromHedge = hedge;
+                } else {
+                    if (error != null) {
+                        if (hedge) {
+                            hedgeError = error;
+                        } else {
+                            primaryError = error;
+                        }
+                    } else if (best == null || translatedCount(translated) > translatedCount(best)) {
+                        best = translated;
+                        bestFromHedge = hedge;
+                    }
+                    if (inFlight > 0) {
+                        // 다른 요청이 아직 진행 중이면 그 응답을 기다립니다.
+                        return;
+                    }
+                    winner = best;
+                    winnerFromHedge = bestFromHedge;
+                    failure = primaryError != null ? primaryError : hedgeError;
+                }
+                settled = true;
+                losers = new ArrayList<>(attempts);
+            }
+
+            for (CompletableFuture<TranslationResult> loser : losers) {
+                if (loser != attempt) {
+                    loser.cancel(true);
+                }
+            }
+            if (winner == null) {
+                result.completeExceptionally(failure);
+                return;
+            }
+            if (winnerFromHedge) {
+                hedgeWins.increment();
+            }
+            result.complete(winner);
+        }
+    }
+}
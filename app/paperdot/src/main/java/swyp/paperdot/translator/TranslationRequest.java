@@ -0,0 +1,62 @@
+package swyp.paperdot.translator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * 번역 백엔드에 보내는 배치 하나입니다.
+ *
+ * @param sentences      번역할 문장 목록 (문서 순서)
+ * @param paragraphSizes 문단 모드일 때 문단별 문장 수 (문서 순서, 합계는 sentences 크기). null이면 문장 모드입니다.
+ * @param targetLang     번역 목표 언어 코드 (e.g., "ko")
+ * @param listener       번역 문장이 확정될 때마다 (sentences 내 위치, 번역문)으로 호출됩니다. 먼저 알릴 수 없는 백엔드는 호출하지 않아도 됩니다.
+ */
+public record TranslationRequest(
+        List<String> sentences,
+        List<Integer> paragraphSizes,
+        String targetLang,
+        BiConsumer<Integer, String> listener
+) {
+
+    public static TranslationRequest sentences(List<String> sentences, String targetLang, BiConsumer<Integer, String> listener) {
+        return new TranslationRequest(sentences, null, targetLang, listener);
+    }
+
+    public static TranslationRequest paragraphs(List<List<String>> paragraphs, String targetLang, BiConsumer<Integer, String> listener) {
+        List<String> sentences = new ArrayList<>();
+        List<Integer> paragraphSizes = new ArrayList<>(paragraphs.size());
+        for (List<String> paragraph : paragraphs) {
+            sentences.addAll(paragraph);
+            paragraphSizes.add(paragraph.size());
+        }
+        return new TranslationRequest(sentences, paragraphSizes, targetLang, listener);
+    }
+
+    public boolean paragraphMode() {
+        return paragraphSizes != null;
+    }
+
+    /**
+     * 문단별 문장 목록으로 다시 묶습니다. 문장 모드에서는 문장마다 한 문단입니다.
+     */
+    public List<List<String>> paragraphs() {
+        List<List<String>> paragraphs = new ArrayList<>();
+        if (!paragraphMode()) {
+            sentences.forEach(sentence -> paragraphs.add(List.of(sentence)));
+            return paragraphs;
+        }
+        int start = 0;
+        for (int size : paragraphSizes) {
+            paragraphs.add(sentences.subList(start, start + size));
+            start += size;
+        }
+        return paragraphs;
+    }
+
+    void notifyTranslated(int index, String translated) {
+        if (listener != null) {
+            listener.accept(index, translated);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package swyp.paperdot.translator;
+
+import java.util.List;
+
+/**
+ * 번역 백엔드가 돌려주는 배치 하나의 결과입니다.
+ *
+ * @param translations     요청 문장과 같은 순서·개수의 번역문 목록. 응답에서 빠진 문장 자리는 null입니다.
+ * @param promptTokens     입력 토큰 수 (백엔드가 알려 주지 않으면 0)
+ * @param completionTokens 출력 토큰 수 (백엔드가 알려 주지 않으면 0)
+ * @param latencyMillis    요청을 보낸 뒤 응답을 다 받기까지 걸린 시간 (실행 대기 시간 제외)
+ * @param model            실제로 응답한 모델 이름 (대체 모델로 보냈다면 그 모델). 번역 메모리 키에 씁니다.
+ */
+public record TranslationResult(
+        List<String> translations,
+        long promptTokens,
+        long completionTokens,
+        long latencyMillis,
+        String model
+) {
+}
@@ -1,15 +1,19 @@
 package swyp.paperdot.translator;
 
-import swyp.paperdot.translator.dto.OpenAiTranslationDto.TranslationPair; // TranslationPair import
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * 문장 배치를 번역하는 백엔드입니다. translation.backend 설정으로 구현을 고릅니다(openai, fake).
+ *
+ * 호출은 요청을 맡기고 바로 돌아오며, 결과는 CompletableFuture로 받습니다.
+ * 실패(통신 오류, 응답 잘림, 파싱 실패 등)는 future를 TranslationException 계열 예외로 완료해 알립니다.
+ */
 public interface TranslatorPort {
 
     /**
-     * 원본 텍스트를 OpenAI에 보내 논리적 문장 단위로 분리하고, 각 문장을 번역하여 원본-번역 쌍의 리스트를 반환합니다.
-     * @param rawText 원본 전체 텍스트
-     * @param targetLang 번역 목표 언어 코드 (e.g., "ko")
-     * @return 원본-번역 쌍 (TranslationPair) 리스트
+     * 문장 배치를 번역합니다.
+     * @param request 번역할 문장, 문단 구성, 목표 언어와 문장별 도착 알림
+     * @return 번역문과 사용 토큰 수, 응답 시간을 담은 결과
      */
-    List<TranslationPair> extractAndTranslate(String rawText, String targetLang);
+    CompletableFuture<TranslationResult> translate(TranslationRequest request);
 }
@@ -1,10 +1,12 @@
 package swyp.paperdot.translator.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Map;
 
 // OpenAI Chat Completions API와의 통신을 위한 DTO들을 정의합니다.
 // 외부 클래스로 정의하여 재사용성을 높일 수 있지만, 여기서는 내부 클래스로 간단히 구성합니다.
@@ -14,19 +16,32 @@ public class OpenAiTranslationDto {
     public record ChatRequest(
             String model,
             List<Message> messages,
-            @JsonProperty("response_format") ResponseFormat responseFormat
+            @JsonProperty("response_format") ResponseFormat responseFormat,
+            // true면 응답을 server-sent events 청크로 나눠 받습니다. null이면 필드를 보내지 않습니다.
+            @JsonInclude(JsonInclude.Include.NON_NULL) Boolean stream,
+            @JsonProperty("stream_options") @JsonInclude(JsonInclude.Include.NON_NULL) StreamOptions streamOptions
     ) {
         // responseFormat을 명시적으로 지정하는 경우
         public static ChatRequest of(String model, List<Message> messages, ResponseFormat responseFormat) {
-            return new ChatRequest(model, messages, responseFormat);
+            return new ChatRequest(model, messages, responseFormat, null, null);
         }
 
         // responseFormat 없이 호출하는 경우 (기본값 null)
         public static ChatRequest of(String model, List<Message> messages) {
-            return new ChatRequest(model, messages, null); // responseFormat을 null로 설정
+            return new ChatRequest(model, messages, null, null, null); // responseFormat을 null로 설정
+        }
+
+        // 스트리밍 응답을 요청하는 경우. 마지막 청크로 토큰 사용량을 함께 받습니다.
+        public static ChatRequest streaming(String model, List<Message> messages, ResponseFormat responseFormat) {
+            return new ChatRequest(model, messages, responseFormat, true, new StreamOptions(true));
         }
     }
 
+    // 스트리밍 옵션. includeUsage면 선택지 없이 usage만 담긴 청크가 [DONE] 직전에 옵니다.
+    public record StreamOptions(
+            @JsonProperty("include_usage") boolean includeUsage
+    ) {}
+
     // 요청/응답에 사용될 메시지 구조
     public record Message(
             String role,
@@ -34,8 +49,36 @@ public class OpenAiTranslationDto {
     ) {}
 
     // JSON 응답 모드를 활성화하기 위한 객체
+    // type이 "json_schema"이면 응답이 jsonSchema의 스키마를 반드시 따르도록 합니다(structured output).
     public record ResponseFormat(
-            String type
+            String type,
+            @JsonProperty("json_schema") @JsonInclude(JsonInclude.Include.NON_NULL) JsonSchema jsonSchema
+    ) {
+        public ResponseFormat(String type) {
+            this(type, null);
+        }
+
+        public static ResponseFormat jsonSchema(String name, Map<String, Object> schema) {
+            return new ResponseFormat("json_schema", new JsonSchema(name, true, schema));
+        }
+    }
+
+    // structured output 스키마. strict이면 필드 누락이나 추가 필드 없이 스키마 그대로 생성됩니다.
+    public record JsonSchema(
+            String name,
+            boolean strict,
+            Map<String, Object> schema
+    ) {}
+
+    // 번역 요청·응답의 항목 하나. index는 입력 목록에서의 위치(0부터)입니다.
+    public record IndexedText(
+            int index,
+            String text
+    ) {}
+
+    // structured output 번역 응답 Body ({"translations": [{"index": 0, "text": "..."}, ...]})
+    public record IndexedTranslations(
+            List<IndexedText> translations
     ) {}
 
     // API 응답 Body 구조
@@ -43,6 +86,18 @@ public class OpenAiTranslationDto {
     @NoArgsConstructor
     public static class ChatResponse {
         private List<Choice> choices;
+        private Usage usage;
+    }
+
+    // 요청 하나의 토큰 사용량
+    @Getter
+    @NoArgsConstructor
+    public static class Usage {
+        @JsonProperty("prompt_tokens")
+        private long promptTokens;
+
+        @JsonProperty("completion_tokens")
+        private long completionTokens;
     }
 
     // 응답 내용 상세 구조
@@ -50,6 +105,10 @@ public class OpenAiTranslationDto {
     @NoArgsConstructor
     public static class Choice {
         private Message message;
+
+        // "stop"이면 정상 종료, "length"면 출력 토큰 한도에 걸려 응답이 잘린 것입니다.
+        @JsonProperty("finish_reason")
+        private String finishReason;
     }
 
     // 원본 문장과 번역된 문장 쌍을 위한 DTO
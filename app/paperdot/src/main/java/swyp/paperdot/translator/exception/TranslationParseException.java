@@ -0,0 +1,8 @@
+package swyp.paperdot.translator.exception;
+
+// 응답 본문을 기대한 JSON 형식으로 파싱하지 못했을 때 발생하는 예외
+public class TranslationParseException extends TranslationException {
+    public TranslationParseException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,8 @@
+package swyp.paperdot.translator.exception;
+
+// 출력 토큰 한도에 걸려 응답이 중간에 잘렸을 때(finish_reason=length) 발생하는 예외
+public class TranslationTruncatedException extends TranslationException {
+    public TranslationTruncatedException(String message) {
+        super(message, null);
+    }
+}
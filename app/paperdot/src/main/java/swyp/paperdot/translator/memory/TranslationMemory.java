@@ -0,0 +1,192 @@
+package swyp.paperdot.translator.memory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 문장 단위 번역 메모리입니다. 라이선스 문구, 소속 표기, 그림 캡션 상투구, 같은 PDF 재업로드처럼
+ * 이미 번역한 적 있는 문장은 OpenAI에 다시 보내지 않고 저장된 번역을 사용합니다.
+ *
+ * 키는 정규화한 원문(앞뒤 공백 제거, 연속 공백 축약)과 목표 언어, 모델 이름으로 만든 SHA-256입니다.
+ * 모델이 바뀌면 이전 모델의 번역은 적중하지 않습니다. 조회는 기본 모델(openai.api.model) 키로 하고,
+ * 저장은 실제로 번역한 모델의 키로 하므로 대체 모델의 번역이 기본 모델 조회에 섞이지 않습니다.
+ * 가짜 번역 백엔드(translation.backend=fake)의 출력은 번역이 아니므로 저장하지 않습니다(조회는 그대로 합니다).
+ * <ul>
+ *     <li>메모리 계층: 문자열 크기 합계 기준 LRU</li>
+ *     <li>DB 계층(선택): translation_memory 테이블. 메모리 미스를 한 번의 조회로 확인하고, 적중하면 메모리에 다시 채웁니다.</li>
+ * </ul>
+ * 적중/미스 횟수는 paperdot.translation.memory.requests(tier, result 태그), 절약한 추정 토큰 수는
+ * paperdot.translation.memory.tokens.saved 메트릭으로 노출됩니다.
+ */
+@Slf4j
+@Component
+public class TranslationMemory {
+
+    private final TranslationMemoryRepository repository;
+    private final boolean enabled;
+    private final boolean dbEnabled;
+    private final boolean storeEnabled;
+    private final String model;
+    private final TranslationMemoryLru lru;
+
+    private final Counter lruHits;
+    private final Counter dbHits;
+    private final Counter misses;
+    private final Counter tokensSaved;
+
+    public TranslationMemory(
+            TranslationMemoryRepository repository,
+            MeterRegistry meterRegistry,
+            @Value("${translation.memory.enabled:true}") boolean enabled,
+            @Value("${translation.memory.max-bytes:67108864}") long maxBytes,
+            @Value("${translation.memory.db-enabled:true}") boolean dbEnabled,
+            @Value("${openai.api.model}") String model,
+            @Value("${translation.backend:openai}") String backend
+    ) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.dbEnabled = dbEnabled;
+        this.storeEnabled = !"fake".equalsIgnoreCase(backend);
+        if (enabled && !storeEnabled) {
+            log.warn("Translation backend is '{}'; new translations will not be stored in translation memory.", backend);
+        }
+        this.model = model;
+        this.lru = new TranslationMemoryLru(maxBytes);
+
+        this.lruHits = meterRegistry.counter("paperdot.translation.memory.requests", "tier", "lru", "result", "hit");
+        this.dbHits = meterRegistry.counter("paperdot.translation.memory.requests", "tier", "db", "result", "hit");
+        this.misses = meterRegistry.counter("paperdot.translation.memory.requests", "tier", "all", "result", "miss");
+        this.tokensSaved = meterRegistry.counter("paperdot.translation.memory.tokens.saved");
+        Gauge.builder("paperdot.translation.memory.lru.bytes", lru, TranslationMemoryLru::totalBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("paperdot.translation.memory.lru.entries", lru, TranslationMemoryLru::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 원문 목록 중 번역 메모리에 있는 문장을 찾습니다. 메모리 → DB 순서로 조회합니다.
+     *
+     * @return 적중한 원문의 목록 내 위치 → 번역문
+     */
+    public Map<Integer, String> lookup(List<String> sourceTexts, String targetLang) {
+        Map<Integer, String> hits = new HashMap<>();
+        if (!enabled || sourceTexts.isEmpty()) {
+            return hits;
+        }
+
+        // 같은 배치 안의 중복 문장은 한 번만 DB에서 찾습니다.
+        Map<String, List<Integer>> missingPositions = new LinkedHashMap<>();
+        Map<String, String> normalizedByKey = new HashMap<>();
+        for (int i = 0; i < sourceTexts.size(); i++) {
+            String normalized = normalize(sourceTexts.get(i));
+            String key = keyOf(normalized, targetLang, model);
+            TranslationMemoryLru.Entry entry = lru.get(key);
+            if (entry != null && entry.sourceText().equals(normalized)) {
+                hits.put(i, entry.translatedText());
+                lruHits.increment();
+                continue;
+            }
+            missingPositions.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+            normalizedByKey.put(key, normalized);
+        }
+
+        if (dbEnabled && !missingPositions.isEmpty()) {
+            try {
+                for (TranslationMemoryEntity entity : repository.findAllById(missingPositions.keySet())) {
+                    if (!entity.getSourceText().equals(normalizedByKey.get(entity.getKeyHash()))) {
+                        continue;
+                    }
+                    lru.put(entity.getKeyHash(), new TranslationMemoryLru.Entry(entity.getSourceText(), entity.getTranslatedText()));
+                    for (Integer position : missingPositions.remove(entity.getKeyHash())) {
+                        hits.put(position, entity.getTranslatedText());
+                        dbHits.increment();
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("Failed to read translation memory from DB. size={}", missingPositions.size(), e);
+            }
+        }
+
+        missingPositions.values().forEach(positions -> misses.increment(positions.size()));
+        return hits;
+    }
+
+    /**
+     * 새로 번역한 문장을 저장합니다. 번역하지 못한 자리(null)는 건너뜁니다. 가짜 백엔드에서는 저장하지 않습니다.
+     * 저장 실패는 번역 결과에 영향을 주지 않도록 로그만 남깁니다.
+     *
+     * @param models 문장마다 실제로 번역한 모델 이름 (translatedTexts와 같은 순서·개수). 이 모델의 키로 저장합니다.
+     */
+    public void store(List<String> sourceTexts, List<String> translatedTexts, List<String> models, String targetLang) {
+        if (!enabled || !storeEnabled) {
+            return;
+        }
+        Map<String, TranslationMemoryEntity> entities = new LinkedHashMap<>();
+        for (int i = 0; i < sourceTexts.size(); i++) {
+            String translated = translatedTexts.get(i);
+            if (translated == null) {
+                continue;
+            }
+            String normalized = normalize(sourceTexts.get(i));
+            String translatedBy = models.get(i) != null ? models.get(i) : model;
+            String key = keyOf(normalized, targetLang, translatedBy);
+            lru.put(key, new TranslationMemoryLru.Entry(normalized, translated));
+            entities.putIfAbsent(key, TranslationMemoryEntity.builder()
+                    .keyHash(key)
+                    .targetLang(targetLang)
+                    .model(translatedBy)
+                    .sourceText(normalized)
+                    .translatedText(translated)
+                    .build());
+        }
+
+        if (dbEnabled && !entities.isEmpty()) {
+            try {
+                repository.saveAll(entities.values());
+            } catch (Exception e) {
+                // 다른 문서가 같은 문장을 동시에 저장한 경우 등
+                log.warn("Failed to store translation memory in DB. size={}", entities.size(), e);
+            }
+        }
+    }
+
+    /**
+     * 메모리 적중으로 보내지 않은 요청의 추정 토큰 수를 전역 메트릭에 더합니다.
+     */
+    public void recordTokensSaved(long tokens) {
+        tokensSaved.increment(tokens);
+    }
+
+    private String keyOf(String normalizedSource, String targetLang, String model) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(normalizedSource.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(targetLang.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(model.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private String normalize(String sourceText) {
+        return sourceText.strip().replaceAll("\\s+", " ");
+    }
+}
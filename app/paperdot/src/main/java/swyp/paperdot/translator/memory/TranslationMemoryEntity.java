@@ -0,0 +1,51 @@
+package swyp.paperdot.translator.memory;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+/**
+ * 번역 메모리의 DB 계층 엔티티입니다.
+ * 정규화한 원문·목표 언어·모델로 만든 SHA-256을 키로 문장 번역 결과를 저장합니다.
+ * 해시 충돌에 대비해 정규화한 원문도 함께 저장하고, 조회 시 원문이 같은지 확인합니다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "translation_memory")
+public class TranslationMemoryEntity {
+
+    @Id
+    @Column(length = 64)
+    private String keyHash;
+
+    @Column(nullable = false, length = 16)
+    private String targetLang;
+
+    @Column(nullable = false, length = 64)
+    private String model;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String sourceText;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String translatedText;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Builder
+    public TranslationMemoryEntity(String keyHash, String targetLang, String model, String sourceText, String translatedText) {
+        this.keyHash = keyHash;
+        this.targetLang = targetLang;
+        this.model = model;
+        this.sourceText = sourceText;
+        this.translatedText = translatedText;
+    }
+}
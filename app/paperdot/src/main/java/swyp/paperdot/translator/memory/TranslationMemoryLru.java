@@ -0,0 +1,62 @@
+package swyp.paperdot.translator.memory;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 번역 메모리의 프로세스 내 계층입니다. 원문·번역문 문자열 크기 합계가 maxBytes를 넘으면 가장 오래 사용되지 않은 항목부터 버립니다(LRU).
+ * 크기는 문자열 길이 × 2바이트에 항목당 고정 오버헤드를 더해 근사합니다.
+ */
+class TranslationMemoryLru {
+
+    // 키 문자열(64자), 맵 엔트리, 문자열 객체 헤더 등의 대략적인 크기
+    private static final long ENTRY_OVERHEAD_BYTES = 256;
+
+    private final long maxBytes;
+
+    // access-order LinkedHashMap: 가장 앞이 가장 오래 사용되지 않은 항목입니다.
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(1024, 0.75f, true);
+    private long totalBytes;
+
+    record Entry(String sourceText, String translatedText) {
+
+        long bytes() {
+            return ENTRY_OVERHEAD_BYTES + 2L * (sourceText.length() + translatedText.length());
+        }
+    }
+
+    TranslationMemoryLru(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    synchronized void put(String key, Entry entry) {
+        long bytes = entry.bytes();
+        if (bytes > maxBytes) {
+            return;
+        }
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            totalBytes -= previous.bytes();
+        }
+        totalBytes += bytes;
+
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            totalBytes -= iterator.next().getValue().bytes();
+            iterator.remove();
+        }
+    }
+
+    synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,6 @@
+package swyp.paperdot.translator.memory;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface TranslationMemoryRepository extends JpaRepository<TranslationMemoryEntity, String> {
+}
@@ -0,0 +1,254 @@
+package swyp.paperdot.translator.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+/**
+ * 번역 요청을 기본 모델(primary)과 대체 모델(fallback) 중 어디로 보낼지 정합니다.
+ *
+ * 모델마다 최근 window-size개 요청의 지연 시간과 오류 여부를 기억해 p50/p99 지연과 오류율을 계산하고,
+ * 어느 하나라도 임계값을 넘으면 그 모델의 회로를 엽니다(OPEN). 회로가 열린 동안 요청은 대체 모델로 보냅니다.
+ * open-duration-ms가 지나면 요청 하나만 기본 모델로 보내 보고(HALF_OPEN), 성공하면 다시 닫고 실패하면 다시 엽니다.
+ * 대체 모델이 없거나 대체 모델의 회로도 열려 있으면 기본 모델로 보냅니다.
+ *
+ * 오류로 세는 것은 통신 오류, 5xx, 429처럼 제공자 상태를 나타내는 실패뿐이며, 응답 파싱 실패나 잘림은 세지 않습니다(호출하는 쪽에서 판단).
+ * 모델별 상태와 지연은 paperdot.translation.route.* 메트릭(target 태그)으로 노출됩니다.
+ */
+@Slf4j
+@Component
+public class ModelRouter {
+
+    private enum CircuitState {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final boolean enabled;
+    private final int minSamples;
+    private final long p50ThresholdMillis;
+    private final long p99ThresholdMillis;
+    private final double errorRateThreshold;
+    private final long openDurationNanos;
+
+    private final TargetHealth primary;
+    private final TargetHealth fallback;
+
+    public ModelRouter(
+            MeterRegistry meterRegistry,
+            @Value("${openai.api.model}") String primaryModel,
+            @Value("${openai.api.url:https://api.openai.com/v1/chat/completions}") String primaryUrl,
+            @Value("${openai.routing.enabled:true}") boolean enabled,
+            @Value("${openai.routing.fallback-model:}") String fallbackModel,
+            @Value("${openai.routing.fallback-url:}") String fallbackUrl,
+            @Value("${openai.routing.window-size:50}") int windowSize,
+            @Value("${openai.routing.min-samples:10}") int minSamples,
+            @Value("${openai.routing.p50-threshold-ms:30000}") long p50ThresholdMillis,
+            @Value("${openai.routing.p99-threshold-ms:90000}") long p99ThresholdMillis,
+            @Value("${openai.routing.error-rate-threshold:0.5}") double errorRateThreshold,
+            @Value("${openai.routing.open-duration-ms:30000}") long openDurationMillis
+    ) {
+        int window = Math.max(1, windowSize);
+        this.minSamples = Math.max(1, Math.min(window, minSamples));
+        this.p50ThresholdMillis = p50ThresholdMillis;
+        this.p99ThresholdMillis = p99ThresholdMillis;
+        this.errorRateThreshold = errorRateThreshold;
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(openDurationMillis);
+
+        this.primary = new TargetHealth(new ModelTarget("primary", primaryModel, primaryUrl), window, meterRegistry);
+        boolean hasFallback = fallbackModel != null && !fallbackModel.isBlank();
+        this.fallback = hasFallback
+                ? new TargetHealth(new ModelTarget("fallback", fallbackModel,
+                        fallbackUrl == null || fallbackUrl.isBlank() ? primaryUrl : fallbackUrl), window, meterRegistry)
+                : null;
+        this.enabled = enabled && hasFallback;
+    }
+
+    /**
+     * 다음 요청을 보낼 대상을 고릅니다. 요청이 끝나면 반드시 record로 결과를 알리거나, 결과 없이 끝났으면 release를 불러야 합니다.
+     */
+    public ModelTarget select() {
+        if (!enabled) {
+            return primary.countRouted();
+        }
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (primary.state == CircuitState.OPEN && now - primary.openedAt >= openDurationNanos) {
+                primary.state = CircuitState.HALF_OPEN;
+                primary.probeInFlight = false;
+            }
+            if (primary.state == CircuitState.HALF_OPEN && !primary.probeInFlight) {
+                primary.probeInFlight = true;
+                log.info("Probing primary translation model {} after circuit open", primary.target.model());
+                return primary.countRouted();
+            }
+            if (primary.state == CircuitState.CLOSED) {
+                return primary.countRouted();
+            }
+            if (fallback.state == CircuitState.OPEN && now - fallback.openedAt >= openDurationNanos) {
+                fallback.state = CircuitState.CLOSED;
+                fallback.reset();
+            }
+            return fallback.state == CircuitState.CLOSED ? fallback.countRouted() : primary.countRouted();
+        }
+    }
+
+    /**
+     * 요청 하나의 결과를 반영합니다.
+     *
+     * @param failed 제공자 상태를 나타내는 실패(통신 오류, 5xx, 429)였는지 여부
+     */
+    public void record(ModelTarget target, long latencyMillis, boolean failed) {
+        TargetHealth health = target == primary.target ? primary : fallback;
+        if (health == null) {
+            return;
+        }
+        synchronized (this) {
+            health.add(latencyMillis, failed);
+            if (!enabled) {
+                return;
+            }
+            if (health.state == CircuitState.HALF_OPEN && health.probeInFlight) {
+                health.probeInFlight = false;
+                if (!failed && latencyMillis <= p99ThresholdMillis) {
+                    health.state = CircuitState.CLOSED;
+                    health.reset();
+                    log.info("Translation model {} recovered; circuit closed", target.model());
+                } else {
+                    open(health, "probe failed (latency " + latencyMillis + " ms, failed=" + failed + ")");
+                }
+                return;
+            }
+            if (health.state == CircuitState.CLOSED && health.size >= minSamples) {
+                String reason = health.degradedReason();
+                if (reason != null) {
+                    open(health, reason);
+                }
+            }
+        }
+    }
+
+    /**
+     * 결과 없이 끝난 요청(헤지 경쟁에서 져 취소된 경우 등)을 알립니다. 지연·오류 기록에는 넣지 않고,
+     * 그 요청이 HALF_OPEN 확인 요청이었다면 확인 자리만 돌려주어 다음 select()가 다시 확인하게 합니다.
+     */
+    public void release(ModelTarget target) {
+        TargetHealth health = target == primary.target ? primary : fallback;
+        if (health == null) {
+            return;
+        }
+        synchronized (this) {
+            if (health.state == CircuitState.HALF_OPEN && health.probeInFlight) {
+                health.probeInFlight = false;
+                log.debug("Probe to translation model {} ended without a result; releasing probe slot", target.model());
+            }
+        }
+    }
+
+    private void open(TargetHealth health, String reason) {
+        health.state = CircuitState.OPEN;
+        health.openedAt = System.nanoTime();
+        health.opened.increment();
+        log.warn("Opening circuit for translation model {} ({}): {}", health.target.model(), health.target.name(), reason);
+    }
+
+    // 대상 하나의 최근 요청 기록과 회로 상태. ModelRouter의 lock 안에서만 바꿉니다.
+    private final class TargetHealth {
+        private final ModelTarget target;
+        private final long[] latencies;
+        private final boolean[] failures;
+        private int next;
+        private int size;
+        private long p50;
+        private long p99;
+        private double errorRate;
+
+        private CircuitState state = CircuitState.CLOSED;
+        private long openedAt;
+        private boolean probeInFlight;
+
+        private final Counter routed;
+        private final Counter opened;
+
+        private TargetHealth(ModelTarget target, int window, MeterRegistry meterRegistry) {
+            this.target = target;
+            this.latencies = new long[window];
+            this.failures = new boolean[window];
+            this.routed = meterRegistry.counter("paperdot.translation.route.requests", "target", target.name());
+            this.opened = meterRegistry.counter("paperdot.translation.route.circuit.opened", "target", target.name());
+            Gauge.builder("paperdot.translation.route.latency.p50", this, health -> health.read(() -> health.p50))
+                    .tag("target", target.name()).baseUnit("milliseconds").register(meterRegistry);
+            Gauge.builder("paperdot.translation.route.latency.p99", this, health -> health.read(() -> health.p99))
+                    .tag("target", target.name()).baseUnit("milliseconds").register(meterRegistry);
+            Gauge.builder("paperdot.translation.route.error.rate", this, health -> health.read(() -> health.errorRate))
+                    .tag("target", target.name()).register(meterRegistry);
+            Gauge.builder("paperdot.translation.route.circuit.open", this,
+                            health -> health.read(() -> health.state == CircuitState.CLOSED ? 0 : 1))
+                    .tag("target", target.name()).register(meterRegistry);
+        }
+
+        private ModelTarget countRouted() {
+            routed.increment();
+            return target;
+        }
+
+        private void add(long latencyMillis, boolean failed) {
+            latencies[next] = latencyMillis;
+            failures[next] = failed;
+            next = (next + 1) % latencies.length;
+            size = Math.min(size + 1, latencies.length);
+
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            p50 = sorted[percentileIndex(size, 0.50)];
+            p99 = sorted[percentileIndex(size, 0.99)];
+            int failedCount = 0;
+            for (int i = 0; i < size; i++) {
+                if (failures[i]) {
+                    failedCount++;
+                }
+            }
+            errorRate = (double) failedCount / size;
+        }
+
+        private String degradedReason() {
+            if (errorRate > errorRateThreshold) {
+                return String.format("error rate %.2f > %.2f", errorRate, errorRateThreshold);
+            }
+            if (p99 > p99ThresholdMillis) {
+                return "p99 latency " + p99 + " ms > " + p99ThresholdMillis + " ms";
+            }
+            if (p50 > p50ThresholdMillis) {
+                return "p50 latency " + p50 + " ms > " + p50ThresholdMillis + " ms";
+            }
+            return null;
+        }
+
+        // 회로를 닫을 때 이전 기록으로 곧바로 다시 열리지 않도록 비웁니다.
+        private void reset() {
+            next = 0;
+            size = 0;
+            p50 = 0;
+            p99 = 0;
+            errorRate = 0;
+        }
+
+        private double read(DoubleSupplier value) {
+            synchronized (ModelRouter.this) {
+                return value.getAsDouble();
+            }
+        }
+
+        private int percentileIndex(int count, double percentile) {
+            return Math.min(count - 1, (int) Math.ceil(percentile * count) - 1);
+        }
+    }
+}
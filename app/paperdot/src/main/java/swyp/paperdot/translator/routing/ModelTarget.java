@@ -0,0 +1,11 @@
+package swyp.paperdot.translator.routing;
+
+/**
+ * 번역 요청을 보낼 수 있는 모델과 엔드포인트 한 쌍입니다.
+ *
+ * @param name  메트릭과 로그에 쓰는 이름 (primary, fallback)
+ * @param model 요청 Body의 model 값
+ * @param url   Chat Completions 엔드포인트
+ */
+public record ModelTarget(String name, String model, String url) {
+}
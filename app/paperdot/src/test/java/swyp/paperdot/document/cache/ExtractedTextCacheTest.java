@@ -0,0 +1,127 @@
+package swyp.paperdot.document.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import swyp.paperdot.document.pdf.PdfPageText;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * ExtractedTextCache 디스크 계층의 페이지 단위 쓰기/읽기를 확인합니다.
+ */
+class ExtractedTextCacheTest {
+
+    private static final String CHECKSUM = "a".repeat(64);
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void committedPagesAreReadBackInOrder() throws IOException {
+        ExtractedTextCache cache = cache();
+        try (ExtractedTextCache.PageWriter writer = cache.openWriter(CHECKSUM)) {
+            writer.add(page(1, "first"));
+            writer.add(page(2, "second"));
+            writer.add(page(3, "third"));
+            writer.commit();
+        }
+
+        List<PdfPageText> pages = new ArrayList<>();
+        OptionalInt count = cache().read(CHECKSUM, pages::add);
+
+        assertEquals(OptionalInt.of(3), count);
+        assertEquals(List.of("first", "second", "third"), texts(pages));
+        assertTrue(pages.stream().allMatch(PdfPageText::hasGlyphBoxes));
+    }
+
+    @Test
+    void writerClosedWithoutCommitStoresNothing() throws IOException {
+        ExtractedTextCache cache = cache();
+        try (ExtractedTextCache.PageWriter writer = cache.openWriter(CHECKSUM)) {
+            writer.add(page(1, "first"));
+        }
+
+        assertFalse(cache.read(CHECKSUM, page -> { }).isPresent());
+        assertEquals(1.0, meterRegistry.counter("paperdot.extract.cache.requests", "tier", "all", "result", "miss").count());
+    }
+
+    @Test
+    void unreadableEntryIsMissBeforeAnyPage() throws IOException {
+        writeEntry("not json");
+
+        List<PdfPageText> pages = new ArrayList<>();
+        assertFalse(cache().read(CHECKSUM, pages::add).isPresent());
+        assertTrue(pages.isEmpty());
+    }
+
+    @Test
+    void entryWithoutGlyphBoxesIsMiss() throws IOException {
+        writeEntry("[{\"pageNumber\":1,\"text\":\"first\"}]");
+
+        List<PdfPageText> pages = new ArrayList<>();
+        assertFalse(cache().read(CHECKSUM, pages::add).isPresent());
+        assertTrue(pages.isEmpty());
+    }
+
+    @Test
+    void truncatedEntryFailsAfterDeliveredPages() throws IOException {
+        writeEntry("[{\"pageNumber\":1,\"text\":\"ab\",\"glyphBoxes\":[0,0,1,1,1,0,2,1]},{\"pageNumber\":2,");
+
+        List<PdfPageText> pages = new ArrayList<>();
+        ExtractedTextCache cache = cache();
+        assertThrows(IOException.class, () -> cache.read(CHECKSUM, pages::add));
+        assertEquals(List.of("ab"), texts(pages));
+    }
+
+    @Test
+    void malformedChecksumIsNeverCached() throws IOException {
+        ExtractedTextCache cache = cache();
+        try (ExtractedTextCache.PageWriter writer = cache.openWriter("../etc/passwd")) {
+            writer.add(page(1, "first"));
+            writer.commit();
+        }
+
+        assertFalse(cache.read("../etc/passwd", page -> { }).isPresent());
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    // 캐시 파일은 생성 시점에 디렉터리를 훑어 등록되므로, 파일을 먼저 쓰고 새 인스턴스로 읽습니다.
+    private void writeEntry(String json) throws IOException {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(directory.resolve(CHECKSUM + ".json.gz")))) {
+            out.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private ExtractedTextCache cache() {
+        return new ExtractedTextCache(mock(ExtractedTextCacheRepository.class), new ObjectMapper(), meterRegistry,
+                true, directory.toString(), 1024 * 1024, false);
+    }
+
+    private static PdfPageText page(int pageNumber, String text) {
+        return new PdfPageText(pageNumber, text, new float[text.length() * 4]);
+    }
+
+    private static List<String> texts(List<PdfPageText> pages) {
+        return pages.stream().map(PdfPageText::text).toList();
+    }
+}
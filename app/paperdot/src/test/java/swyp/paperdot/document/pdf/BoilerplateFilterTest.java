@@ -0,0 +1,106 @@
+package swyp.paperdot.document.pdf;
+
+import org.junit.jupiter.api.Test;
+import swyp.paperdot.translator.TokenEstimator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * BoilerplateFilter의 반복 헤더/푸터, 페이지 번호 제거와 글리프 좌표 정렬을 확인합니다.
+ */
+class BoilerplateFilterTest {
+
+    private static final List<String> BODIES = List.of(
+            "Sentences are split after this stage.\n",
+            "Repeated lines would leak into them.\n",
+            "So the filter strips page edges.\n",
+            "Only lines that repeat are removed.\n");
+
+    private final TokenEstimator tokenEstimator = new TokenEstimator();
+    private final List<PdfPageText> output = new ArrayList<>();
+
+    @Test
+    void repeatedHeaderAndPageNumbersAreRemoved() {
+        BoilerplateFilter filter = filter(3);
+        for (int page = 1; page <= BODIES.size(); page++) {
+            filter.accept(page(page, "Journal of Testing, Vol. " + page + "\n" + BODIES.get(page - 1) + page + "\n"));
+        }
+        filter.finish();
+
+        assertEquals(BODIES, texts());
+        assertEquals(8, filter.removedLines());
+        assertEquals(removedTokens("Journal of Testing, Vol. #\n", "#\n"), filter.removedTokens());
+    }
+
+    @Test
+    void romanPageNumbersAreRemovedOnlyWhenWellFormed() {
+        BoilerplateFilter filter = filter(3);
+        filter.accept(page(1, "Preface text.\nxiv\n"));
+        filter.accept(page(2, "More preface.\nxv\n"));
+        filter.accept(page(3, "Final words.\nmix\n"));
+        filter.finish();
+
+        assertEquals(List.of("Preface text.\n", "More preface.\n", "Final words.\nmix\n"), texts());
+    }
+
+    @Test
+    void pageNumberShapeAloneIsKeptUntilItsSlotRepeats() {
+        BoilerplateFilter filter = filter(2);
+        filter.accept(page(1, "I\nthink therefore I am.\n"));
+        filter.accept(page(2, "A different opening line.\nand more body text.\n"));
+        filter.finish();
+
+        assertEquals(List.of("I\nthink therefore I am.\n", "A different opening line.\nand more body text.\n"), texts());
+        assertEquals(0, filter.removedLines());
+    }
+
+    @Test
+    void glyphBoxesAreCutWithTheText() {
+        BoilerplateFilter filter = filter(2);
+        filter.accept(page(1, "Body one.\n1\n"));
+        filter.accept(page(2, "Body two.\n2\n"));
+        filter.finish();
+
+        for (PdfPageText page : output) {
+            assertEquals(page.text().length() * 4, page.glyphBoxes().length);
+            // 남은 글자의 좌표는 원래 위치(인덱스)의 좌표 그대로입니다.
+            assertEquals(0f, page.glyphBoxes()[0]);
+            assertEquals(8f, page.glyphBoxes()[8 * 4]);
+        }
+        assertTrue(output.stream().allMatch(page -> page.text().startsWith("Body")));
+    }
+
+    private BoilerplateFilter filter(int learnPages) {
+        return new BoilerplateFilter(learnPages, 3, 2, tokenEstimator::estimate, output::add);
+    }
+
+    private long removedTokens(String... linesPerPage) {
+        long tokens = 0;
+        for (int page = 1; page <= 4; page++) {
+            for (String line : linesPerPage) {
+                tokens += tokenEstimator.estimate(line.replace("#", String.valueOf(page)));
+            }
+        }
+        return tokens;
+    }
+
+    private List<String> texts() {
+        return output.stream().map(PdfPageText::text).toList();
+    }
+
+    // 글자 i의 좌표를 (i, 0, i + 1, 1)로 채워 잘린 뒤에도 원래 위치를 알 수 있게 합니다.
+    private static PdfPageText page(int pageNumber, String text) {
+        float[] boxes = new float[text.length() * 4];
+        for (int i = 0; i < text.length(); i++) {
+            boxes[i * 4] = i;
+            boxes[i * 4 + 1] = 0;
+            boxes[i * 4 + 2] = i + 1;
+            boxes[i * 4 + 3] = 1;
+        }
+        return new PdfPageText(pageNumber, text, boxes);
+    }
+}
@@ -0,0 +1,214 @@
+package swyp.paperdot.document.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import swyp.paperdot.doc_units.docUnits.docUnitsEntity;
+import swyp.paperdot.doc_units.enums.UnitStatus;
+import swyp.paperdot.doc_units.enums.UnitType;
+import swyp.paperdot.translator.TokenEstimator;
+import swyp.paperdot.translator.TranslationBatchBudget;
+import swyp.paperdot.translator.TranslationCoalescer;
+import swyp.paperdot.translator.TranslationHedger;
+import swyp.paperdot.translator.TranslationResult;
+import swyp.paperdot.translator.TranslatorPort;
+import swyp.paperdot.translator.exception.TranslationException;
+import swyp.paperdot.translator.exception.TranslationParseException;
+
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * BatchTranslator의 재시도·분할·빠진 문장 재전송 규칙을 스크립트로 응답하는 백엔드로 확인합니다.
+ * 합치기(coalesce)와 헤지는 꺼 두어 요청이 그대로 백엔드에 도착하게 합니다.
+ */
+class BatchTranslatorTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<List<String>> requests = new CopyOnWriteArrayList<>();
+    private final DocumentTranslationStats stats = new DocumentTranslationStats();
+
+    @Test
+    void bisectionStopsAtSingleSentence() throws Exception {
+        List<docUnitsEntity> units = units("s0", "s1", "bad", "s3");
+        BatchTranslator batchTranslator = batchTranslator(sentences -> {
+            if (sentences.contains("bad")) {
+                throw new TranslationParseException("unparseable response", null);
+            }
+            return translate(sentences);
+        });
+
+        List<String> result = run(batchTranslator, units);
+
+        assertEquals(4, result.size());
+        assertEquals("t:s0", result.get(0));
+        assertEquals("t:s1", result.get(1));
+        assertNull(result.get(2));
+        assertEquals("t:s3", result.get(3));
+        // [s0 s1 bad s3] → [s0 s1] + [bad s3] → [bad] + [s3]. 문장 하나가 되면 더 나누지 않습니다.
+        assertEquals(2, stats.bisections());
+        assertEquals(1, stats.failedUnits());
+        assertEquals(1, requests.stream().filter(sentences -> sentences.equals(List.of("bad"))).count());
+        assertEquals(0, stats.retries());
+    }
+
+    @Test
+    void missingIndexIsRequeuedAlone() throws Exception {
+        List<docUnitsEntity> units = units("s0", "s1", "s2");
+        BatchTranslator batchTranslator = batchTranslator(sentences -> {
+            List<String> translated = translate(sentences);
+            if (requests.size() == 1) {
+                // 첫 응답에서 s1이 빠집니다.
+                translated.set(1, null);
+            }
+            return translated;
+        });
+
+        List<String> result = run(batchTranslator, units);
+
+        assertEquals(List.of("t:s0", "t:s1", "t:s2"), result);
+        assertEquals(2, requests.size());
+        assertEquals(List.of("s1"), requests.get(1));
+        assertEquals(1, stats.requeuedUnits());
+        assertEquals(0, stats.bisections());
+        assertEquals(0, stats.failedUnits());
+    }
+
+    @Test
+    void responseWithNothingUsableIsBisected() throws Exception {
+        List<docUnitsEntity> units = units("s0", "s1");
+        BatchTranslator batchTranslator = batchTranslator(sentences -> {
+            List<String> translated = translate(sentences);
+            if (sentences.size() > 1) {
+                translated.replaceAll(text -> null);
+            }
+            return translated;
+        });
+
+        List<String> result = run(batchTranslator, units);
+
+        assertEquals(List.of("t:s0", "t:s1"), result);
+        assertEquals(1, stats.bisections());
+        assertEquals(0, stats.requeuedUnits());
+        assertEquals(0, stats.failedUnits());
+    }
+
+    @Test
+    void transientErrorIsRetried() throws Exception {
+        List<docUnitsEntity> units = units("s0", "s1");
+        BatchTranslator batchTranslator = batchTranslator(sentences -> {
+            if (requests.size() == 1) {
+                throw new TranslationException("timeout", new SocketTimeoutException("read timed out"));
+            }
+            return translate(sentences);
+        });
+
+        List<String> result = run(batchTranslator, units);
+
+        assertEquals(List.of("t:s0", "t:s1"), result);
+        assertEquals(2, requests.size());
+        assertEquals(1, stats.retries());
+        assertEquals(0, stats.bisections());
+    }
+
+    @Test
+    void rateLimitIsTransientUntilAttemptsRunOut() throws Exception {
+        List<docUnitsEntity> units = units("s0", "s1");
+        BatchTranslator batchTranslator = batchTranslator(sentences -> {
+            throw new TranslationException("rate limited", new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS));
+        });
+
+        List<String> result = run(batchTranslator, units);
+
+        assertNull(result.get(0));
+        assertNull(result.get(1));
+        assertEquals(MAX_ATTEMPTS, requests.size());
+        assertEquals(MAX_ATTEMPTS - 1, stats.retries());
+        assertEquals(2, stats.failedUnits());
+    }
+
+    @Test
+    void permanentErrorFailsWholeBatchWithoutRetry() throws Exception {
+        List<docUnitsEntity> units = units("s0", "s1", "s2");
+        BatchTranslator batchTranslator = batchTranslator(sentences -> {
+            throw new TranslationException("unauthorized", new HttpClientErrorException(HttpStatus.UNAUTHORIZED));
+        });
+
+        List<String> result = run(batchTranslator, units);
+
+        assertEquals(3, result.size());
+        result.forEach(translated -> assertNull(translated));
+        assertEquals(1, requests.size());
+        assertEquals(0, stats.retries());
+        assertEquals(0, stats.bisections());
+        assertEquals(3, stats.failedUnits());
+    }
+
+    @Test
+    void resultCarriesServingModel() throws Exception {
+        BatchTranslator batchTranslator = batchTranslator(BatchTranslatorTest::translate);
+
+        List<BatchTranslator.TranslatedText> result = batchTranslator.translate(1L, units("s0"), "ko", false, 100, stats, (unit, text) -> { })
+                .get(5, TimeUnit.SECONDS);
+
+        assertNotNull(result.get(0));
+        assertEquals("stub-model", result.get(0).model());
+    }
+
+    private BatchTranslator batchTranslator(Function<List<String>, List<String>> responder) {
+        TranslatorPort translatorPort = request -> {
+            requests.add(List.copyOf(request.sentences()));
+            try {
+                return CompletableFuture.completedFuture(new TranslationResult(responder.apply(request.sentences()), 0, 0, 1, "stub-model"));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        };
+        TranslationBatchBudget budget = new TranslationBatchBudget(meterRegistry, 2000, 300, 6000, 250, 0.5, 30000);
+        TranslationHedger hedger = new TranslationHedger(translatorPort, meterRegistry, false, 0.95, 2000, 200, 20, 0.05, 5);
+        TranslationCoalescer coalescer = new TranslationCoalescer(hedger, budget, new TokenEstimator(), meterRegistry,
+                false, 50, 0.5, 100);
+        return new BatchTranslator(coalescer, budget, MAX_ATTEMPTS, 1, 2);
+    }
+
+    private List<String> run(BatchTranslator batchTranslator, List<docUnitsEntity> units) throws Exception {
+        List<BatchTranslator.TranslatedText> translated = batchTranslator.translate(1L, units, "ko", false, 100, stats, (unit, text) -> { })
+                .get(5, TimeUnit.SECONDS);
+        List<String> texts = new ArrayList<>(translated.size());
+        translated.forEach(text -> texts.add(text == null ? null : text.text()));
+        return texts;
+    }
+
+    private static List<String> translate(List<String> sentences) {
+        List<String> translated = new ArrayList<>(sentences.size());
+        sentences.forEach(sentence -> translated.add("t:" + sentence));
+        return translated;
+    }
+
+    private static List<docUnitsEntity> units(String... sourceTexts) {
+        List<docUnitsEntity> units = new ArrayList<>(sourceTexts.length);
+        for (int i = 0; i < sourceTexts.length; i++) {
+            units.add(docUnitsEntity.builder()
+                    .documentId(1L)
+                    .unitType(UnitType.SENTENCE)
+                    .orderInDoc(i)
+                    .sourceText(sourceTexts[i])
+                    .status(UnitStatus.CREATED)
+                    .paragraphIndex(0)
+                    .build());
+        }
+        return units;
+    }
+}
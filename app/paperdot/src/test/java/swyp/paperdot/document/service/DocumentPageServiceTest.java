@@ -0,0 +1,103 @@
+package swyp.paperdot.document.service;
+
+import org.junit.jupiter.api.Test;
+import swyp.paperdot.document.domain.Document;
+import swyp.paperdot.document.domain.DocumentPage;
+import swyp.paperdot.document.pdf.PdfPageText;
+import swyp.paperdot.document.repository.DocumentPageRepository;
+import swyp.paperdot.document.repository.DocumentRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * doc_pages에서 저장된 페이지로 재개하는 경로와 페이지 수 불일치 시 재추출로 넘어가는 경로를 확인합니다.
+ */
+class DocumentPageServiceTest {
+
+    private static final Long DOCUMENT_ID = 7L;
+
+    private final DocumentRepository documentRepository = mock(DocumentRepository.class);
+    private final DocumentPageRepository documentPageRepository = mock(DocumentPageRepository.class);
+    private final DocumentPageService service = new DocumentPageService(documentRepository, documentPageRepository);
+
+    @Test
+    void completedDocumentIsReadBackInPageWindows() {
+        int totalPages = DocumentPageService.READ_CHUNK_SIZE * 2 + 3;
+        givenDocument(true, totalPages);
+        when(documentPageRepository.countByDocumentId(DOCUMENT_ID)).thenReturn((long) totalPages);
+        when(documentPageRepository.findByDocumentIdAndPageNumberBetweenOrderByPageNumberAsc(eq(DOCUMENT_ID), anyInt(), anyInt()))
+                .thenAnswer(invocation -> pages(invocation.getArgument(1), invocation.getArgument(2)));
+
+        List<Integer> delivered = new ArrayList<>();
+        OptionalInt result = service.readCompletedPages(DOCUMENT_ID, page -> delivered.add(page.pageNumber()));
+
+        assertEquals(OptionalInt.of(totalPages), result);
+        assertEquals(IntStream.rangeClosed(1, totalPages).boxed().toList(), delivered);
+        verify(documentPageRepository).findByDocumentIdAndPageNumberBetweenOrderByPageNumberAsc(
+                DOCUMENT_ID, DocumentPageService.READ_CHUNK_SIZE * 2 + 1, totalPages);
+    }
+
+    @Test
+    void documentWithoutCompletionMarkIsNotResumed() {
+        givenDocument(false, 3);
+
+        assertFalse(service.readCompletedPages(DOCUMENT_ID, page -> { }).isPresent());
+        verify(documentPageRepository, never()).countByDocumentId(anyLong());
+    }
+
+    @Test
+    void storedPageCountMismatchFallsBackBeforeAnyPage() {
+        givenDocument(true, 5);
+        when(documentPageRepository.countByDocumentId(DOCUMENT_ID)).thenReturn(4L);
+
+        List<PdfPageText> delivered = new ArrayList<>();
+        assertFalse(service.readCompletedPages(DOCUMENT_ID, delivered::add).isPresent());
+        assertTrue(delivered.isEmpty());
+        verify(documentPageRepository, never())
+                .findByDocumentIdAndPageNumberBetweenOrderByPageNumberAsc(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    void pagesDisappearingWhileResumingFail() {
+        int totalPages = DocumentPageService.READ_CHUNK_SIZE + 2;
+        givenDocument(true, totalPages);
+        when(documentPageRepository.countByDocumentId(DOCUMENT_ID)).thenReturn((long) totalPages);
+        when(documentPageRepository.findByDocumentIdAndPageNumberBetweenOrderByPageNumberAsc(eq(DOCUMENT_ID), anyInt(), anyInt()))
+                .thenAnswer(invocation -> (int) invocation.getArgument(1) == 1
+                        ? pages(1, DocumentPageService.READ_CHUNK_SIZE)
+                        : List.of());
+
+        List<PdfPageText> delivered = new ArrayList<>();
+        assertThrows(IllegalStateException.class, () -> service.readCompletedPages(DOCUMENT_ID, delivered::add));
+        assertEquals(DocumentPageService.READ_CHUNK_SIZE, delivered.size());
+    }
+
+    private void givenDocument(boolean extractionCompleted, int totalPages) {
+        Document document = mock(Document.class);
+        when(document.isExtractionCompleted()).thenReturn(extractionCompleted);
+        when(document.getTotalPages()).thenReturn(totalPages);
+        when(documentRepository.findById(DOCUMENT_ID)).thenReturn(Optional.of(document));
+    }
+
+    private static List<DocumentPage> pages(int fromPage, int toPage) {
+        return IntStream.rangeClosed(fromPage, toPage)
+                .mapToObj(pageNumber -> DocumentPage.of(DOCUMENT_ID, new PdfPageText(pageNumber, "page " + pageNumber)))
+                .toList();
+    }
+}
@@ -0,0 +1,151 @@
+package swyp.paperdot.document.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import swyp.paperdot.document.service.TranslationBatchDispatcher.BatchRange;
+import swyp.paperdot.document.service.TranslationBatchDispatcher.PriorityWindow;
+import swyp.paperdot.document.service.TranslationBatchDispatcher.PriorityWindow.WindowType;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TranslationBatchDispatcher의 우선 범위 처리와 대기열 한도(backpressure)를 확인합니다.
+ * 동시 실행 한도를 1로 두고, 첫 배치를 테스트가 끝낼 때까지 붙잡아 두어 대기열 순서를 관찰합니다.
+ */
+class TranslationBatchDispatcherTest {
+
+    private static final Long DOCUMENT_ID = 1L;
+
+    private final List<Integer> started = new CopyOnWriteArrayList<>();
+    private final CompletableFuture<Void> blocker = new CompletableFuture<>();
+
+    @Test
+    void pendingBatchesRunInOrder() {
+        TranslationBatchDispatcher dispatcher = new TranslationBatchDispatcher(new SimpleAsyncTaskExecutor(), 1, 8);
+
+        try (TranslationBatchDispatcher.Dispatch dispatch = dispatcher.open(DOCUMENT_ID)) {
+            dispatch.submit(0, page(0), blocking(0));
+            for (int batch = 1; batch <= 3; batch++) {
+                dispatch.submit(batch, page(batch), immediate(batch));
+            }
+            blocker.complete(null);
+        }
+
+        assertEquals(List.of(0, 1, 2, 3), started);
+    }
+
+    @Test
+    void pageWindowRunsOverlappingBatchFirst() {
+        TranslationBatchDispatcher dispatcher = new TranslationBatchDispatcher(new SimpleAsyncTaskExecutor(), 1, 8);
+
+        try (TranslationBatchDispatcher.Dispatch dispatch = dispatcher.open(DOCUMENT_ID)) {
+            dispatch.submit(0, page(0), blocking(0));
+            for (int batch = 1; batch <= 4; batch++) {
+                dispatch.submit(batch, page(batch), immediate(batch));
+            }
+            assertTrue(dispatcher.prioritize(DOCUMENT_ID, new PriorityWindow(WindowType.PAGE, 4, 4)));
+            blocker.complete(null);
+        }
+
+        // 우선 범위의 배치가 나간 뒤에는 다시 순서대로 실행합니다.
+        assertEquals(List.of(0, 4, 1, 2, 3), started);
+    }
+
+    @Test
+    void orderWindowRunsOverlappingBatchesFirst() {
+        TranslationBatchDispatcher dispatcher = new TranslationBatchDispatcher(new SimpleAsyncTaskExecutor(), 1, 8);
+
+        try (TranslationBatchDispatcher.Dispatch dispatch = dispatcher.open(DOCUMENT_ID)) {
+            dispatch.submit(0, orders(0), blocking(0));
+            for (int batch = 1; batch <= 4; batch++) {
+                dispatch.submit(batch, orders(batch), immediate(batch));
+            }
+            // 배치마다 문장 10개이므로 orderInDoc 25..35는 배치 2와 3에 걸칩니다.
+            assertTrue(dispatcher.prioritize(DOCUMENT_ID, new PriorityWindow(WindowType.ORDER, 25, 35)));
+            blocker.complete(null);
+        }
+
+        assertEquals(List.of(0, 2, 3, 1, 4), started);
+    }
+
+    @Test
+    void submitWaitsWhilePendingQueueIsFull() throws Exception {
+        TranslationBatchDispatcher dispatcher = new TranslationBatchDispatcher(new SimpleAsyncTaskExecutor(), 1, 2);
+
+        try (TranslationBatchDispatcher.Dispatch dispatch = dispatcher.open(DOCUMENT_ID)) {
+            dispatch.submit(0, page(0), blocking(0));
+            dispatch.submit(1, page(1), immediate(1));
+            dispatch.submit(2, page(2), immediate(2));
+
+            CompletableFuture<Void> third = CompletableFuture.runAsync(() -> dispatch.submit(3, page(3), immediate(3)));
+            Thread.sleep(200);
+            assertFalse(third.isDone());
+
+            blocker.complete(null);
+            third.get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(List.of(0, 1, 2, 3), started);
+    }
+
+    @Test
+    void failedBatchReleasesItsSlot() {
+        TranslationBatchDispatcher dispatcher = new TranslationBatchDispatcher(new SimpleAsyncTaskExecutor(), 1, 8);
+
+        try (TranslationBatchDispatcher.Dispatch dispatch = dispatcher.open(DOCUMENT_ID)) {
+            dispatch.submit(0, page(0), () -> {
+                started.add(0);
+                throw new IllegalStateException("batch 0 failed");
+            });
+            dispatch.submit(1, page(1), () -> {
+                started.add(1);
+                return CompletableFuture.failedFuture(new IllegalStateException("batch 1 failed"));
+            });
+            dispatch.submit(2, page(2), immediate(2));
+        }
+
+        assertEquals(List.of(0, 1, 2), started);
+    }
+
+    @Test
+    void prioritizeIgnoresDocumentsNotBeingTranslated() {
+        TranslationBatchDispatcher dispatcher = new TranslationBatchDispatcher(new SimpleAsyncTaskExecutor(), 1, 8);
+        PriorityWindow window = new PriorityWindow(WindowType.PAGE, 1, 1);
+
+        assertFalse(dispatcher.prioritize(DOCUMENT_ID, window));
+        try (TranslationBatchDispatcher.Dispatch dispatch = dispatcher.open(DOCUMENT_ID)) {
+            assertTrue(dispatcher.prioritize(DOCUMENT_ID, window));
+        }
+        assertFalse(dispatcher.prioritize(DOCUMENT_ID, window));
+    }
+
+    private Supplier<CompletableFuture<?>> blocking(int batchIndex) {
+        return () -> {
+            started.add(batchIndex);
+            return blocker;
+        };
+    }
+
+    private Supplier<CompletableFuture<?>> immediate(int batchIndex) {
+        return () -> {
+            started.add(batchIndex);
+            return CompletableFuture.completedFuture(null);
+        };
+    }
+
+    private static BatchRange page(int page) {
+        return new BatchRange(page * 10, page * 10 + 9, page, page);
+    }
+
+    private static BatchRange orders(int batchIndex) {
+        return new BatchRange(batchIndex * 10, batchIndex * 10 + 9, null, null);
+    }
+}
@@ -0,0 +1,111 @@
+package swyp.paperdot.document.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * SentenceSegmenter의 줄 끝 하이픈 병합, 문단 번호, 조각 단위 오프셋 규칙을 확인합니다.
+ */
+class SentenceSegmenterTest {
+
+    private final SentenceSegmenter segmenter = new SentenceSegmenter();
+
+    @Test
+    void hyphenAtLineEndIsMerged() {
+        List<Sentence> sentences = segment("An exam-\nple sentence. Next one.");
+
+        assertEquals(List.of(
+                new Sentence(0, 22, "An example sentence.", 0),
+                new Sentence(23, 32, "Next one.", 0)
+        ), sentences);
+    }
+
+    @Test
+    void inlineHyphenIsKept() {
+        assertEquals(List.of("A well-known fact."), texts(segment("A well-known fact.")));
+        assertEquals(List.of("A well- known fact."), texts(segment("A well- known fact.")));
+    }
+
+    @Test
+    void hyphenBeforeBlankLineIsKept() {
+        assertEquals(List.of("Ends with a- Next line."), texts(segment("Ends with a-\n\nNext line.")));
+    }
+
+    @Test
+    void hyphenAcrossPageBreakIsMerged() {
+        List<Sentence> sentences = new ArrayList<>();
+        SentenceSegmenter.Session session = segmenter.open(collector(sentences));
+        session.append("Page one ends exam-");
+        session.breakLine();
+        session.append("ple. Next.");
+        session.finish();
+
+        assertEquals(List.of("Page one ends example.", "Next."), texts(sentences));
+    }
+
+    @Test
+    void blankLineStartsNewParagraph() {
+        List<Sentence> sentences = segment("First. Second.\n\nThird.\nFourth.\n\n\nFifth.");
+
+        assertEquals(List.of("First.", "Second.", "Third.", "Fourth.", "Fifth."), texts(sentences));
+        assertEquals(List.of(0, 0, 1, 1, 2), paragraphs(sentences));
+    }
+
+    @Test
+    void headingWithoutPeriodBelongsToFollowingParagraph() {
+        List<Sentence> sentences = segment("Intro.\n\nMethods\n\nWe measured it.");
+
+        assertEquals(List.of("Intro.", "Methods We measured it."), texts(sentences));
+        assertEquals(List.of(0, 2), paragraphs(sentences));
+    }
+
+    @Test
+    void crlfIsOneLineBreak() {
+        List<Sentence> sentences = segment("One.\r\nTwo.\r\n\r\nThree.");
+
+        assertEquals(List.of(
+                new Sentence(0, 4, "One.", 0),
+                new Sentence(6, 10, "Two.", 0),
+                new Sentence(14, 20, "Three.", 1)
+        ), sentences);
+    }
+
+    @Test
+    void offsetsContinueAcrossChunks() {
+        List<Sentence> sentences = new ArrayList<>();
+        SentenceSegmenter.Session session = segmenter.open(collector(sentences));
+        session.append("Hello wor");
+        session.append("ld. Bye.");
+        session.finish();
+
+        assertEquals(List.of(
+                new Sentence(0, 12, "Hello world.", 0),
+                new Sentence(13, 17, "Bye.", 0)
+        ), sentences);
+    }
+
+    private List<Sentence> segment(String text) {
+        List<Sentence> sentences = new ArrayList<>();
+        segmenter.segment(text, collector(sentences));
+        return sentences;
+    }
+
+    private static SentenceSegmenter.SentenceSink collector(List<Sentence> sentences) {
+        return (start, end, text, paragraph) -> sentences.add(new Sentence(start, end, text.toString(), paragraph));
+    }
+
+    private static List<String> texts(List<Sentence> sentences) {
+        return sentences.stream().map(Sentence::text).toList();
+    }
+
+    private static List<Integer> paragraphs(List<Sentence> sentences) {
+        return sentences.stream().map(Sentence::paragraph).toList();
+    }
+
+    private record Sentence(int start, int end, String text, int paragraph) {
+    }
+}
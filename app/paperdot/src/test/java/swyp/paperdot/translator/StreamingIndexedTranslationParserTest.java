@@ -0,0 +1,68 @@
+package swyp.paperdot.translator;
+
+import org.junit.jupiter.api.Test;
+import swyp.paperdot.translator.exception.TranslationParseException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 조각으로 도착하는 structured output 응답을 항목이 닫힐 때마다 전달하는지 확인합니다.
+ */
+class StreamingIndexedTranslationParserTest {
+
+    private final List<String> received = new ArrayList<>();
+    private final StreamingIndexedTranslationParser parser =
+            new StreamingIndexedTranslationParser((index, text) -> received.add(index + "=" + text));
+
+    @Test
+    void itemIsDeliveredAsSoonAsItCloses() {
+        parser.feed("{\"translations\": [{\"index\": 0, \"text\": \"첫 ");
+        assertEquals(List.of(), received);
+
+        parser.feed("문장\"}, {\"index\": 1,");
+        assertEquals(List.of("0=첫 문장"), received);
+
+        parser.feed(" \"text\": \"둘째\"}]}");
+        parser.finish();
+        assertEquals(List.of("0=첫 문장", "1=둘째"), received);
+    }
+
+    @Test
+    void fieldOrderDoesNotMatterAndIndicesAreReportedAsGiven() {
+        feedByCharacter("{\"translations\":[{\"text\":\"b\",\"index\":5},{\"index\":2,\"text\":\"a\"}]}");
+        parser.finish();
+
+        assertEquals(List.of("5=b", "2=a"), received);
+    }
+
+    @Test
+    void itemWithoutIndexOrTextIsSkipped() {
+        parser.feed("{\"translations\":[{\"index\":0},{\"text\":\"orphan\"},{\"index\":1,\"text\":\"kept\"}]}");
+        parser.finish();
+
+        assertEquals(List.of("1=kept"), received);
+    }
+
+    @Test
+    void bareArrayIsRejected() {
+        assertThrows(TranslationParseException.class, () -> parser.feed("[\"a\", \"b\"]"));
+    }
+
+    @Test
+    void unclosedObjectFailsOnFinish() {
+        parser.feed("{\"translations\":[{\"index\":0,\"text\":\"done\"},{\"index\":1,\"te");
+
+        assertThrows(TranslationParseException.class, parser::finish);
+        assertEquals(List.of("0=done"), received);
+    }
+
+    private void feedByCharacter(String json) {
+        for (int i = 0; i < json.length(); i++) {
+            parser.feed(json.substring(i, i + 1));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package swyp.paperdot.translator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 작은 요청을 합쳐 보낸 뒤 번역문·스트리밍 알림·토큰 사용량을 원래 요청별로 나눠 돌려주는지 확인합니다.
+ * 헤지는 꺼 두고, batch-size를 4로 두어 두 번째 요청이 들어오는 순간 묶음이 가득 차 바로 보내지게 합니다.
+ */
+class TranslationCoalescerTest {
+
+    private static final int MAX_SENTENCES = 4;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<TranslationRequest> sent = new CopyOnWriteArrayList<>();
+
+    @Test
+    void smallRequestsAreMergedAndSplitBack() throws Exception {
+        TranslationCoalescer coalescer = coalescer(request -> {
+            List<String> translated = new ArrayList<>();
+            for (int i = 0; i < request.sentences().size(); i++) {
+                translated.add("t:" + request.sentences().get(i));
+                request.notifyTranslated(i, translated.get(i));
+            }
+            return CompletableFuture.completedFuture(new TranslationResult(translated, 40, 80, 7, "stub-model"));
+        });
+        List<String> firstNotified = new CopyOnWriteArrayList<>();
+        List<String> secondNotified = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<TranslationResult> first = coalescer.translate(
+                TranslationRequest.sentences(List.of("a0", "a1"), "ko", (index, text) -> firstNotified.add(index + "=" + text)));
+        CompletableFuture<TranslationResult> second = coalescer.translate(
+                TranslationRequest.sentences(List.of("b0", "b1"), "ko", (index, text) -> secondNotified.add(index + "=" + text)));
+
+        assertEquals(1, sent.size());
+        assertEquals(List.of("a0", "a1", "b0", "b1"), sent.get(0).sentences());
+
+        TranslationResult firstResult = first.get(5, TimeUnit.SECONDS);
+        TranslationResult secondResult = second.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of("t:a0", "t:a1"), firstResult.translations());
+        assertEquals(List.of("t:b0", "t:b1"), secondResult.translations());
+        // 알림 위치는 합친 요청이 아니라 원래 요청 기준입니다.
+        assertEquals(List.of("0=t:a0", "1=t:a1"), firstNotified);
+        assertEquals(List.of("0=t:b0", "1=t:b1"), secondNotified);
+        // 토큰 사용량은 문장 수 비율로 나눕니다.
+        assertEquals(20, firstResult.promptTokens());
+        assertEquals(40, secondResult.completionTokens());
+        assertEquals(7, secondResult.latencyMillis());
+        assertEquals("stub-model", firstResult.model());
+    }
+
+    @Test
+    void paragraphSizesAreConcatenatedInOrder() throws Exception {
+        TranslationCoalescer coalescer = coalescer(request ->
+                CompletableFuture.completedFuture(new TranslationResult(new ArrayList<>(request.sentences()), 0, 0, 1, "stub-model")));
+
+        CompletableFuture<TranslationResult> first = coalescer.translate(
+                TranslationRequest.paragraphs(List.of(List.of("a0"), List.of("a1")), "ko", null));
+        CompletableFuture<TranslationResult> second = coalescer.translate(
+                TranslationRequest.paragraphs(List.of(List.of("b0", "b1")), "ko", null));
+
+        assertEquals(1, sent.size());
+        assertEquals(List.of(1, 1, 2), sent.get(0).paragraphSizes());
+        assertEquals(List.of("a0", "a1"), first.get(5, TimeUnit.SECONDS).translations());
+        assertEquals(List.of("b0", "b1"), second.get(5, TimeUnit.SECONDS).translations());
+    }
+
+    @Test
+    void failureCompletesEveryMergedRequest() {
+        IllegalStateException failure = new IllegalStateException("backend down");
+        TranslationCoalescer coalescer = coalescer(request -> CompletableFuture.failedFuture(failure));
+
+        CompletableFuture<TranslationResult> first = coalescer.translate(TranslationRequest.sentences(List.of("a0", "a1"), "ko", null));
+        CompletableFuture<TranslationResult> second = coalescer.translate(TranslationRequest.sentences(List.of("b0", "b1"), "ko", null));
+
+        assertSame(failure, assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS)).getCause());
+        assertSame(failure, assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS)).getCause());
+        assertEquals(1, sent.size());
+    }
+
+    @Test
+    void fullRequestIsSentWithoutWaiting() throws Exception {
+        TranslationCoalescer coalescer = coalescer(request ->
+                CompletableFuture.completedFuture(new TranslationResult(new ArrayList<>(request.sentences()), 0, 0, 1, "stub-model")));
+
+        TranslationResult result = coalescer.translate(
+                TranslationRequest.sentences(List.of("s0", "s1", "s2", "s3"), "ko", null)).get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("s0", "s1", "s2", "s3"), result.translations());
+        assertEquals(1, sent.size());
+    }
+
+    private TranslationCoalescer coalescer(TranslatorPort backend) {
+        TranslatorPort translatorPort = request -> {
+            sent.add(request);
+            return backend.translate(request);
+        };
+        TranslationBatchBudget budget = new TranslationBatchBudget(meterRegistry, 2000, 300, 6000, 250, 0.5, 30000);
+        TranslationHedger hedger = new TranslationHedger(translatorPort, meterRegistry, false, 0.95, 2000, 200, 20, 0.05, 5);
+        // max-wait는 충분히 길게 두어 시간 초과 flush가 끼어들지 않게 합니다.
+        return new TranslationCoalescer(hedger, budget, new TokenEstimator(), meterRegistry,
+                true, 60_000, 0.5, MAX_SENTENCES);
+    }
+}
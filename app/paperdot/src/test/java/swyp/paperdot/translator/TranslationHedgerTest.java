@@ -0,0 +1,177 @@
+package swyp.paperdot.translator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TranslationHedger의 원래 요청과 추가 요청 경쟁(Race)을 확인합니다.
+ * 백엔드는 요청마다 테스트가 직접 완료하는 future를 돌려주며, 첫 요청 하나로 응답 시간 기록을 채운 뒤
+ * 두 번째 요청부터 min-delay(50ms) 뒤에 추가 요청이 나가게 합니다.
+ */
+class TranslationHedgerTest {
+
+    private static final long MIN_DELAY_MILLIS = 50;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BlockingQueue<Attempt> attempts = new LinkedBlockingQueue<>();
+
+    @Test
+    void fullHedgeResultWinsAndCancelsPrimary() throws Exception {
+        TranslationHedger hedger = warmedUpHedger(1.0);
+
+        CompletableFuture<TranslationResult> result = hedger.translate(request(null));
+        Attempt primary = nextAttempt();
+        Attempt hedge = nextAttempt();
+        hedge.future().complete(result("h0", "h1"));
+
+        assertEquals(List.of("h0", "h1"), result.get(1, TimeUnit.SECONDS).translations());
+        assertTrue(primary.future().isCancelled());
+        assertEquals(1.0, count("paperdot.translation.hedge.sent"));
+        assertEquals(1.0, count("paperdot.translation.hedge.won"));
+    }
+
+    @Test
+    void primaryWinsWhenItAnswersBeforeDelay() throws Exception {
+        TranslationHedger hedger = warmedUpHedger(1.0);
+
+        CompletableFuture<TranslationResult> result = hedger.translate(request(null));
+        nextAttempt().future().complete(result("p0", "p1"));
+
+        assertEquals(List.of("p0", "p1"), result.get(1, TimeUnit.SECONDS).translations());
+        Thread.sleep(MIN_DELAY_MILLIS * 3);
+        assertNull(attempts.poll());
+        assertEquals(0.0, count("paperdot.translation.hedge.sent"));
+    }
+
+    @Test
+    void noHedgeWithoutBudget() throws Exception {
+        TranslationHedger hedger = warmedUpHedger(0.0);
+
+        CompletableFuture<TranslationResult> result = hedger.translate(request(null));
+        Attempt primary = nextAttempt();
+        Thread.sleep(MIN_DELAY_MILLIS * 3);
+
+        assertNull(attempts.poll());
+        assertEquals(1.0, count("paperdot.translation.hedge.budget.exhausted"));
+        assertEquals(0.0, count("paperdot.translation.hedge.sent"));
+        primary.future().complete(result("p0", "p1"));
+        assertEquals(List.of("p0", "p1"), result.get(1, TimeUnit.SECONDS).translations());
+    }
+
+    @Test
+    void partialResultWaitsForOtherAttempt() throws Exception {
+        TranslationHedger hedger = warmedUpHedger(1.0);
+
+        CompletableFuture<TranslationResult> result = hedger.translate(request(null));
+        Attempt primary = nextAttempt();
+        Attempt hedge = nextAttempt();
+        primary.future().complete(result("p0", null));
+
+        assertFalse(result.isDone());
+        hedge.future().complete(result("h0", "h1"));
+        assertEquals(List.of("h0", "h1"), result.get(1, TimeUnit.SECONDS).translations());
+    }
+
+    @Test
+    void betterPartialResultIsUsedWhenNeitherIsComplete() throws Exception {
+        TranslationHedger hedger = warmedUpHedger(1.0);
+
+        CompletableFuture<TranslationResult> result = hedger.translate(request(null));
+        Attempt primary = nextAttempt();
+        Attempt hedge = nextAttempt();
+        primary.future().complete(result(null, null));
+        hedge.future().complete(result("h0", null));
+
+        assertEquals(Arrays.asList("h0", null), result.get(1, TimeUnit.SECONDS).translations());
+        assertEquals(1.0, count("paperdot.translation.hedge.won"));
+    }
+
+    @Test
+    void primaryErrorIsReportedWhenBothFail() throws Exception {
+        TranslationHedger hedger = warmedUpHedger(1.0);
+
+        CompletableFuture<TranslationResult> result = hedger.translate(request(null));
+        Attempt primary = nextAttempt();
+        Attempt hedge = nextAttempt();
+        RuntimeException primaryError = new IllegalStateException("primary");
+        hedge.future().completeExceptionally(new IllegalStateException("hedge"));
+        assertFalse(result.isDone());
+        primary.future().completeExceptionally(primaryError);
+
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+        assertSame(primaryError, thrown.getCause());
+    }
+
+    @Test
+    void eachSentenceIsNotifiedOnce() throws Exception {
+        TranslationHedger hedger = warmedUpHedger(1.0);
+        List<String> notified = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<TranslationResult> result = hedger.translate(request((index, text) -> notified.add(index + ":" + text)));
+        Attempt primary = nextAttempt();
+        Attempt hedge = nextAttempt();
+        hedge.listener().accept(0, "h0");
+        primary.listener().accept(0, "p0");
+        primary.listener().accept(1, "p1");
+        primary.future().complete(result("p0", "p1"));
+        hedge.listener().accept(1, "h1");
+
+        assertNotNull(result.get(1, TimeUnit.SECONDS));
+        assertEquals(List.of("0:h0", "1:p1"), notified);
+    }
+
+    private TranslationHedger warmedUpHedger(double budgetRatio) throws Exception {
+        TranslatorPort translatorPort = request -> {
+            Attempt attempt = new Attempt(new CompletableFuture<>(), request.listener());
+            attempts.add(attempt);
+            return attempt.future();
+        };
+        TranslationHedger hedger = new TranslationHedger(translatorPort, meterRegistry, true, 0.95, MIN_DELAY_MILLIS,
+                10, 1, budgetRatio, 5);
+        // 기록이 min-samples(1)보다 적은 첫 요청은 경쟁 없이 그대로 보냅니다.
+        CompletableFuture<TranslationResult> warmUp = hedger.translate(request(null));
+        nextAttempt().future().complete(result("w0", "w1"));
+        warmUp.get(1, TimeUnit.SECONDS);
+        return hedger;
+    }
+
+    private Attempt nextAttempt() throws InterruptedException {
+        Attempt attempt = attempts.poll(1, TimeUnit.SECONDS);
+        assertNotNull(attempt);
+        return attempt;
+    }
+
+    private double count(String name) {
+        return meterRegistry.counter(name).count();
+    }
+
+    private static TranslationRequest request(BiConsumer<Integer, String> listener) {
+        return TranslationRequest.sentences(List.of("s0", "s1"), "ko", listener);
+    }
+
+    private static TranslationResult result(String... translations) {
+        return new TranslationResult(new ArrayList<>(Arrays.asList(translations)), 0, 0, 1, "stub-model");
+    }
+
+    private record Attempt(CompletableFuture<TranslationResult> future, BiConsumer<Integer, String> listener) {
+    }
+}
@@ -0,0 +1,125 @@
+package swyp.paperdot.translator.routing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * ModelRouter 회로의 CLOSED → OPEN → HALF_OPEN → CLOSED/OPEN 전환을 확인합니다.
+ * min-samples를 2로 두어 요청 두 개만으로 판단이 내려지게 합니다.
+ */
+class ModelRouterTest {
+
+    private static final long P99_THRESHOLD_MS = 1000;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void errorRateOpensPrimaryCircuit() {
+        ModelRouter router = router("gpt-fallback", 60_000);
+
+        ModelTarget first = router.select();
+        assertEquals("primary", first.name());
+        router.record(first, 100, true);
+        // 표본이 min-samples보다 적으면 오류율이 높아도 열지 않습니다.
+        assertEquals("primary", router.select().name());
+        router.record(first, 100, true);
+
+        ModelTarget rerouted = router.select();
+        assertEquals("fallback", rerouted.name());
+        assertEquals("gpt-fallback", rerouted.model());
+        assertEquals(1.0, opened("primary"));
+    }
+
+    @Test
+    void slowP99OpensPrimaryCircuit() {
+        ModelRouter router = router("gpt-fallback", 60_000);
+
+        ModelTarget primary = router.select();
+        router.record(primary, 100, false);
+        router.record(primary, P99_THRESHOLD_MS + 1, false);
+
+        assertEquals("fallback", router.select().name());
+    }
+
+    @Test
+    void successfulProbeClosesCircuit() {
+        ModelRouter router = router("gpt-fallback", 0);
+        open(router);
+
+        // open-duration이 지나면 요청 하나만 기본 모델로 보내 봅니다.
+        ModelTarget probe = router.select();
+        assertEquals("primary", probe.name());
+        assertEquals("fallback", router.select().name());
+
+        router.record(probe, 100, false);
+
+        assertEquals("primary", router.select().name());
+        assertEquals("primary", router.select().name());
+        assertEquals(1.0, opened("primary"));
+    }
+
+    @Test
+    void failedProbeReopensCircuit() {
+        ModelRouter router = router("gpt-fallback", 0);
+        open(router);
+
+        ModelTarget probe = router.select();
+        assertEquals("primary", probe.name());
+        router.record(probe, P99_THRESHOLD_MS + 1, false);
+
+        assertEquals(2.0, opened("primary"));
+        // 다시 열린 회로는 open-duration 뒤에 또 요청 하나만 보내 보고, 나머지는 대체 모델로 보냅니다.
+        assertEquals("primary", router.select().name());
+        assertEquals("fallback", router.select().name());
+    }
+
+    @Test
+    void cancelledProbeReleasesProbeSlot() {
+        ModelRouter router = router("gpt-fallback", 0);
+        open(router);
+
+        ModelTarget probe = router.select();
+        assertEquals("primary", probe.name());
+        assertEquals("fallback", router.select().name());
+
+        // 헤지 경쟁에서 져 취소된 확인 요청은 기록 없이 자리만 돌려주므로, 다음 요청이 다시 확인합니다.
+        router.release(probe);
+
+        ModelTarget nextProbe = router.select();
+        assertEquals("primary", nextProbe.name());
+        assertEquals("fallback", router.select().name());
+        assertEquals(1.0, opened("primary"));
+
+        router.record(nextProbe, 100, false);
+        assertEquals("primary", router.select().name());
+    }
+
+    @Test
+    void withoutFallbackEverythingGoesToPrimary() {
+        ModelRouter router = router("", 60_000);
+
+        ModelTarget primary = router.select();
+        router.record(primary, 100, true);
+        router.record(primary, 100, true);
+
+        assertEquals("primary", router.select().name());
+        assertEquals(0.0, opened("primary"));
+    }
+
+    private void open(ModelRouter router) {
+        ModelTarget primary = router.select();
+        router.record(primary, 100, true);
+        router.record(primary, 100, true);
+    }
+
+    private double opened(String target) {
+        return meterRegistry.counter("paperdot.translation.route.circuit.opened", "target", target).count();
+    }
+
+    private ModelRouter router(String fallbackModel, long openDurationMillis) {
+        return new ModelRouter(meterRegistry, "gpt-primary", "http://primary", true,
+                fallbackModel, "", 4, 2, 500, P99_THRESHOLD_MS, 0.5, openDurationMillis);
+    }
+}